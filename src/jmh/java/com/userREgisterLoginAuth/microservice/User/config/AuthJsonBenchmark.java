@@ -0,0 +1,92 @@
+package com.userREgisterLoginAuth.microservice.User.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.userREgisterLoginAuth.microservice.User.dto.AuthResponseDto;
+import com.userREgisterLoginAuth.microservice.User.dto.LoginDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserInfoDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserRegistrationDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JSON work of one login or registration with plain databinding and with
+ * {@link AuthJsonModule}: reading the request body and writing the response, from and to
+ * streams as the HTTP message converters do. Run with {@code -prof gc} to compare
+ * {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthJsonBenchmark {
+
+    @Param({"databind", "handwritten"})
+    private String mapper;
+
+    private ObjectReader loginReader;
+    private ObjectReader registrationReader;
+    private ObjectWriter responseWriter;
+    private byte[] loginJson;
+    private byte[] registrationJson;
+    private AuthResponseDto response;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        if ("handwritten".equals(mapper)) {
+            objectMapper.registerModule(new AuthJsonModule());
+        }
+        loginReader = objectMapper.readerFor(LoginDto.class);
+        registrationReader = objectMapper.readerFor(UserRegistrationDto.class);
+        responseWriter = objectMapper.writerFor(AuthResponseDto.class);
+
+        loginJson = "{\"email\":\"john.doe@example.com\",\"password\":\"password123\"}"
+                .getBytes(StandardCharsets.UTF_8);
+        registrationJson = ("{\"email\":\"john.doe@example.com\",\"username\":\"johndoe\","
+                + "\"password\":\"password123\",\"firstName\":\"John\",\"lastName\":\"Doe\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        String token = "eyJhbGciOiJIUzI1NiIsImtpZCI6ImRlZmF1bHQifQ."
+                + "eyJyb2xlIjoiVVNFUiIsImp0aSI6IjVfWWZ0N2x2R3JyS1JkU1N0YVZGV2ciLCJzdWIiOiJqb2huZG9lIn0."
+                + "c2lnbmF0dXJlc2lnbmF0dXJlc2lnbmF0dXJlc2lnbmF0dQ";
+        response = new AuthResponseDto(token, token, "Login successful", true,
+                new UserInfoDto("66f1c0ffee0000000000abcd", "john.doe@example.com", "johndoe", "John", "Doe", "USER"));
+    }
+
+    @Benchmark
+    public LoginDto readLogin() throws IOException {
+        return loginReader.readValue(new ByteArrayInputStream(loginJson));
+    }
+
+    @Benchmark
+    public UserRegistrationDto readRegistration() throws IOException {
+        return registrationReader.readValue(new ByteArrayInputStream(registrationJson));
+    }
+
+    @Benchmark
+    public int writeResponse() throws IOException {
+        out.reset();
+        responseWriter.writeValue(out, response);
+        return out.size();
+    }
+}
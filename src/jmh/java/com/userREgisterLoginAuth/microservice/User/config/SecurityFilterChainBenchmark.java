@@ -0,0 +1,113 @@
+package com.userREgisterLoginAuth.microservice.User.config;
+
+import com.userREgisterLoginAuth.microservice.User.repository.InMemoryRevokedTokenRepository;
+import com.userREgisterLoginAuth.microservice.User.service.AuthMetrics;
+import com.userREgisterLoginAuth.microservice.User.service.JwtService;
+import com.userREgisterLoginAuth.microservice.User.service.RevokedTokenStore;
+import com.userREgisterLoginAuth.microservice.User.service.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.servlet.context.AnnotationConfigServletWebApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The whole Spring Security filter chain built by {@link SecurityConfig}, for a permit-all
+ * route, a protected route with a bearer token the authentication cache has seen, and a
+ * protected route without credentials (rejected with 401). The difference between the
+ * first two is what bearer authentication adds to a request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityFilterChainBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private AnnotationConfigServletWebApplicationContext context;
+    private Filter filterChain;
+    private String bearer;
+
+    @EnableWebMvc
+    static class WebMvcConfig {
+    }
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(jwtService, "tokenCache", new VerifiedTokenCache(10_000));
+        ReflectionTestUtils.setField(jwtService, "authMetrics", new AuthMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(jwtService, "revokedTokens",
+                new RevokedTokenStore(new InMemoryRevokedTokenRepository(), Duration.ofMinutes(1), new SimpleMeterRegistry()));
+        bearer = "Bearer " + jwtService.generateToken(Map.of(JwtService.ROLE_CLAIM, "USER"), "benchmark-user");
+
+        context = new AnnotationConfigServletWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.getBeanFactory().registerSingleton("jwtService", jwtService);
+        context.register(WebMvcConfig.class, SecurityConfig.class);
+        context.refresh();
+        filterChain = context.getBean("springSecurityFilterChain", Filter.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int permitAll() throws ServletException, IOException {
+        return run(request("/api/auth/health"));
+    }
+
+    @Benchmark
+    public int authenticated() throws ServletException, IOException {
+        MockHttpServletRequest request = request("/api/users/me");
+        request.addHeader(HttpHeaders.AUTHORIZATION, bearer);
+        return run(request);
+    }
+
+    @Benchmark
+    public int unauthenticated() throws ServletException, IOException {
+        return run(request("/api/users/me"));
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        // As mapped under the DispatcherServlet at "/", which the request matchers rely on
+        request.setServletPath(path);
+        return request;
+    }
+
+    private int run(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filterChain.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,94 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.userREgisterLoginAuth.microservice.User.dto.AuthResponseDto;
+import com.userREgisterLoginAuth.microservice.User.dto.LoginDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserRegistrationDto;
+import com.userREgisterLoginAuth.microservice.User.repository.InMemoryRevokedTokenRepository;
+import com.userREgisterLoginAuth.microservice.User.repository.InMemoryUserRepository;
+import com.userREgisterLoginAuth.microservice.User.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end {@link AuthService#loginUser} and {@link AuthService#registerUser}, including
+ * the DTO mapping and token signing, against an in-memory repository so Mongo latency does
+ * not hide regressions in our own code. Throttling is disabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthServiceBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    @Param({"4", "10"})
+    private int strength;
+
+    private final AtomicLong registrations = new AtomicLong();
+    private AuthService authService;
+    private LoginDto login;
+
+    @Setup
+    public void setUp() {
+        UserRepository userRepository = new InMemoryUserRepository(new ObjectMapper(), "");
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(jwtService, "tokenCache", new VerifiedTokenCache(10_000));
+        ReflectionTestUtils.setField(jwtService, "authMetrics", new AuthMetrics(meterRegistry));
+        ReflectionTestUtils.setField(jwtService, "revokedTokens",
+                new RevokedTokenStore(new InMemoryRevokedTokenRepository(), Duration.ofMinutes(1), new SimpleMeterRegistry()));
+
+        authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(authService, "passwordEncoder", new TargetStrengthBCryptPasswordEncoder(strength));
+        ReflectionTestUtils.setField(authService, "jwtService", jwtService);
+        ReflectionTestUtils.setField(authService, "takenIdentifiers", new TakenIdentifierCache(10_000, Duration.ofMinutes(10)));
+        ReflectionTestUtils.setField(authService, "bloomIndex", new IdentifierBloomIndex(null, 1_000_000, 0.01, meterRegistry));
+        ReflectionTestUtils.setField(authService, "userLookupCache",
+                new UserLookupCache(userRepository, 10_000, Duration.ofSeconds(30), meterRegistry));
+        ReflectionTestUtils.setField(authService, "loginThrottle",
+                new LoginThrottle(false, 10, Duration.ofSeconds(6), 100, Duration.ofMillis(600), 1000, meterRegistry));
+        ReflectionTestUtils.setField(authService, "authMetrics", new AuthMetrics(meterRegistry));
+        ReflectionTestUtils.setField(authService, "flightRecorder", new AuthFlightRecorder(false, "default",
+                Duration.ofMinutes(30), DataSize.ofMegabytes(250), Duration.ZERO, Duration.ofMinutes(5),
+                Duration.ofMinutes(5), "", 10));
+
+        authService.registerUser(new UserRegistrationDto("bench@example.com", "bench", "password123", "Bench", "User"));
+        login = new LoginDto("bench@example.com", "password123");
+    }
+
+    @Benchmark
+    public AuthResponseDto loginUser() {
+        return authService.loginUser(login, "203.0.113.7");
+    }
+
+    @Benchmark
+    public AuthResponseDto registerUser() {
+        long n = registrations.incrementAndGet();
+        return authService.registerUser(new UserRegistrationDto(
+                "user" + n + "@example.com", "user" + n, "password123", "Bench", "User"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.userREgisterLoginAuth.microservice.User.repository.InMemoryRevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token signing and verification with a growing number of extra claims, per signing
+ * algorithm. {@code verifyCached} is what the bearer filter pays for a token it has seen
+ * before, {@code verifyUncached} the first time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    @Param({"1", "8", "32"})
+    private int claims;
+
+    @Param({"HS256", "ES256", "EdDSA"})
+    private String algorithm;
+
+    private JwtService jwtService;
+    private Map<String, Object> extraClaims;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "algorithm", algorithm);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(jwtService, "tokenCache", new VerifiedTokenCache(10_000));
+        ReflectionTestUtils.setField(jwtService, "authMetrics", new AuthMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(jwtService, "revokedTokens",
+                new RevokedTokenStore(new InMemoryRevokedTokenRepository(), Duration.ofMinutes(1), new SimpleMeterRegistry()));
+
+        extraClaims = new LinkedHashMap<>();
+        extraClaims.put(JwtService.ROLE_CLAIM, "USER");
+        for (int i = 1; i < claims; i++) {
+            extraClaims.put("claim" + i, "value-" + i);
+        }
+        token = jwtService.generateToken(extraClaims, "benchmark-user");
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateToken(extraClaims, "benchmark-user");
+    }
+
+    @Benchmark
+    public boolean verifyCached() {
+        return jwtService.isTokenValid(token, "benchmark-user");
+    }
+
+    @Benchmark
+    public TokenVerification verifyUncached() {
+        return JwsCodec.verify(jwtService.getKeyRing(), token, System.currentTimeMillis());
+    }
+}
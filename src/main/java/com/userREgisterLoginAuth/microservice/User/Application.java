@@ -1,9 +1,14 @@
 package com.userREgisterLoginAuth.microservice.User;
 
+import com.userREgisterLoginAuth.microservice.User.config.ApplicationRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(ApplicationRuntimeHints.class)
 public class Application {
 
 	public static void main(String[] args) {
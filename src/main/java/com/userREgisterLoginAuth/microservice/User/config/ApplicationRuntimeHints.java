@@ -0,0 +1,77 @@
+package com.userREgisterLoginAuth.microservice.User.config;
+
+import com.userREgisterLoginAuth.microservice.User.dto.AuthResponseDto;
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the Spring AOT and GraalVM native image build
+ * ({@code mvn -Pnative native:compile}). Spring already derives hints for controller request
+ * and response bodies and for the Mongo entities it scans; this covers what it cannot see:
+ * <ul>
+ *   <li>DTOs and documents bound by an {@code ObjectMapper} outside a controller (import,
+ *   export, the in-memory snapshot) and the fields Hibernate Validator reads constraints
+ *   from. Lombok needs nothing at runtime, it only generated the accessors exposed here.</li>
+ *   <li>jjwt, whose API module instantiates its implementation classes by name and finds the
+ *   Jackson (de)serializer and compression codecs through {@code ServiceLoader}.</li>
+ * </ul>
+ */
+public class ApplicationRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<String> BINDING_PACKAGES = List.of(
+            AuthResponseDto.class.getPackageName(),
+            User.class.getPackageName());
+
+    private static final List<String> JJWT_CLASSES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+        for (Class<?> type : bindingTypes(classLoader)) {
+            bindings.registerReflectionHints(hints.reflection(), type);
+            hints.reflection().registerType(type, MemberCategory.DECLARED_FIELDS);
+        }
+        for (String className : JJWT_CLASSES) {
+            hints.reflection().registerType(TypeReference.of(className),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+    }
+
+    /**
+     * Every class in the DTO and model packages, found when the hints are computed at build
+     * time so a new DTO cannot be forgotten.
+     */
+    static List<Class<?>> bindingTypes(ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+        List<Class<?>> types = new ArrayList<>();
+        for (String basePackage : BINDING_PACKAGES) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                types.add(ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+            }
+        }
+        return types;
+    }
+}
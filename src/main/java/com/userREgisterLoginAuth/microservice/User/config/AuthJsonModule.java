@@ -0,0 +1,195 @@
+package com.userREgisterLoginAuth.microservice.User.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.userREgisterLoginAuth.microservice.User.dto.AuthResponseDto;
+import com.userREgisterLoginAuth.microservice.User.dto.LoginDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserInfoDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserRegistrationDto;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Hand-written Jackson (de)serializers for the DTOs of every login and registration, picked
+ * up by Spring Boot's {@code ObjectMapper} on both stacks and by anything else that uses it,
+ * such as the user import. Field names are encoded once and written as raw bytes; requests
+ * are read token by token straight into the DTO, skipping the bean introspection and
+ * per-property dispatch of databinding. Bean Validation still runs on the result.
+ * <p>
+ * The output is byte for byte what databinding writes for these classes (same field order,
+ * nulls included), and input handling follows Spring Boot's defaults: unknown properties
+ * are ignored, scalars are coerced to strings and objects or arrays in place of a string
+ * are rejected. A field added to one of these DTOs has to be added here as well.
+ */
+@Component
+public class AuthJsonModule extends SimpleModule {
+
+    private static final SerializableString TOKEN = new SerializedString("token");
+    private static final SerializableString REFRESH_TOKEN = new SerializedString("refreshToken");
+    private static final SerializableString MESSAGE = new SerializedString("message");
+    private static final SerializableString SUCCESS = new SerializedString("success");
+    private static final SerializableString USER = new SerializedString("user");
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString EMAIL = new SerializedString("email");
+    private static final SerializableString USERNAME = new SerializedString("username");
+    private static final SerializableString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializableString LAST_NAME = new SerializedString("lastName");
+    private static final SerializableString ROLE = new SerializedString("role");
+
+    public AuthJsonModule() {
+        super("auth-dto");
+        addSerializer(AuthResponseDto.class, new AuthResponseSerializer());
+        addSerializer(UserInfoDto.class, new UserInfoSerializer());
+        addDeserializer(LoginDto.class, new LoginDeserializer());
+        addDeserializer(UserRegistrationDto.class, new UserRegistrationDeserializer());
+    }
+
+    static final class AuthResponseSerializer extends StdSerializer<AuthResponseDto> {
+
+        AuthResponseSerializer() {
+            super(AuthResponseDto.class);
+        }
+
+        @Override
+        public void serialize(AuthResponseDto response, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            generator.writeStartObject(response);
+            writeString(generator, TOKEN, response.getToken());
+            writeString(generator, REFRESH_TOKEN, response.getRefreshToken());
+            writeString(generator, MESSAGE, response.getMessage());
+            generator.writeFieldName(SUCCESS);
+            generator.writeBoolean(response.isSuccess());
+            generator.writeFieldName(USER);
+            if (response.getUser() == null) {
+                generator.writeNull();
+            } else {
+                writeUserInfo(response.getUser(), generator);
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    static final class UserInfoSerializer extends StdSerializer<UserInfoDto> {
+
+        UserInfoSerializer() {
+            super(UserInfoDto.class);
+        }
+
+        @Override
+        public void serialize(UserInfoDto user, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            writeUserInfo(user, generator);
+        }
+    }
+
+    static final class LoginDeserializer extends StdDeserializer<LoginDto> {
+
+        LoginDeserializer() {
+            super(LoginDto.class);
+        }
+
+        @Override
+        public LoginDto deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            LoginDto login = new LoginDto();
+            String name = firstField(parser, context, handledType());
+            for (; name != null; name = parser.nextFieldName()) {
+                JsonToken value = parser.nextToken();
+                switch (name) {
+                    case "email" -> login.setEmail(readString(parser, context, value));
+                    case "password" -> login.setPassword(readString(parser, context, value));
+                    default -> parser.skipChildren();
+                }
+            }
+            return login;
+        }
+    }
+
+    static final class UserRegistrationDeserializer extends StdDeserializer<UserRegistrationDto> {
+
+        UserRegistrationDeserializer() {
+            super(UserRegistrationDto.class);
+        }
+
+        @Override
+        public UserRegistrationDto deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            UserRegistrationDto registration = new UserRegistrationDto();
+            String name = firstField(parser, context, handledType());
+            for (; name != null; name = parser.nextFieldName()) {
+                JsonToken value = parser.nextToken();
+                switch (name) {
+                    case "email" -> registration.setEmail(readString(parser, context, value));
+                    case "username" -> registration.setUsername(readString(parser, context, value));
+                    case "password" -> registration.setPassword(readString(parser, context, value));
+                    case "firstName" -> registration.setFirstName(readString(parser, context, value));
+                    case "lastName" -> registration.setLastName(readString(parser, context, value));
+                    default -> parser.skipChildren();
+                }
+            }
+            return registration;
+        }
+    }
+
+    private static void writeUserInfo(UserInfoDto user, JsonGenerator generator) throws IOException {
+        generator.writeStartObject(user);
+        writeString(generator, ID, user.getId());
+        writeString(generator, EMAIL, user.getEmail());
+        writeString(generator, USERNAME, user.getUsername());
+        writeString(generator, FIRST_NAME, user.getFirstName());
+        writeString(generator, LAST_NAME, user.getLastName());
+        writeString(generator, ROLE, user.getRole());
+        generator.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator generator, SerializableString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
+    /**
+     * Name of the first field, or {@code null} for an empty object. Like databinding, this
+     * accepts being called on the {@code START_OBJECT} or, with buffered input, on the first
+     * field name.
+     */
+    private static String firstField(JsonParser parser, DeserializationContext context, Class<?> type)
+            throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            return parser.nextFieldName();
+        }
+        if (token == JsonToken.FIELD_NAME) {
+            return parser.currentName();
+        }
+        if (token == JsonToken.END_OBJECT) {
+            return null;
+        }
+        context.handleUnexpectedToken(type, parser);
+        return null;
+    }
+
+    private static String readString(JsonParser parser, DeserializationContext context, JsonToken value)
+            throws IOException {
+        if (value == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value.isScalarValue()) {
+            return parser.getValueAsString();
+        }
+        return (String) context.handleUnexpectedToken(String.class, parser);
+    }
+}
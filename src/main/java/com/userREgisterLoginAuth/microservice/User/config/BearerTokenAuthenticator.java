@@ -0,0 +1,64 @@
+package com.userREgisterLoginAuth.microservice.User.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.userREgisterLoginAuth.microservice.User.service.JwtService;
+import com.userREgisterLoginAuth.microservice.User.service.TokenVerification;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Turns an {@code Authorization: Bearer <jwt>} header into an {@link Authentication} built
+ * from the token claims alone, without loading the user. Results are cached per verified
+ * token: {@link JwtService#verify} hands back the same cached verification instance for a
+ * repeated token, so it is used as an identity key and entries disappear together with it.
+ */
+public class BearerTokenAuthenticator {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final Cache<TokenVerification, Authentication> authentications;
+
+    public BearerTokenAuthenticator(JwtService jwtService, long cacheMaxSize) {
+        this.jwtService = jwtService;
+        this.authentications = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .build();
+    }
+
+    /**
+     * Returns the authentication for the header, or {@code null} when there is no bearer
+     * token or it does not verify.
+     */
+    public Authentication authenticate(String authorizationHeader) {
+        if (authorizationHeader == null
+                || !authorizationHeader.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return null;
+        }
+        TokenVerification verification = jwtService.verify(authorizationHeader.substring(BEARER_PREFIX.length()).trim());
+        if (!verification.isValid() || verification.subject() == null) {
+            return null;
+        }
+        return authentications.get(verification, BearerTokenAuthenticator::toAuthentication);
+    }
+
+    long cachedAuthentications() {
+        authentications.cleanUp();
+        return authentications.estimatedSize();
+    }
+
+    private static Authentication toAuthentication(TokenVerification verification) {
+        String role = verification.role();
+        List<SimpleGrantedAuthority> authorities = role == null
+                ? List.of()
+                : List.of(new SimpleGrantedAuthority("ROLE_" + role));
+        return UsernamePasswordAuthenticationToken.authenticated(verification.subject(), null, authorities);
+    }
+}
@@ -0,0 +1,45 @@
+package com.userREgisterLoginAuth.microservice.User.config;
+
+import com.userREgisterLoginAuth.microservice.User.service.JwtService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Servlet filter that authenticates bearer tokens through {@link BearerTokenAuthenticator}.
+ * Requests without a valid token continue anonymously and are rejected by authorization.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private final BearerTokenAuthenticator authenticator;
+
+    public JwtAuthenticationFilter(JwtService jwtService, long cacheMaxSize) {
+        this.authenticator = new BearerTokenAuthenticator(jwtService, cacheMaxSize);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            Authentication authentication = authenticator.authenticate(request.getHeader(HttpHeaders.AUTHORIZATION));
+            if (authentication != null) {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                SecurityContextHolder.setContext(context);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    long cachedAuthentications() {
+        return authenticator.cachedAuthentications();
+    }
+}
@@ -0,0 +1,83 @@
+package com.userREgisterLoginAuth.microservice.User.config;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Where user lookups may be read from and how writes are acknowledged. Reads default to the
+ * primary; only the login and refresh lookups of {@code UserLookupCache} use
+ * {@code auth.user-reads.*}, so registration checks stay strongly consistent. The write
+ * concern applies to every write of the Mongo clients (the reactive profile has two) and
+ * overrides a {@code w} in the URI.
+ */
+@Configuration
+public class MongoConsistencyConfig {
+
+    // Lowest maxStalenessSeconds the driver accepts with the default heartbeat frequency
+    static final Duration MIN_MAX_STALENESS = Duration.ofSeconds(90);
+
+    @Value("${auth.user-reads.read-preference:secondaryPreferred}")
+    private String readPreference;
+
+    @Value("${auth.user-reads.max-staleness:90s}")
+    private Duration maxStaleness;
+
+    @Value("${auth.mongo.write-concern:majority}")
+    private String writeConcern;
+
+    @Value("${auth.mongo.write-timeout:5s}")
+    private Duration writeTimeout;
+
+    @Bean
+    public ReadPreference userReadPreference() {
+        return readPreference(readPreference, maxStaleness);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer writeConcernCustomizer() {
+        WriteConcern concern = writeConcern(writeConcern, writeTimeout);
+        return builder -> builder.writeConcern(concern);
+    }
+
+    /**
+     * A read preference that may pick a secondary always carries a staleness bound, so a
+     * lagging member is never chosen; {@code primary} ignores {@code maxStaleness}.
+     */
+    static ReadPreference readPreference(String name, Duration maxStaleness) {
+        ReadPreference preference = ReadPreference.valueOf(name);
+        if (!preference.isSecondaryOk()) {
+            return preference;
+        }
+        if (maxStaleness.compareTo(MIN_MAX_STALENESS) < 0) {
+            throw new IllegalArgumentException(
+                    "auth.user-reads.max-staleness must be at least " + MIN_MAX_STALENESS.toSeconds()
+                            + "s when reading from secondaries, was " + maxStaleness);
+        }
+        return ReadPreference.valueOf(name, List.of(), maxStaleness.toSeconds(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * {@code majority}, a number of members or any named {@link WriteConcern} constant;
+     * {@code timeout} bounds the wait for replication (0 = unbounded).
+     */
+    static WriteConcern writeConcern(String name, Duration timeout) {
+        WriteConcern concern;
+        if (!name.isEmpty() && name.chars().allMatch(Character::isDigit)) {
+            concern = new WriteConcern(Integer.parseInt(name));
+        } else {
+            concern = WriteConcern.valueOf(name);
+            if (concern == null) {
+                throw new IllegalArgumentException("Unknown auth.mongo.write-concern: " + name);
+            }
+        }
+        return timeout.isZero() ? concern : concern.withWTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,79 @@
+package com.userREgisterLoginAuth.microservice.User.config;
+
+import com.userREgisterLoginAuth.microservice.User.service.AuthMetrics;
+import com.userREgisterLoginAuth.microservice.User.service.BCryptStrengthCalibrator;
+import com.userREgisterLoginAuth.microservice.User.service.OffloadingPasswordEncoder;
+import com.userREgisterLoginAuth.microservice.User.service.PasswordHashingExecutor;
+import com.userREgisterLoginAuth.microservice.User.service.TargetStrengthBCryptPasswordEncoder;
+import com.userREgisterLoginAuth.microservice.User.service.TimedPasswordEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+public class PasswordEncoderConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordEncoderConfig.class);
+
+    static final String BCRYPT = "bcrypt";
+    static final String PBKDF2 = "pbkdf2@SpringSecurity_v5_8";
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private AuthMetrics authMetrics;
+
+    @Value("${auth.password-hashing.strength:0}")
+    private int strength;
+
+    @Value("${auth.password-hashing.target-latency:250ms}")
+    private Duration targetLatency;
+
+    @Value("${auth.password-hashing.min-strength:10}")
+    private int minStrength;
+
+    @Value("${auth.password-hashing.max-strength:16}")
+    private int maxStrength;
+
+    @Bean
+    public OffloadingPasswordEncoder passwordEncoder() {
+        PasswordEncoder timed = new TimedPasswordEncoder(delegatingEncoder(bcryptStrength()), authMetrics);
+        return new OffloadingPasswordEncoder(timed, passwordHashingExecutor);
+    }
+
+    /**
+     * New hashes are written as {@code {bcrypt}...} at the target strength. Hashes stored
+     * before the prefix existed are plain BCrypt and still match; they, hashes of another
+     * strength and those of any other registered algorithm report
+     * {@link PasswordEncoder#upgradeEncoding} so login can rehash them.
+     */
+    static PasswordEncoder delegatingEncoder(int bcryptStrength) {
+        PasswordEncoder bcrypt = new TargetStrengthBCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT, Map.of(
+                BCRYPT, bcrypt,
+                PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8()));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    private int bcryptStrength() {
+        if (strength > 0) {
+            log.info("BCrypt strength fixed at {}", strength);
+            return strength;
+        }
+        int calibrated = BCryptStrengthCalibrator.calibrate(targetLatency, minStrength, maxStrength);
+        log.info("BCrypt strength calibrated to {} for a {} ms budget; with several instances, pin "
+                + "auth.password-hashing.strength={} on all of them", calibrated, targetLatency.toMillis(), calibrated);
+        return calibrated;
+    }
+}
@@ -0,0 +1,65 @@
+package com.userREgisterLoginAuth.microservice.User.config;
+
+import com.userREgisterLoginAuth.microservice.User.service.JwtService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.server.WebFilter;
+
+/**
+ * WebFlux equivalent of {@link SecurityConfig} for the {@code reactive} profile.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@Profile("reactive")
+public class ReactiveSecurityConfig {
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Value("${jwt.auth-cache.max-size:10000}")
+    private long authenticationCacheMaxSize;
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        BearerTokenAuthenticator authenticator = new BearerTokenAuthenticator(jwtService, authenticationCacheMaxSize);
+        WebFilter bearerTokenFilter = (exchange, chain) -> {
+            Authentication authentication = authenticator.authenticate(
+                    exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+            if (authentication == null) {
+                return chain.filter(exchange);
+            }
+            return chain.filter(exchange)
+                    .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+        };
+
+        return http
+            .csrf(csrf -> csrf.disable())
+            .httpBasic(basic -> basic.disable())
+            .formLogin(form -> form.disable())
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .authorizeExchange(exchanges -> exchanges
+                .pathMatchers("/api/auth/**").permitAll()
+                .pathMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                .pathMatchers("/.well-known/jwks.json").permitAll()
+                .anyExchange().authenticated()
+            )
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED))
+            )
+            .addFilterAt(bearerTokenFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+            .build();
+    }
+}
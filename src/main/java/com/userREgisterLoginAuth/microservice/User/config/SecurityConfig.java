@@ -1,35 +1,59 @@
 package com.userREgisterLoginAuth.microservice.User.config;
 
+import com.userREgisterLoginAuth.microservice.User.service.JwtService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
+@Profile("!reactive")
 public class SecurityConfig {
-    
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-    
+
+    /**
+     * Role of the service accounts (API gateways) allowed to introspect tokens. Introspection
+     * reveals whether a token is live and what it grants, so it is never public (RFC 7662, 2.1).
+     */
+    public static final String GATEWAY_ROLE = "GATEWAY";
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Value("${jwt.auth-cache.max-size:10000}")
+    private long authenticationCacheMaxSize;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
+                // Before the permitAll below, which would otherwise match it
+                .requestMatchers("/api/auth/introspect").hasRole(GATEWAY_ROLE)
                 .requestMatchers("/api/auth/**").permitAll()
+                .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                .requestMatchers("/.well-known/jwks.json").permitAll()
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
-            );
-        
+            )
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+            )
+            // Not a bean on purpose: Boot would otherwise register it a second time as a servlet filter
+            .addFilterBefore(new JwtAuthenticationFilter(jwtService, authenticationCacheMaxSize),
+                UsernamePasswordAuthenticationFilter.class);
+
         return http.build();
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.userREgisterLoginAuth.microservice.User.controller;
+
+import com.userREgisterLoginAuth.microservice.User.dto.FlightRecordingDto;
+import com.userREgisterLoginAuth.microservice.User.service.AuthFlightRecorder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Flight recordings of the auth service, written automatically after slow requests or on
+ * demand. Restricted to {@code ROLE_ADMIN} by {@code SecurityConfig}; open the files with
+ * JDK Mission Control or {@code jfr print --events auth.Phase}.
+ */
+@RestController
+@RequestMapping("/api/admin/flight-recordings")
+@Profile("!reactive")
+public class AdminFlightRecordingController {
+    
+    private static final int MAX_MINUTES = 60;
+    
+    @Autowired
+    private AuthFlightRecorder flightRecorder;
+    
+    @GetMapping
+    public ResponseEntity<List<FlightRecordingDto>> listRecordings() {
+        return ResponseEntity.ok(flightRecorder.listDumps());
+    }
+    
+    /**
+     * Dumps the last {@code minutes} of the continuous recording, by default the same window
+     * a slow request dumps.
+     */
+    @PostMapping
+    public ResponseEntity<FlightRecordingDto> dumpRecording(@RequestParam(required = false) Integer minutes) {
+        if (minutes != null && (minutes < 1 || minutes > MAX_MINUTES)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!flightRecorder.isRecording()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        Duration window = minutes == null ? flightRecorder.getDumpWindow() : Duration.ofMinutes(minutes);
+        FlightRecordingDto dump = flightRecorder.dump(window, "manual");
+        return ResponseEntity.created(URI.create("/api/admin/flight-recordings/" + dump.getName())).body(dump);
+    }
+    
+    @GetMapping("/{name}")
+    public ResponseEntity<Resource> downloadRecording(@PathVariable String name) {
+        Path file;
+        try {
+            file = flightRecorder.dumpFile(name);
+        } catch (NoSuchFileException e) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(name).build().toString())
+                .body(new FileSystemResource(file));
+    }
+}
@@ -0,0 +1,86 @@
+package com.userREgisterLoginAuth.microservice.User.controller;
+
+import com.userREgisterLoginAuth.microservice.User.dto.UserImportResultDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserPageDto;
+import com.userREgisterLoginAuth.microservice.User.repository.UserListFilter;
+import com.userREgisterLoginAuth.microservice.User.service.UserExportService;
+import com.userREgisterLoginAuth.microservice.User.service.UserImportService;
+import com.userREgisterLoginAuth.microservice.User.service.UserListingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * User administration endpoints, restricted to {@code ROLE_ADMIN} by {@code SecurityConfig}.
+ */
+@RestController
+@RequestMapping("/api/admin/users")
+@Profile("!reactive")
+public class AdminUserController {
+    
+    @Autowired
+    private UserImportService userImportService;
+    
+    @Autowired
+    private UserExportService userExportService;
+    
+    @Autowired
+    private UserListingService userListingService;
+    
+    /**
+     * Lists users newest first. Pass the {@code nextCursor} of a page as {@code cursor} to
+     * get the following one.
+     */
+    @GetMapping
+    public ResponseEntity<UserPageDto> listUsers(
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Boolean enabled,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        UserListFilter filter = new UserListFilter(role, enabled, createdFrom, createdTo);
+        return ResponseEntity.ok(userListingService.listUsers(filter, cursor, limit));
+    }
+    
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<UserImportResultDto> importUsers(
+            InputStream body,
+            @RequestParam(defaultValue = "false") boolean passwordsHashed) throws IOException {
+        return ResponseEntity.ok(userImportService.importUsers(body, passwordsHashed));
+    }
+    
+    /**
+     * Streams all users as NDJSON, gzip-compressed when the client accepts it.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!gzip) {
+            return response.body(userExportService::exportUsers);
+        }
+        return response
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(out -> {
+                    GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                    userExportService.exportUsers(compressed);
+                    compressed.finish();
+                });
+    }
+}
@@ -1,11 +1,19 @@
 package com.userREgisterLoginAuth.microservice.User.controller;
 
 import com.userREgisterLoginAuth.microservice.User.dto.AuthResponseDto;
+import com.userREgisterLoginAuth.microservice.User.dto.AvailabilityDto;
 import com.userREgisterLoginAuth.microservice.User.dto.LoginDto;
+import com.userREgisterLoginAuth.microservice.User.dto.RefreshTokenDto;
+import com.userREgisterLoginAuth.microservice.User.dto.RevokeTokenDto;
+import com.userREgisterLoginAuth.microservice.User.dto.TokenIntrospectionRequestDto;
+import com.userREgisterLoginAuth.microservice.User.dto.TokenIntrospectionResponseDto;
 import com.userREgisterLoginAuth.microservice.User.dto.UserRegistrationDto;
 import com.userREgisterLoginAuth.microservice.User.service.AuthService;
+import com.userREgisterLoginAuth.microservice.User.service.TokenIntrospectionService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -13,11 +21,15 @@ import org.springframework.web.bind.annotation.*;
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*")
+@Profile("!reactive")
 public class AuthController {
     
     @Autowired
     private AuthService authService;
     
+    @Autowired
+    private TokenIntrospectionService tokenIntrospectionService;
+    
     @PostMapping("/register")
     public ResponseEntity<AuthResponseDto> registerUser(@Valid @RequestBody UserRegistrationDto registrationDto) {
         AuthResponseDto response = authService.registerUser(registrationDto);
@@ -30,8 +42,8 @@ public class AuthController {
     }
     
     @PostMapping("/login")
-    public ResponseEntity<AuthResponseDto> loginUser(@Valid @RequestBody LoginDto loginDto) {
-        AuthResponseDto response = authService.loginUser(loginDto);
+    public ResponseEntity<AuthResponseDto> loginUser(@Valid @RequestBody LoginDto loginDto, HttpServletRequest request) {
+        AuthResponseDto response = authService.loginUser(loginDto, request.getRemoteAddr());
         
         if (response.isSuccess()) {
             return ResponseEntity.ok(response);
@@ -40,6 +52,47 @@ public class AuthController {
         }
     }
     
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponseDto> refreshToken(@Valid @RequestBody RefreshTokenDto refreshTokenDto) {
+        AuthResponseDto response = authService.refreshToken(refreshTokenDto.getRefreshToken());
+        
+        if (response.isSuccess()) {
+            return ResponseEntity.ok(response);
+        } else {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+    }
+    
+    /**
+     * Always 200, whether or not the token was valid (as in RFC 7009).
+     */
+    @PostMapping("/revoke")
+    public ResponseEntity<Void> revokeToken(@Valid @RequestBody RevokeTokenDto revokeTokenDto) {
+        authService.revokeToken(revokeTokenDto.getToken());
+        return ResponseEntity.ok().build();
+    }
+    
+    /**
+     * Verifies up to {@link TokenIntrospectionRequestDto#MAX_TOKENS} access tokens at once,
+     * for gateways. Invalid tokens are reported per entry; the response is always 200.
+     * Callers need a token with the {@code GATEWAY} role, see {@code SecurityConfig}.
+     */
+    @PostMapping("/introspect")
+    public ResponseEntity<TokenIntrospectionResponseDto> introspectTokens(
+            @Valid @RequestBody TokenIntrospectionRequestDto introspectionRequest) {
+        return ResponseEntity.ok(tokenIntrospectionService.introspect(introspectionRequest.getTokens()));
+    }
+    
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityDto> checkAvailability(
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String username) {
+        if (email == null && username == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(authService.checkAvailability(email, username));
+    }
+    
     @GetMapping("/health")
     public ResponseEntity<String> healthCheck() {
         return ResponseEntity.ok("Auth Service is running!");
@@ -0,0 +1,42 @@
+package com.userREgisterLoginAuth.microservice.User.controller;
+
+import com.userREgisterLoginAuth.microservice.User.service.JwtKeyRing;
+import com.userREgisterLoginAuth.microservice.User.service.JwtService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * Public keys other services use to verify our ES256/EdDSA tokens locally. Served on both
+ * stacks. The body only changes on key rotation, so it is sent with a strong ETag and a
+ * public max-age; a client revalidating with {@code If-None-Match} gets a 304 from the
+ * framework, which compares the ETag of a GET response before writing the body.
+ */
+@RestController
+public class JwksController {
+    
+    @Autowired
+    private JwtService jwtService;
+    
+    @Value("${jwt.jwks.max-age:1h}")
+    private Duration maxAge;
+    
+    @Value("${jwt.jwks.stale-if-error:1d}")
+    private Duration staleIfError;
+    
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<byte[]> getJwks() {
+        JwtKeyRing.Jwks jwks = jwtService.getKeyRing().getJwks();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(jwks.etag())
+                .cacheControl(CacheControl.maxAge(maxAge).cachePublic().staleIfError(staleIfError))
+                .body(jwks.json());
+    }
+}
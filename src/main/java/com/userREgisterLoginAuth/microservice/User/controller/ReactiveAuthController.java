@@ -0,0 +1,74 @@
+package com.userREgisterLoginAuth.microservice.User.controller;
+
+import com.userREgisterLoginAuth.microservice.User.dto.AuthResponseDto;
+import com.userREgisterLoginAuth.microservice.User.dto.LoginDto;
+import com.userREgisterLoginAuth.microservice.User.dto.RefreshTokenDto;
+import com.userREgisterLoginAuth.microservice.User.dto.RevokeTokenDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserRegistrationDto;
+import com.userREgisterLoginAuth.microservice.User.service.ReactiveAuthService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * WebFlux version of {@link AuthController}, active with the {@code reactive} profile.
+ * Register, login, refresh and revoke have the same paths, payloads and status codes as on
+ * the servlet stack, so clients can be switched between them for A/B tests. Availability
+ * checks and token introspection are only served by the servlet stack.
+ */
+@RestController
+@RequestMapping("/api/auth")
+@CrossOrigin(origins = "*")
+@Profile("reactive")
+public class ReactiveAuthController {
+    
+    @Autowired
+    private ReactiveAuthService authService;
+    
+    @PostMapping("/register")
+    public Mono<ResponseEntity<AuthResponseDto>> registerUser(@Valid @RequestBody UserRegistrationDto registrationDto) {
+        return authService.registerUser(registrationDto)
+                .map(response -> response.isSuccess()
+                        ? ResponseEntity.status(HttpStatus.CREATED).body(response)
+                        : ResponseEntity.badRequest().body(response));
+    }
+    
+    @PostMapping("/login")
+    public Mono<ResponseEntity<AuthResponseDto>> loginUser(@Valid @RequestBody LoginDto loginDto, ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        String clientIp = remoteAddress == null ? null : remoteAddress.getHostString();
+        return authService.loginUser(loginDto, clientIp)
+                .map(response -> response.isSuccess()
+                        ? ResponseEntity.ok(response)
+                        : ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response));
+    }
+    
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<AuthResponseDto>> refreshToken(@Valid @RequestBody RefreshTokenDto refreshTokenDto) {
+        return authService.refreshToken(refreshTokenDto.getRefreshToken())
+                .map(response -> response.isSuccess()
+                        ? ResponseEntity.ok(response)
+                        : ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response));
+    }
+    
+    /**
+     * Always 200, whether or not the token was valid (as in RFC 7009).
+     */
+    @PostMapping("/revoke")
+    public Mono<ResponseEntity<Void>> revokeToken(@Valid @RequestBody RevokeTokenDto revokeTokenDto) {
+        return authService.revokeToken(revokeTokenDto.getToken())
+                .then(Mono.just(ResponseEntity.ok().<Void>build()));
+    }
+    
+    @GetMapping("/health")
+    public Mono<ResponseEntity<String>> healthCheck() {
+        return Mono.just(ResponseEntity.ok("Auth Service is running!"));
+    }
+}
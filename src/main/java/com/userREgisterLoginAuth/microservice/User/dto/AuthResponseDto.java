@@ -9,6 +9,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class AuthResponseDto {
     private String token;
+    private String refreshToken;
     private String message;
     private boolean success;
     private UserInfoDto user;
@@ -0,0 +1,17 @@
+package com.userREgisterLoginAuth.microservice.User.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AvailabilityDto {
+    private String email;
+    private Boolean emailAvailable;
+    private String username;
+    private Boolean usernameAvailable;
+}
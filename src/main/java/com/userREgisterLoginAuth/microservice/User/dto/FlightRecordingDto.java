@@ -0,0 +1,16 @@
+package com.userREgisterLoginAuth.microservice.User.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightRecordingDto {
+    private String name;
+    private long sizeBytes;
+    private Instant createdAt;
+}
@@ -0,0 +1,16 @@
+package com.userREgisterLoginAuth.microservice.User.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotBlank;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokeTokenDto {
+    
+    @NotBlank(message = "Token is required")
+    private String token;
+}
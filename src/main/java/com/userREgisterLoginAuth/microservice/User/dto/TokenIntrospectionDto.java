@@ -0,0 +1,22 @@
+package com.userREgisterLoginAuth.microservice.User.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenIntrospectionDto {
+    private boolean active;
+    private String subject;
+    private Instant expiresAt;
+    private List<String> roles;
+    /** Why an inactive token was rejected, e.g. {@code expired} or {@code revoked}. */
+    private String error;
+}
@@ -0,0 +1,21 @@
+package com.userREgisterLoginAuth.microservice.User.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenIntrospectionRequestDto {
+    
+    public static final int MAX_TOKENS = 100;
+    
+    @NotEmpty(message = "At least one token is required")
+    @Size(max = MAX_TOKENS, message = "At most " + MAX_TOKENS + " tokens per request")
+    private List<String> tokens;
+}
@@ -0,0 +1,15 @@
+package com.userREgisterLoginAuth.microservice.User.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenIntrospectionResponseDto {
+    /** One entry per requested token, in request order. */
+    private List<TokenIntrospectionDto> results;
+}
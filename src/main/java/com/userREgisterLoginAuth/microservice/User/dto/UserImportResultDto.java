@@ -0,0 +1,17 @@
+package com.userREgisterLoginAuth.microservice.User.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class UserImportResultDto {
+    private long received;
+    private long imported;
+    private long failed;
+    private boolean errorsTruncated;
+    private List<UserImportErrorDto> errors = new ArrayList<>();
+}
@@ -0,0 +1,16 @@
+package com.userREgisterLoginAuth.microservice.User.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPageDto {
+    private List<UserSummaryDto> items;
+    /** Opaque token for the next page, {@code null} on the last page. */
+    private String nextCursor;
+}
@@ -0,0 +1,21 @@
+package com.userREgisterLoginAuth.microservice.User.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryDto {
+    private String id;
+    private String email;
+    private String username;
+    private String firstName;
+    private String lastName;
+    private String role;
+    private boolean enabled;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,18 @@
+package com.userREgisterLoginAuth.microservice.User.exception;
+
+/**
+ * Thrown when a bounded resource is saturated and the request is shed instead of queued.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
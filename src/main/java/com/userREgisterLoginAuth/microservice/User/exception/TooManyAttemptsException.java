@@ -0,0 +1,18 @@
+package com.userREgisterLoginAuth.microservice.User.exception;
+
+/**
+ * Thrown when a caller has used up its allowance of attempts and must wait before retrying.
+ */
+public class TooManyAttemptsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyAttemptsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
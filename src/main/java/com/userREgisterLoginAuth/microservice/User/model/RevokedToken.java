@@ -0,0 +1,31 @@
+package com.userREgisterLoginAuth.microservice.User.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A token revoked before its expiry, identified by its {@code jti}. MongoDB deletes the
+ * document once the token has expired on its own.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "revoked_tokens")
+public class RevokedToken {
+    
+    @Id
+    private String id;
+    
+    @Indexed(name = "expiresAt_ttl", expireAfterSeconds = 0)
+    private Instant expiresAt;
+    
+    // Instances poll for revocations made since their last look
+    @Indexed
+    private Instant revokedAt;
+}
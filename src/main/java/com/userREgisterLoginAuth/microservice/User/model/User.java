@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
 
@@ -13,6 +14,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "users")
+// Keyset pagination of the admin listing: newest first, with and without role/enabled filters
+@CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "role_enabled_createdAt_id", def = "{'role': 1, 'enabled': 1, 'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "enabled_createdAt_id", def = "{'enabled': 1, 'createdAt': -1, '_id': -1}")
 public class User {
     
     @Id
@@ -21,7 +26,9 @@ public class User {
     @Indexed(unique = true)
     private String email;
     
+    @Indexed(unique = true)
     private String username;
+    
     private String password;
     private String firstName;
     private String lastName;
@@ -0,0 +1,39 @@
+package com.userREgisterLoginAuth.microservice.User.repository;
+
+import com.userREgisterLoginAuth.microservice.User.model.RevokedToken;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+/**
+ * Revocations for the {@code in-memory} profile. They are not part of the user snapshot, so
+ * they only last as long as the process.
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryRevokedTokenRepository implements RevokedTokenRepository {
+
+    private final ConcurrentMap<String, RevokedToken> byId = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean insert(RevokedToken token) {
+        RevokedToken copy = new RevokedToken(token.getId(), token.getExpiresAt(), token.getRevokedAt());
+        return byId.putIfAbsent(copy.getId(), copy) == null;
+    }
+
+    @Override
+    public Stream<RevokedToken> streamRevokedSince(Instant since, Instant now) {
+        // Expired entries go here, as the TTL index does for MongoDB
+        byId.values().removeIf(token -> !token.getExpiresAt().isAfter(now));
+        List<RevokedToken> matching = byId.values().stream()
+                .filter(token -> !token.getRevokedAt().isBefore(since))
+                .map(token -> new RevokedToken(token.getId(), token.getExpiresAt(), token.getRevokedAt()))
+                .toList();
+        return matching.stream();
+    }
+}
@@ -0,0 +1,491 @@
+package com.userREgisterLoginAuth.microservice.User.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.ReadPreference;
+import com.userREgisterLoginAuth.microservice.User.dto.UserSummaryDto;
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link UserRepository} kept in memory, for load tests, CI and edge deployments without
+ * MongoDB ({@code in-memory} profile). It behaves like the Mongo-backed repository:
+ * <ul>
+ *     <li>users live in a concurrent map by id, and email and username are unique
+ *     secondary indexes. A write reserves both with {@code putIfAbsent} while it holds the
+ *     id's map bin, so two concurrent inserts can never both claim an identifier. A
+ *     violation throws the same {@link DuplicateKeyException} message Mongo produces, naming
+ *     the index;</li>
+ *     <li>documents are copied on the way in and out, and dates are cut to milliseconds,
+ *     so callers never share state with the store, just as with BSON;</li>
+ *     <li>the admin listing walks a skip list ordered like the
+ *     {@code createdAt_id} index, so keyset pages start at the cursor instead of scanning.</li>
+ * </ul>
+ * When {@code auth.in-memory.snapshot-file} is set, the users are loaded from that file at
+ * startup and written back to it periodically (only after changes) and on shutdown, as
+ * NDJSON that includes the password hashes. A snapshot is written to a temporary file and
+ * moved into place, so a crash never leaves a truncated one behind.
+ */
+@Repository
+@Profile("in-memory")
+public class InMemoryUserRepository implements UserRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryUserRepository.class);
+
+    /** Newest first, ties by id descending: the order of the {@code createdAt_id} index. */
+    private static final Comparator<CreatedKey> CREATED_ORDER = Comparator
+            .comparing(CreatedKey::createdAt, Comparator.reverseOrder())
+            .thenComparing(CreatedKey::id, Comparator.reverseOrder());
+
+    private final ConcurrentMap<String, User> byId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> idByEmail = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> idByUsername = new ConcurrentHashMap<>();
+    private final NavigableSet<CreatedKey> byCreatedAt = new ConcurrentSkipListSet<>(CREATED_ORDER);
+    private final AtomicLong modifications = new AtomicLong();
+
+    private final ObjectMapper objectMapper;
+    private final Path snapshotFile;
+    private long snapshotModifications;
+
+    public InMemoryUserRepository(
+            ObjectMapper objectMapper,
+            @Value("${auth.in-memory.snapshot-file:}") String snapshotFile) {
+        this.objectMapper = objectMapper;
+        this.snapshotFile = snapshotFile == null || snapshotFile.isBlank() ? null : Path.of(snapshotFile);
+    }
+
+    @PostConstruct
+    public void loadSnapshot() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(snapshotFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    write(objectMapper.readValue(line, User.class), true);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load user snapshot " + snapshotFile, e);
+        }
+        synchronized (this) {
+            snapshotModifications = modifications.get();
+        }
+        log.info("Loaded {} users from {}", byId.size(), snapshotFile);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.in-memory.snapshot-interval-ms:60000}",
+            initialDelayString = "${auth.in-memory.snapshot-interval-ms:60000}")
+    public void snapshotIfChanged() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.warn("Could not write user snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes all users to the snapshot file if anything changed since the last snapshot.
+     * Concurrent writes may or may not be included; they are picked up by the next one.
+     */
+    @PreDestroy
+    public synchronized void snapshot() {
+        long version = modifications.get();
+        if (snapshotFile == null || version == snapshotModifications) {
+            return;
+        }
+        try {
+            Path parent = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, snapshotFile.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                for (User user : byId.values()) {
+                    writer.write(objectMapper.writeValueAsString(user));
+                    writer.newLine();
+                }
+            }
+            Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write user snapshot " + snapshotFile, e);
+        }
+        snapshotModifications = version;
+    }
+
+    // --- derived queries ---
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return lookup(idByEmail, email, User::getEmail);
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return lookup(idByUsername, username, User::getUsername);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return findByEmail(email).isPresent();
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        return findByUsername(username).isPresent();
+    }
+
+    // --- UserRepositoryCustom ---
+
+    // A single copy that is always current, whatever member a caller would read from
+
+    @Override
+    public Optional<User> findByEmail(String email, ReadPreference readPreference) {
+        return findByEmail(email);
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username, ReadPreference readPreference) {
+        return findByUsername(username);
+    }
+
+    @Override
+    public Map<Integer, String> insertUnordered(List<User> users) {
+        Map<Integer, String> failures = new HashMap<>();
+        for (int i = 0; i < users.size(); i++) {
+            try {
+                insert(users.get(i));
+            } catch (DuplicateKeyException e) {
+                failures.put(i, e.getMessage());
+            }
+        }
+        return failures;
+    }
+
+    @Override
+    public Stream<User> streamAllWithoutPassword(int batchSize) {
+        return byId.values().stream().map(user -> {
+            User copy = copy(user);
+            copy.setPassword(null);
+            return copy;
+        });
+    }
+
+    @Override
+    public Stream<User> streamIdentifiers() {
+        return byId.values().stream().map(user -> {
+            User identifiers = new User();
+            identifiers.setId(user.getId());
+            identifiers.setEmail(user.getEmail());
+            identifiers.setUsername(user.getUsername());
+            return identifiers;
+        });
+    }
+
+    @Override
+    public List<UserSummaryDto> findPage(UserListFilter filter, LocalDateTime afterCreatedAt, String afterId, int limit) {
+        // Both the cursor and createdTo are exclusive lower bounds; a tail set of a tail set
+        // rejects keys outside its range, so only the later of the two is applied
+        CreatedKey after = afterCreatedAt != null && afterId != null
+                ? new CreatedKey(millis(afterCreatedAt), afterId)
+                : null;
+        if (filter.createdTo() != null) {
+            // "" sorts after every id of the same instant, so this skips createdAt >= createdTo
+            CreatedKey createdTo = new CreatedKey(millis(filter.createdTo()), "");
+            if (after == null || CREATED_ORDER.compare(createdTo, after) > 0) {
+                after = createdTo;
+            }
+        }
+        NavigableSet<CreatedKey> candidates = after == null ? byCreatedAt : byCreatedAt.tailSet(after, false);
+        LocalDateTime createdFrom = filter.createdFrom() == null ? null : millis(filter.createdFrom());
+
+        List<UserSummaryDto> page = new ArrayList<>(Math.min(limit, 1024));
+        for (CreatedKey key : candidates) {
+            if (page.size() >= limit || (createdFrom != null && key.createdAt().isBefore(createdFrom))) {
+                break;
+            }
+            User user = byId.get(key.id());
+            if (user == null || !key.createdAt().equals(user.getCreatedAt())
+                    || (filter.role() != null && !filter.role().equals(user.getRole()))
+                    || (filter.enabled() != null && filter.enabled() != user.isEnabled())) {
+                continue;
+            }
+            page.add(new UserSummaryDto(user.getId(), user.getEmail(), user.getUsername(), user.getFirstName(),
+                    user.getLastName(), user.getRole(), user.isEnabled(), user.getCreatedAt()));
+        }
+        return page;
+    }
+
+    @Override
+    public boolean replacePasswordHash(String id, String currentHash, String newHash) {
+        AtomicBoolean replaced = new AtomicBoolean();
+        byId.computeIfPresent(id, (key, user) -> {
+            if (currentHash == null ? user.getPassword() != null : !currentHash.equals(user.getPassword())) {
+                return user;
+            }
+            User updated = copy(user);
+            updated.setPassword(newHash);
+            updated.setUpdatedAt(millis(LocalDateTime.now()));
+            replaced.set(true);
+            modifications.incrementAndGet();
+            return updated;
+        });
+        return replaced.get();
+    }
+
+    // --- CRUD, paging and sorting ---
+
+    @Override
+    public <S extends User> S insert(S entity) {
+        return write(entity, true);
+    }
+
+    @Override
+    public <S extends User> List<S> insert(Iterable<S> entities) {
+        List<S> inserted = new ArrayList<>();
+        entities.forEach(entity -> inserted.add(insert(entity)));
+        return inserted;
+    }
+
+    @Override
+    public <S extends User> S save(S entity) {
+        return write(entity, false);
+    }
+
+    @Override
+    public <S extends User> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public Optional<User> findById(String id) {
+        return Optional.ofNullable(byId.get(id)).map(InMemoryUserRepository::copy);
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return byId.containsKey(id);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return byId.values().stream().map(InMemoryUserRepository::copy).toList();
+    }
+
+    @Override
+    public List<User> findAllById(Iterable<String> ids) {
+        return StreamSupport.stream(ids.spliterator(), false)
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(InMemoryUserRepository::copy)
+                .toList();
+    }
+
+    @Override
+    public List<User> findAll(Sort sort) {
+        return findAll().stream().sorted(comparator(sort)).toList();
+    }
+
+    @Override
+    public Page<User> findAll(Pageable pageable) {
+        List<User> sorted = findAll(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(sorted);
+        }
+        int from = (int) Math.min(pageable.getOffset(), sorted.size());
+        int to = Math.min(from + pageable.getPageSize(), sorted.size());
+        return new PageImpl<>(sorted.subList(from, to), pageable, sorted.size());
+    }
+
+    @Override
+    public long count() {
+        return byId.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        byId.computeIfPresent(id, (key, user) -> {
+            release(idByEmail, user.getEmail(), key);
+            release(idByUsername, user.getUsername(), key);
+            unindexCreated(user);
+            modifications.incrementAndGet();
+            return null;
+        });
+    }
+
+    @Override
+    public void delete(User entity) {
+        if (entity.getId() != null) {
+            deleteById(entity.getId());
+        }
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends User> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        byId.keySet().forEach(this::deleteById);
+    }
+
+    // --- internals ---
+
+    /**
+     * Inserts or replaces a user. All index updates happen inside {@code compute} on the
+     * id, so writes to the same user are serialized, and a uniqueness violation leaves
+     * every index as it was.
+     */
+    private <S extends User> S write(S entity, boolean insertOnly) {
+        if (entity.getId() == null) {
+            entity.setId(new ObjectId().toHexString());
+        }
+        String id = entity.getId();
+        User stored = copy(entity);
+        byId.compute(id, (key, previous) -> {
+            if (previous != null && insertOnly) {
+                throw duplicateKey("_id_", key);
+            }
+            boolean emailReserved = reserve(idByEmail, stored.getEmail(), key, "email");
+            try {
+                reserve(idByUsername, stored.getUsername(), key, "username");
+            } catch (DuplicateKeyException e) {
+                if (emailReserved) {
+                    release(idByEmail, stored.getEmail(), key);
+                }
+                throw e;
+            }
+            if (previous != null) {
+                if (!Objects.equals(previous.getEmail(), stored.getEmail())) {
+                    release(idByEmail, previous.getEmail(), key);
+                }
+                if (!Objects.equals(previous.getUsername(), stored.getUsername())) {
+                    release(idByUsername, previous.getUsername(), key);
+                }
+                unindexCreated(previous);
+            }
+            if (stored.getCreatedAt() != null) {
+                byCreatedAt.add(new CreatedKey(stored.getCreatedAt(), key));
+            }
+            modifications.incrementAndGet();
+            return stored;
+        });
+        return entity;
+    }
+
+    /** Returns whether the key was newly reserved; throws if another user holds it. */
+    private static boolean reserve(ConcurrentMap<String, String> index, String value, String id, String indexName) {
+        if (value == null) {
+            return false;
+        }
+        String owner = index.putIfAbsent(value, id);
+        if (owner != null && !owner.equals(id)) {
+            throw duplicateKey(indexName, value);
+        }
+        return owner == null;
+    }
+
+    private static void release(ConcurrentMap<String, String> index, String value, String id) {
+        if (value != null) {
+            index.remove(value, id);
+        }
+    }
+
+    private void unindexCreated(User user) {
+        if (user.getCreatedAt() != null) {
+            byCreatedAt.remove(new CreatedKey(user.getCreatedAt(), user.getId()));
+        }
+    }
+
+    private Optional<User> lookup(ConcurrentMap<String, String> index, String value, Function<User, String> field) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        String id = index.get(value);
+        User user = id == null ? null : byId.get(id);
+        // The index may briefly point at a user whose value is being changed
+        if (user == null || !value.equals(field.apply(user))) {
+            return Optional.empty();
+        }
+        return Optional.of(copy(user));
+    }
+
+    private static DuplicateKeyException duplicateKey(String indexName, String value) {
+        // Same shape as the server's message, which TakenIdentifierCache parses
+        return new DuplicateKeyException("E11000 duplicate key error collection: users index: " + indexName
+                + " dup key: { " + indexName + ": \"" + value + "\" }");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparator<User> comparator(Sort sort) {
+        Comparator<User> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<User> byProperty = Comparator.comparing(
+                    user -> (Comparable<Object>) new BeanWrapperImpl(user).getPropertyValue(order.getProperty()),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator;
+    }
+
+    private static User copy(User user) {
+        return new User(user.getId(), user.getEmail(), user.getUsername(), user.getPassword(), user.getFirstName(),
+                user.getLastName(), user.getRole(), user.isEnabled(), millis(user.getCreatedAt()),
+                millis(user.getUpdatedAt()));
+    }
+
+    /** BSON dates have millisecond precision. */
+    private static LocalDateTime millis(LocalDateTime time) {
+        return time == null ? null : time.truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private record CreatedKey(LocalDateTime createdAt, String id) {
+    }
+}
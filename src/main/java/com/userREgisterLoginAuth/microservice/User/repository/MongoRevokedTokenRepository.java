@@ -0,0 +1,37 @@
+package com.userREgisterLoginAuth.microservice.User.repository;
+
+import com.userREgisterLoginAuth.microservice.User.model.RevokedToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+@Repository
+@Profile("!in-memory")
+public class MongoRevokedTokenRepository implements RevokedTokenRepository {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public boolean insert(RevokedToken token) {
+        try {
+            mongoTemplate.insert(token);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public Stream<RevokedToken> streamRevokedSince(Instant since, Instant now) {
+        Query query = new Query(Criteria.where("revokedAt").gte(since).and("expiresAt").gt(now));
+        return mongoTemplate.stream(query, RevokedToken.class);
+    }
+}
@@ -0,0 +1,20 @@
+package com.userREgisterLoginAuth.microservice.User.repository;
+
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+@Profile("reactive")
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+    
+    Mono<User> findByEmail(String email);
+    
+    Mono<User> findByUsername(String username);
+    
+    Mono<Boolean> existsByEmail(String email);
+    
+    Mono<Boolean> existsByUsername(String username);
+}
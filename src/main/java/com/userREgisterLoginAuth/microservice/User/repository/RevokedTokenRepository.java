@@ -0,0 +1,23 @@
+package com.userREgisterLoginAuth.microservice.User.repository;
+
+import com.userREgisterLoginAuth.microservice.User.model.RevokedToken;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Durable record of revoked token ids, shared by every instance of the service.
+ */
+public interface RevokedTokenRepository {
+
+    /**
+     * @return {@code false} if a token with the same id was already revoked
+     */
+    boolean insert(RevokedToken token);
+
+    /**
+     * Revocations recorded at or after {@code since} whose token expires after {@code now}.
+     * The stream must be closed.
+     */
+    Stream<RevokedToken> streamRevokedSince(Instant since, Instant now);
+}
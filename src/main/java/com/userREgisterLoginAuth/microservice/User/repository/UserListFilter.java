@@ -0,0 +1,10 @@
+package com.userREgisterLoginAuth.microservice.User.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters of the admin user listing; {@code null} means "any". The creation
+ * range is inclusive at {@code createdFrom} and exclusive at {@code createdTo}.
+ */
+public record UserListFilter(String role, Boolean enabled, LocalDateTime createdFrom, LocalDateTime createdTo) {
+}
@@ -1,13 +1,24 @@
 package com.userREgisterLoginAuth.microservice.User.repository;
 
 import com.userREgisterLoginAuth.microservice.User.model.User;
-import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.ListPagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
+/**
+ * {@code MongoRepository} without query by example, which the service never uses, so that
+ * {@link InMemoryUserRepository} can implement the whole interface.
+ */
 @Repository
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends ListCrudRepository<User, String>, ListPagingAndSortingRepository<User, String>,
+        UserRepositoryCustom {
+    
+    <S extends User> S insert(S entity);
+    
+    <S extends User> List<S> insert(Iterable<S> entities);
     
     Optional<User> findByEmail(String email);
     
@@ -16,4 +27,4 @@ public interface UserRepository extends MongoRepository<User, String> {
     boolean existsByEmail(String email);
     
     boolean existsByUsername(String username);
-} 
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package com.userREgisterLoginAuth.microservice.User.repository;
+
+import com.mongodb.ReadPreference;
+import com.userREgisterLoginAuth.microservice.User.dto.UserSummaryDto;
+import com.userREgisterLoginAuth.microservice.User.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Bulk operations on the {@code users} collection that derived queries cannot express.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Looks a user up by email on a member chosen by {@code readPreference} rather than the
+     * client default. From a secondary the user may be missing or older than the last write.
+     */
+    Optional<User> findByEmail(String email, ReadPreference readPreference);
+
+    /**
+     * Same as {@link #findByEmail(String, ReadPreference)}, by username.
+     */
+    Optional<User> findByUsername(String username, ReadPreference readPreference);
+
+    /**
+     * Inserts all users in one unordered bulk write: a failing document does not stop
+     * the others. Returns the error message of each failed insert keyed by its position
+     * in {@code users}; an empty map means every user was inserted.
+     */
+    Map<Integer, String> insertUnordered(List<User> users);
+
+    /**
+     * Streams every user straight from a Mongo cursor, fetching {@code batchSize} documents
+     * per round-trip. Password hashes are not read. The stream must be closed.
+     */
+    Stream<User> streamAllWithoutPassword(int batchSize);
+
+    /**
+     * Streams every user with only {@code id}, {@code email} and {@code username} read.
+     * The stream must be closed.
+     */
+    Stream<User> streamIdentifiers();
+
+    /**
+     * Returns up to {@code limit} users matching {@code filter}, newest first, as summaries.
+     * Pagination is by keyset: pass the {@code createdAt} and id of the last user of the
+     * previous page (both {@code null} for the first page) and the query seeks straight to
+     * the next entry of a compound index instead of skipping over earlier pages.
+     */
+    List<UserSummaryDto> findPage(UserListFilter filter, LocalDateTime afterCreatedAt, String afterId, int limit);
+
+    /**
+     * Replaces the password hash of a user only if it still equals {@code currentHash}, so a
+     * password changed in the meantime is never overwritten. Returns whether it was replaced.
+     */
+    boolean replacePasswordHash(String id, String currentHash, String newHash);
+}
@@ -0,0 +1,134 @@
+package com.userREgisterLoginAuth.microservice.User.repository;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.bulk.BulkWriteError;
+import com.userREgisterLoginAuth.microservice.User.dto.UserSummaryDto;
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<User> findByEmail(String email, ReadPreference readPreference) {
+        return findOne(new Query(Criteria.where("email").is(email)), readPreference);
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username, ReadPreference readPreference) {
+        return findOne(new Query(Criteria.where("username").is(username)), readPreference);
+    }
+
+    @Override
+    public Map<Integer, String> insertUnordered(List<User> users) {
+        if (users.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class)
+                    .insert(users)
+                    .execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            Map<Integer, String> failures = new HashMap<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(error.getIndex(), error.getMessage());
+            }
+            return failures;
+        }
+    }
+
+    @Override
+    public Stream<User> streamAllWithoutPassword(int batchSize) {
+        Query query = new Query().cursorBatchSize(batchSize);
+        query.fields().exclude("password");
+        return mongoTemplate.stream(query, User.class);
+    }
+
+    @Override
+    public Stream<User> streamIdentifiers() {
+        Query query = new Query();
+        query.fields().include("email", "username");
+        return mongoTemplate.stream(query, User.class);
+    }
+
+    @Override
+    public List<UserSummaryDto> findPage(UserListFilter filter, LocalDateTime afterCreatedAt, String afterId, int limit) {
+        Query query = new Query(pageCriteria(filter, afterCreatedAt, afterId))
+                .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")))
+                .limit(limit);
+        // The DTO projection reads only its own fields, so password hashes never leave Mongo
+        return mongoTemplate.query(User.class).as(UserSummaryDto.class).matching(query).all();
+    }
+
+    @Override
+    public boolean replacePasswordHash(String id, String currentHash, String newHash) {
+        Query query = new Query(Criteria.where("_id").is(id).and("password").is(currentHash));
+        Update update = new Update()
+                .set("password", newHash)
+                .set("updatedAt", LocalDateTime.now());
+        return mongoTemplate.updateFirst(query, update, User.class).getModifiedCount() > 0;
+    }
+
+    private Optional<User> findOne(Query query, ReadPreference readPreference) {
+        return Optional.ofNullable(mongoTemplate.findOne(query.withReadPreference(readPreference), User.class));
+    }
+
+    static Criteria pageCriteria(UserListFilter filter, LocalDateTime afterCreatedAt, String afterId) {
+        List<Criteria> conditions = new ArrayList<>();
+        if (filter.role() != null) {
+            conditions.add(Criteria.where("role").is(filter.role()));
+        }
+        if (filter.enabled() != null) {
+            conditions.add(Criteria.where("enabled").is(filter.enabled()));
+        } else if (filter.role() != null) {
+            // Lets the planner merge both enabled ranges of the role/enabled/createdAt index
+            // in sort order instead of sorting in memory
+            conditions.add(Criteria.where("enabled").in(true, false));
+        }
+
+        // Users without createdAt cannot carry a cursor, so they are left out of the listing
+        Criteria createdAt = Criteria.where("createdAt").ne(null);
+        if (filter.createdFrom() != null) {
+            createdAt.gte(filter.createdFrom());
+        }
+        if (filter.createdTo() != null) {
+            createdAt.lt(filter.createdTo());
+        }
+        boolean seek = afterCreatedAt != null && afterId != null;
+        if (seek) {
+            // Implied by the $or below, but the planner only turns top-level predicates into
+            // index bounds; without it every page scans from the newest user
+            createdAt.lte(afterCreatedAt);
+        }
+        conditions.add(createdAt);
+
+        if (seek) {
+            Object id = ObjectId.isValid(afterId) ? new ObjectId(afterId) : afterId;
+            conditions.add(new Criteria().orOperator(
+                    Criteria.where("createdAt").lt(afterCreatedAt),
+                    new Criteria().andOperator(
+                            Criteria.where("createdAt").is(afterCreatedAt),
+                            Criteria.where("_id").lt(id))));
+        }
+        return new Criteria().andOperator(conditions);
+    }
+}
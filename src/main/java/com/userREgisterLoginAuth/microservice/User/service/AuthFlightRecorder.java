@@ -0,0 +1,255 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.userREgisterLoginAuth.microservice.User.dto.FlightRecordingDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a continuous Flight Recorder recording with the JDK's low-overhead {@code default}
+ * settings plus the {@link AuthPhaseEvent} and {@link AuthRequestEvent} events, retained for
+ * {@code max-age}. When a login or registration takes longer than
+ * {@code slow-request-threshold}, the last {@code dump-window} of it is written to
+ * {@code dump-directory} in the background, at most once per {@code dump-cooldown}, so a
+ * slow request leaves evidence behind without anyone attaching a profiler.
+ */
+@Component
+@Profile("!reactive")
+public class AuthFlightRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthFlightRecorder.class);
+
+    private static final Pattern DUMP_NAME = Pattern.compile("auth-[A-Za-z0-9-]+\\.jfr");
+    private static final DateTimeFormatter DUMP_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private final boolean enabled;
+    private final String settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final long slowThresholdNanos;
+    private final Duration dumpWindow;
+    private final long dumpCooldownNanos;
+    private final Path dumpDirectory;
+    private final int maxDumps;
+    private final Executor dumper;
+    private final LongSupplier nanoClock;
+    private final AtomicLong nextDumpAt;
+
+    private volatile Recording recording;
+
+    @Autowired
+    public AuthFlightRecorder(
+            @Value("${auth.jfr.enabled:true}") boolean enabled,
+            @Value("${auth.jfr.settings:default}") String settings,
+            @Value("${auth.jfr.max-age:30m}") Duration maxAge,
+            @Value("${auth.jfr.max-size:250MB}") DataSize maxSize,
+            @Value("${auth.jfr.slow-request-threshold:2s}") Duration slowRequestThreshold,
+            @Value("${auth.jfr.dump-window:5m}") Duration dumpWindow,
+            @Value("${auth.jfr.dump-cooldown:5m}") Duration dumpCooldown,
+            @Value("${auth.jfr.dump-directory:}") String dumpDirectory,
+            @Value("${auth.jfr.max-dumps:10}") int maxDumps) {
+        this(enabled, settings, maxAge, maxSize, slowRequestThreshold, dumpWindow, dumpCooldown,
+                dumpDirectory == null || dumpDirectory.isBlank()
+                        ? Path.of(System.getProperty("java.io.tmpdir"), "auth-flight-recordings")
+                        : Path.of(dumpDirectory),
+                maxDumps,
+                Executors.newSingleThreadExecutor(Thread.ofPlatform().name("flight-recording-dump").daemon(true).factory()),
+                System::nanoTime);
+    }
+
+    AuthFlightRecorder(boolean enabled, String settings, Duration maxAge, DataSize maxSize,
+                       Duration slowRequestThreshold, Duration dumpWindow, Duration dumpCooldown,
+                       Path dumpDirectory, int maxDumps, Executor dumper, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.slowThresholdNanos = slowRequestThreshold.toNanos();
+        this.dumpWindow = dumpWindow;
+        this.dumpCooldownNanos = dumpCooldown.toNanos();
+        this.dumpDirectory = dumpDirectory;
+        this.maxDumps = maxDumps;
+        this.dumper = dumper;
+        this.nanoClock = nanoClock;
+        this.nextDumpAt = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("Flight Recorder is not available in this JVM; slow requests will not be recorded");
+            return;
+        }
+        try {
+            Recording continuous = new Recording(Configuration.getConfiguration(settings));
+            continuous.setName("auth-continuous");
+            continuous.setToDisk(true);
+            continuous.setMaxAge(maxAge);
+            continuous.setMaxSize(maxSize.toBytes());
+            continuous.enable(AuthPhaseEvent.class);
+            continuous.enable(AuthRequestEvent.class);
+            continuous.start();
+            recording = continuous;
+            log.info("Continuous flight recording started ({} settings, last {} kept)", settings, maxAge);
+        } catch (IOException | ParseException e) {
+            log.warn("Could not start the continuous flight recording: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (dumper instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+        Recording active = recording;
+        recording = null;
+        if (active != null) {
+            active.close();
+        }
+    }
+
+    public boolean isRecording() {
+        return recording != null;
+    }
+
+    public Duration getDumpWindow() {
+        return dumpWindow;
+    }
+
+    /**
+     * Called once a request has completed and its {@link AuthRequestEvent} is committed.
+     * Never blocks: a slow request only schedules the dump.
+     */
+    public void requestCompleted(String operation, long durationNanos) {
+        if (recording == null || slowThresholdNanos <= 0 || durationNanos < slowThresholdNanos) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        long allowedAt = nextDumpAt.get();
+        if (now - allowedAt < 0 || !nextDumpAt.compareAndSet(allowedAt, now + dumpCooldownNanos)) {
+            return;
+        }
+        dumper.execute(() -> {
+            try {
+                FlightRecordingDto dump = dump(dumpWindow, "slow-" + operation);
+                log.warn("Slow {} ({} ms): dumped the last {} of the flight recording to {}",
+                        operation, durationNanos / 1_000_000, dumpWindow, dump.getName());
+            } catch (RuntimeException e) {
+                log.warn("Could not dump the flight recording after a slow {}: {}", operation, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Writes the last {@code window} of recorded data to a new file in the dump directory and
+     * drops the oldest dumps beyond {@code max-dumps}. Chunk boundaries make the file start a
+     * little earlier than asked.
+     *
+     * @throws IllegalStateException if no recording is running
+     */
+    public synchronized FlightRecordingDto dump(Duration window, String reason) {
+        if (recording == null) {
+            throw new IllegalStateException("Flight recording is not running");
+        }
+        Instant end = Instant.now();
+        Path file = dumpDirectory.resolve("auth-" + DUMP_TIMESTAMP.format(end) + "-" + reason + ".jfr");
+        try {
+            Files.createDirectories(dumpDirectory);
+            // The snapshot flushes what is still in memory, so the request that triggered the dump is included
+            try (Recording snapshot = FlightRecorder.getFlightRecorder().takeSnapshot();
+                 InputStream data = snapshot.getStream(end.minus(window), end)) {
+                if (data == null) {
+                    throw new IllegalStateException("No flight recording data in the last " + window);
+                }
+                Files.copy(data, file);
+            }
+            prune();
+            return describe(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write flight recording " + file, e);
+        }
+    }
+
+    /** Dumps in the dump directory, newest first. */
+    public List<FlightRecordingDto> listDumps() {
+        return dumpFiles().map(AuthFlightRecorder::describe).toList();
+    }
+
+    /**
+     * Resolves the name of a listed dump to its file.
+     *
+     * @throws NoSuchFileException if there is no dump by that name
+     */
+    public Path dumpFile(String name) throws NoSuchFileException {
+        Path file = dumpDirectory.resolve(name);
+        if (!DUMP_NAME.matcher(name).matches() || !Files.isRegularFile(file)) {
+            throw new NoSuchFileException(name);
+        }
+        return file;
+    }
+
+    private void prune() throws IOException {
+        List<Path> stale = dumpFiles().skip(maxDumps).toList();
+        for (Path file : stale) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private Stream<Path> dumpFiles() {
+        if (!Files.isDirectory(dumpDirectory)) {
+            return Stream.empty();
+        }
+        try (Stream<Path> files = Files.list(dumpDirectory)) {
+            return files
+                    .filter(file -> DUMP_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparing((Path file) -> file.getFileName().toString()).reversed())
+                    .toList()
+                    .stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FlightRecordingDto describe(Path file) {
+        try {
+            return new FlightRecordingDto(file.getFileName().toString(), Files.size(file),
+                    Files.getLastModifiedTime(file).toInstant());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
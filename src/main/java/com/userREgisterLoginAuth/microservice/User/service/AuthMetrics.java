@@ -0,0 +1,141 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers for each stage of a login or registration, so a latency spike can be pinned on the
+ * endpoint outcome, password hashing or JWT work. Every timer is registered up front, one per
+ * tag combination, so recording on the hot path is a map lookup and never a registry lookup.
+ * Percentile histograms are switched on through {@code management.metrics.distribution.*}.
+ */
+@Component
+public class AuthMetrics {
+
+    public enum Outcome {
+        SUCCESS, BAD_CREDENTIALS, INVALID_TOKEN, DISABLED, DUPLICATE, THROTTLED, ERROR;
+
+        public String tag() {
+            return tagValue(this);
+        }
+    }
+
+    public enum Endpoint {
+        LOGIN(Outcome.SUCCESS, Outcome.BAD_CREDENTIALS, Outcome.DISABLED, Outcome.THROTTLED, Outcome.ERROR),
+        REGISTER(Outcome.SUCCESS, Outcome.DUPLICATE, Outcome.ERROR),
+        REFRESH(Outcome.SUCCESS, Outcome.INVALID_TOKEN, Outcome.DISABLED, Outcome.ERROR),
+        INTROSPECT(Outcome.SUCCESS, Outcome.ERROR),
+        AVAILABILITY(Outcome.SUCCESS, Outcome.ERROR);
+
+        private final Outcome[] outcomes;
+
+        Endpoint(Outcome... outcomes) {
+            this.outcomes = outcomes;
+        }
+
+        public String tag() {
+            return tagValue(this);
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final Map<Endpoint, Map<Outcome, Timer>> endpoints = new EnumMap<>(Endpoint.class);
+    private final Timer passwordEncode;
+    private final Timer passwordMatch;
+    private final Timer passwordMismatch;
+    private final Timer jwtSign;
+    private final Timer jwtVerifyValid;
+    private final Map<TokenVerification.Failure, Timer> jwtVerifyFailed = new EnumMap<>(TokenVerification.Failure.class);
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Endpoint endpoint : Endpoint.values()) {
+            Map<Outcome, Timer> byOutcome = new EnumMap<>(Outcome.class);
+            // Only the outcomes an endpoint can produce, to keep the series count down
+            for (Outcome outcome : endpoint.outcomes) {
+                byOutcome.put(outcome, Timer.builder("auth.requests")
+                        .description("Auth endpoint handling time, by outcome")
+                        .tag("endpoint", endpoint.tag())
+                        .tag("outcome", outcome.tag())
+                        .register(registry));
+            }
+            endpoints.put(endpoint, byOutcome);
+        }
+
+        this.passwordEncode = Timer.builder("auth.password.hash")
+                .description("Time spent hashing or verifying a password, excluding queueing")
+                .tag("operation", "encode")
+                .tag("outcome", "success")
+                .register(registry);
+        this.passwordMatch = passwordTimer("match");
+        this.passwordMismatch = passwordTimer("mismatch");
+
+        this.jwtSign = Timer.builder("auth.jwt.sign")
+                .description("Time spent signing a JWT")
+                .register(registry);
+        this.jwtVerifyValid = jwtVerifyTimer("valid");
+        for (TokenVerification.Failure failure : TokenVerification.Failure.values()) {
+            // Token use and revocation are checked after parsing, outside the timed part
+            if (failure != TokenVerification.Failure.WRONG_TOKEN_USE && failure != TokenVerification.Failure.REVOKED) {
+                jwtVerifyFailed.put(failure, jwtVerifyTimer(tagValue(failure)));
+            }
+        }
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * @return the recorded duration in nanoseconds
+     */
+    public long record(Timer.Sample sample, Endpoint endpoint, Outcome outcome) {
+        return sample.stop(endpoints.get(endpoint).get(outcome));
+    }
+
+    public void recordPasswordEncode(long nanos) {
+        passwordEncode.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPasswordMatch(long nanos, boolean matched) {
+        (matched ? passwordMatch : passwordMismatch).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordJwtSign(long nanos) {
+        jwtSign.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Only verifications that actually parsed the token are timed; cache hits show up in the
+     * {@code verified_tokens} cache metrics.
+     */
+    public void recordJwtVerify(long nanos, TokenVerification verification) {
+        Timer timer = verification.isValid() ? jwtVerifyValid : jwtVerifyFailed.get(verification.failure());
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer passwordTimer(String outcome) {
+        return Timer.builder("auth.password.hash")
+                .description("Time spent hashing or verifying a password, excluding queueing")
+                .tag("operation", "match")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private Timer jwtVerifyTimer(String outcome) {
+        return Timer.builder("auth.jwt.verify")
+                .description("Time spent parsing and verifying a JWT that was not cached")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,42 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One phase of a login, registration or token refresh (lookup, hash, insert, sign, rehash,
+ * revoke) as a Flight Recorder event. Stack traces are off, so a committed event costs a
+ * timestamp pair and a buffer write; while no recording has the event enabled,
+ * {@link #commit()} returns right away.
+ */
+@Name("auth.Phase")
+@Label("Auth Phase")
+@Category({"Auth"})
+@Description("One phase of a login, registration or token refresh")
+@StackTrace(false)
+public class AuthPhaseEvent extends jdk.jfr.Event {
+
+    public static final String LOOKUP = "lookup";
+    public static final String HASH = "hash";
+    public static final String INSERT = "insert";
+    public static final String SIGN = "sign";
+    public static final String REHASH = "rehash";
+    public static final String REVOKE = "revoke";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Phase")
+    String phase;
+
+    public static AuthPhaseEvent begin(String operation, String phase) {
+        AuthPhaseEvent event = new AuthPhaseEvent();
+        event.operation = operation;
+        event.phase = phase;
+        event.begin();
+        return event;
+    }
+}
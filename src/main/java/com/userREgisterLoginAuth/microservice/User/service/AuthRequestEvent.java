@@ -0,0 +1,37 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A whole login, registration or token refresh as a Flight Recorder event, spanning its
+ * {@link AuthPhaseEvent}s. No identifiers are recorded: the recording may leave the host.
+ */
+@Name("auth.Request")
+@Label("Auth Request")
+@Category({"Auth"})
+@Description("A login, registration or token refresh and its outcome")
+@StackTrace(false)
+public class AuthRequestEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Outcome")
+    String outcome;
+
+    public static AuthRequestEvent begin(String operation) {
+        AuthRequestEvent event = new AuthRequestEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    public void commit(String outcome) {
+        this.outcome = outcome;
+        commit();
+    }
+}
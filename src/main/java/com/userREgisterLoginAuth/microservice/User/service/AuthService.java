@@ -1,20 +1,33 @@
 package com.userREgisterLoginAuth.microservice.User.service;
 
 import com.userREgisterLoginAuth.microservice.User.dto.AuthResponseDto;
+import com.userREgisterLoginAuth.microservice.User.dto.AvailabilityDto;
 import com.userREgisterLoginAuth.microservice.User.dto.LoginDto;
 import com.userREgisterLoginAuth.microservice.User.dto.UserInfoDto;
 import com.userREgisterLoginAuth.microservice.User.dto.UserRegistrationDto;
+import com.userREgisterLoginAuth.microservice.User.exception.TooManyAttemptsException;
 import com.userREgisterLoginAuth.microservice.User.model.User;
 import com.userREgisterLoginAuth.microservice.User.repository.UserRepository;
+import com.userREgisterLoginAuth.microservice.User.service.AuthMetrics.Endpoint;
+import com.userREgisterLoginAuth.microservice.User.service.AuthMetrics.Outcome;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
 import java.util.Optional;
 
 @Service
+@Profile("!reactive")
 public class AuthService {
     
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+    
     @Autowired
     private UserRepository userRepository;
     
@@ -24,65 +37,286 @@ public class AuthService {
     @Autowired
     private JwtService jwtService;
     
+    @Autowired
+    private TakenIdentifierCache takenIdentifiers;
+    
+    @Autowired
+    private IdentifierBloomIndex bloomIndex;
+    
+    @Autowired
+    private UserLookupCache userLookupCache;
+    
+    @Autowired
+    private LoginThrottle loginThrottle;
+    
+    @Autowired
+    private AuthMetrics authMetrics;
+    
+    @Autowired
+    private AuthFlightRecorder flightRecorder;
+    
     public AuthResponseDto registerUser(UserRegistrationDto registrationDto) {
-        // Check if user already exists
-        if (userRepository.existsByEmail(registrationDto.getEmail())) {
-            return new AuthResponseDto(null, "Email already registered", false);
+        Timer.Sample sample = authMetrics.start();
+        AuthRequestEvent requestEvent = AuthRequestEvent.begin(Endpoint.REGISTER.tag());
+        Outcome outcome = Outcome.ERROR;
+        try {
+            AuthResponseDto response = register(registrationDto);
+            outcome = response.isSuccess() ? Outcome.SUCCESS : Outcome.DUPLICATE;
+            return response;
+        } finally {
+            completed(sample, requestEvent, Endpoint.REGISTER, outcome);
         }
+    }
+    
+    private AuthResponseDto register(UserRegistrationDto registrationDto) {
+        String email = registrationDto.getEmail();
+        String username = registrationDto.getUsername();
         
-        if (userRepository.existsByUsername(registrationDto.getUsername())) {
-            return new AuthResponseDto(null, "Username already taken", false);
+        // Identifiers we already know are taken fail before paying for BCrypt
+        TakenIdentifierCache.Field knownConflict = takenIdentifiers.knownConflict(email, username);
+        if (knownConflict != null) {
+            return conflictResponse(knownConflict);
         }
         
+        AuthPhaseEvent hash = AuthPhaseEvent.begin(Endpoint.REGISTER.tag(), AuthPhaseEvent.HASH);
+        String encodedPassword = passwordEncoder.encode(registrationDto.getPassword());
+        hash.commit();
+        
         // Create new user
         User user = new User(
-            registrationDto.getEmail(),
-            registrationDto.getUsername(),
-            passwordEncoder.encode(registrationDto.getPassword()),
+            email,
+            username,
+            encodedPassword,
             registrationDto.getFirstName(),
             registrationDto.getLastName()
         );
         
-        User savedUser = userRepository.save(user);
-        
-        // Generate JWT token
-        String token = jwtService.generateToken(savedUser.getUsername());
-        
-        // Create user info DTO
-        UserInfoDto userInfo = new UserInfoDto(
-            savedUser.getId(),
-            savedUser.getEmail(),
-            savedUser.getUsername(),
-            savedUser.getFirstName(),
-            savedUser.getLastName(),
-            savedUser.getRole()
-        );
-        
-        AuthResponseDto response = new AuthResponseDto(token, "User registered successfully", true);
-        response.setUser(userInfo);
+        // Single insert: the unique indexes on email and username reject duplicates atomically
+        User savedUser;
+        AuthPhaseEvent insert = AuthPhaseEvent.begin(Endpoint.REGISTER.tag(), AuthPhaseEvent.INSERT);
+        try {
+            savedUser = userRepository.insert(user);
+        } catch (DuplicateKeyException e) {
+            return conflictResponse(takenIdentifiers.conflictOf(e, email, username));
+        } finally {
+            insert.commit();
+        }
+        takenIdentifiers.registered(email, username);
+        bloomIndex.add(email, username);
         
-        return response;
+        return tokenResponse(savedUser, "User registered successfully", Endpoint.REGISTER);
     }
     
-    public AuthResponseDto loginUser(LoginDto loginDto) {
-        Optional<User> userOptional = userRepository.findByEmail(loginDto.getEmail());
-        
-        if (userOptional.isEmpty()) {
-            return new AuthResponseDto(null, "Invalid email or password", false);
+    /**
+     * @param clientIp address of the caller, used for throttling; {@code null} if unknown
+     * @throws com.userREgisterLoginAuth.microservice.User.exception.TooManyAttemptsException
+     *         if the account or the client has exhausted its login attempts
+     */
+    public AuthResponseDto loginUser(LoginDto loginDto, String clientIp) {
+        Timer.Sample sample = authMetrics.start();
+        AuthRequestEvent requestEvent = AuthRequestEvent.begin(Endpoint.LOGIN.tag());
+        Outcome outcome = Outcome.ERROR;
+        try {
+            // Before any lookup or hashing, so throttled attempts cost next to nothing
+            loginThrottle.acquire(loginDto.getEmail(), clientIp);
+            
+            AuthPhaseEvent lookup = AuthPhaseEvent.begin(Endpoint.LOGIN.tag(), AuthPhaseEvent.LOOKUP);
+            Optional<User> userOptional = userLookupCache.findByEmail(loginDto.getEmail());
+            lookup.commit();
+            
+            if (userOptional.isEmpty()) {
+                outcome = Outcome.BAD_CREDENTIALS;
+                return new AuthResponseDto(null, "Invalid email or password", false);
+            }
+            
+            User user = userOptional.get();
+            
+            AuthPhaseEvent hash = AuthPhaseEvent.begin(Endpoint.LOGIN.tag(), AuthPhaseEvent.HASH);
+            boolean matches = passwordEncoder.matches(loginDto.getPassword(), user.getPassword());
+            hash.commit();
+            if (!matches) {
+                outcome = Outcome.BAD_CREDENTIALS;
+                return new AuthResponseDto(null, "Invalid email or password", false);
+            }
+            
+            if (!user.isEnabled()) {
+                outcome = Outcome.DISABLED;
+                return new AuthResponseDto(null, "Account is disabled", false);
+            }
+            
+            AuthResponseDto response = loginResponse(user, loginDto.getPassword());
+            outcome = Outcome.SUCCESS;
+            return response;
+        } catch (TooManyAttemptsException e) {
+            outcome = Outcome.THROTTLED;
+            throw e;
+        } finally {
+            completed(sample, requestEvent, Endpoint.LOGIN, outcome);
         }
-        
-        User user = userOptional.get();
-        
-        if (!passwordEncoder.matches(loginDto.getPassword(), user.getPassword())) {
-            return new AuthResponseDto(null, "Invalid email or password", false);
+    }
+    
+    private AuthResponseDto loginResponse(User user, String rawPassword) {
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            rehashPassword(user, rawPassword);
         }
         
-        if (!user.isEnabled()) {
-            return new AuthResponseDto(null, "Account is disabled", false);
+        return tokenResponse(user, "Login successful", Endpoint.LOGIN);
+    }
+    
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token, without the
+     * password. The user is looked up again, so disabled accounts and role changes take
+     * effect here. Refresh tokens are single use: the presented one is revoked, and a second
+     * attempt with it (a replay, or a concurrent refresh) is rejected.
+     */
+    public AuthResponseDto refreshToken(String refreshToken) {
+        Timer.Sample sample = authMetrics.start();
+        AuthRequestEvent requestEvent = AuthRequestEvent.begin(Endpoint.REFRESH.tag());
+        Outcome outcome = Outcome.ERROR;
+        try {
+            TokenVerification verification = jwtService.verifyRefreshToken(refreshToken);
+            if (!verification.isValid() || verification.subject() == null) {
+                outcome = Outcome.INVALID_TOKEN;
+                return new AuthResponseDto(null, "Invalid refresh token", false);
+            }
+            
+            AuthPhaseEvent lookup = AuthPhaseEvent.begin(Endpoint.REFRESH.tag(), AuthPhaseEvent.LOOKUP);
+            Optional<User> userOptional = userLookupCache.findByUsername(verification.subject());
+            lookup.commit();
+            
+            if (userOptional.isEmpty()) {
+                outcome = Outcome.INVALID_TOKEN;
+                return new AuthResponseDto(null, "Invalid refresh token", false);
+            }
+            if (!userOptional.get().isEnabled()) {
+                outcome = Outcome.DISABLED;
+                return new AuthResponseDto(null, "Account is disabled", false);
+            }
+            
+            AuthPhaseEvent revoke = AuthPhaseEvent.begin(Endpoint.REFRESH.tag(), AuthPhaseEvent.REVOKE);
+            boolean revoked = jwtService.revoke(verification);
+            revoke.commit();
+            if (!revoked) {
+                outcome = Outcome.INVALID_TOKEN;
+                return new AuthResponseDto(null, "Invalid refresh token", false);
+            }
+            
+            AuthResponseDto response = tokenResponse(userOptional.get(), "Token refreshed", Endpoint.REFRESH);
+            outcome = Outcome.SUCCESS;
+            return response;
+        } finally {
+            completed(sample, requestEvent, Endpoint.REFRESH, outcome);
+        }
+    }
+    
+    /**
+     * Revokes an access or refresh token until it expires, e.g. on logout. Tokens that do
+     * not verify are ignored, so the caller learns nothing about them.
+     */
+    public void revokeToken(String token) {
+        jwtService.revoke(token);
+    }
+    
+    /**
+     * Stores a new hash of a password that was just verified, made with the current
+     * algorithm and strength. Best effort: the login succeeds whether or not this works,
+     * and the next login simply tries again.
+     */
+    private void rehashPassword(User user, String rawPassword) {
+        AuthPhaseEvent rehash = AuthPhaseEvent.begin(Endpoint.LOGIN.tag(), AuthPhaseEvent.REHASH);
+        try {
+            String newHash = passwordEncoder.encode(rawPassword);
+            if (userRepository.replacePasswordHash(user.getId(), user.getPassword(), newHash)) {
+                // The cached instance is shared and still holds the old hash
+                userLookupCache.evict(user.getId());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not rehash the password of user {}: {}", user.getId(), e.getMessage());
+        } finally {
+            rehash.commit();
+        }
+    }
+    
+    /**
+     * Reports whether each given identifier is free. A Bloom filter miss answers without a
+     * database call; only possible hits are confirmed against Mongo.
+     */
+    public AvailabilityDto checkAvailability(String email, String username) {
+        Timer.Sample sample = authMetrics.start();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            AvailabilityDto availability = availability(email, username);
+            outcome = Outcome.SUCCESS;
+            return availability;
+        } finally {
+            authMetrics.record(sample, Endpoint.AVAILABILITY, outcome);
+        }
+    }
+    
+    private AvailabilityDto availability(String email, String username) {
+        AvailabilityDto availability = new AvailabilityDto();
+        if (email != null) {
+            availability.setEmail(email);
+            availability.setEmailAvailable(!isEmailTaken(email));
+        }
+        if (username != null) {
+            availability.setUsername(username);
+            availability.setUsernameAvailable(!isUsernameTaken(username));
+        }
+        return availability;
+    }
+    
+    private boolean isEmailTaken(String email) {
+        if (!bloomIndex.mightContainEmail(email)) {
+            return false;
+        }
+        if (takenIdentifiers.isKnownTaken(TakenIdentifierCache.Field.EMAIL, email)) {
+            return true;
+        }
+        return confirmTaken(userRepository.existsByEmail(email));
+    }
+    
+    private boolean isUsernameTaken(String username) {
+        if (!bloomIndex.mightContainUsername(username)) {
+            return false;
+        }
+        if (takenIdentifiers.isKnownTaken(TakenIdentifierCache.Field.USERNAME, username)) {
+            return true;
+        }
+        return confirmTaken(userRepository.existsByUsername(username));
+    }
+    
+    private boolean confirmTaken(boolean taken) {
+        if (!taken && bloomIndex.isReady()) {
+            bloomIndex.recordFalsePositive();
+        }
+        return taken;
+    }
+    
+    static AuthResponseDto conflictResponse(TakenIdentifierCache.Field field) {
+        String message = field == TakenIdentifierCache.Field.USERNAME
+                ? "Username already taken"
+                : "Email already registered";
+        return new AuthResponseDto(null, message, false);
+    }
+    
+    private void completed(Timer.Sample sample, AuthRequestEvent requestEvent, Endpoint endpoint, Outcome outcome) {
+        requestEvent.commit(outcome.tag());
+        long durationNanos = authMetrics.record(sample, endpoint, outcome);
+        flightRecorder.requestCompleted(endpoint.tag(), durationNanos);
+    }
+    
+    private AuthResponseDto tokenResponse(User user, String message, Endpoint endpoint) {
+        // Generate the access and refresh tokens
+        String token;
+        String refreshToken;
+        AuthPhaseEvent sign = AuthPhaseEvent.begin(endpoint.tag(), AuthPhaseEvent.SIGN);
+        try {
+            token = generateToken(user);
+            refreshToken = jwtService.generateRefreshToken(user.getUsername());
+        } finally {
+            sign.commit();
         }
-        
-        // Generate JWT token
-        String token = jwtService.generateToken(user.getUsername());
         
         // Create user info DTO
         UserInfoDto userInfo = new UserInfoDto(
@@ -94,9 +328,18 @@ public class AuthService {
             user.getRole()
         );
         
-        AuthResponseDto response = new AuthResponseDto(token, "Login successful", true);
+        AuthResponseDto response = new AuthResponseDto(token, message, true);
+        response.setRefreshToken(refreshToken);
         response.setUser(userInfo);
         
         return response;
     }
-} 
\ No newline at end of file
+    
+    private String generateToken(User user) {
+        // The role travels in the token so requests can be authorized without a user lookup
+        if (user.getRole() == null) {
+            return jwtService.generateToken(user.getUsername());
+        }
+        return jwtService.generateToken(Map.of(JwtService.ROLE_CLAIM, user.getRole()), user.getUsername());
+    }
+}
\ No newline at end of file
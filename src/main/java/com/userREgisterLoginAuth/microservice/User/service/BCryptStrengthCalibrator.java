@@ -0,0 +1,57 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Picks the BCrypt strength for this machine: the largest one whose hash still fits in the
+ * latency budget. BCrypt runs 2<sup>strength</sup> rounds, so one strength step doubles the
+ * cost; the calibrator times the cheapest allowed strength a few times and extrapolates
+ * from the median instead of timing the expensive ones.
+ */
+public final class BCryptStrengthCalibrator {
+
+    private static final int SAMPLES = 3;
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    /** Times real BCrypt hashes on the calling thread. */
+    public static int calibrate(Duration budget, int minStrength, int maxStrength) {
+        return calibrate(budget, minStrength, maxStrength, BCryptStrengthCalibrator::timeHash);
+    }
+
+    /**
+     * @param hashNanos returns how long one hash at the given strength takes, in nanoseconds
+     */
+    static int calibrate(Duration budget, int minStrength, int maxStrength, IntToLongFunction hashNanos) {
+        if (minStrength < 4 || maxStrength > 31 || minStrength > maxStrength) {
+            throw new IllegalArgumentException("BCrypt strengths must satisfy 4 <= min <= max <= 31");
+        }
+        hashNanos.applyAsLong(minStrength); // warm-up, not counted
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            samples[i] = hashNanos.applyAsLong(minStrength);
+        }
+        Arrays.sort(samples);
+        long nanos = Math.max(1, samples[SAMPLES / 2]);
+
+        int strength = minStrength;
+        long budgetNanos = budget.toNanos();
+        while (strength < maxStrength && nanos * 2 <= budgetNanos) {
+            nanos *= 2;
+            strength++;
+        }
+        return strength;
+    }
+
+    private static long timeHash(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long start = System.nanoTime();
+        encoder.encode("calibration-password");
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,154 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import com.userREgisterLoginAuth.microservice.User.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of every registered email and username, used to answer "definitely
+ * available" without touching Mongo. It is built by streaming the {@code users} collection
+ * (at startup and then periodically, which also forgets deleted users) and is updated on
+ * each successful registration, and from the change stream for users written elsewhere.
+ * Until the first build completes, and while it is stale, every lookup reports "maybe
+ * taken", so callers fall back to the database.
+ */
+@Component
+public class IdentifierBloomIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(IdentifierBloomIndex.class);
+
+    private final UserRepository userRepository;
+    private final long expectedUsers;
+    private final double fpp;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter filter;
+    private volatile BloomFilter building;
+    private volatile boolean ready;
+    /** Bumped by {@link #markStale()}, so a rebuild that raced with it stays not ready. */
+    private long staleGeneration;
+
+    public IdentifierBloomIndex(
+            UserRepository userRepository,
+            @Value("${auth.availability.expected-users:1000000}") long expectedUsers,
+            @Value("${auth.availability.fpp:0.01}") double fpp,
+            MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.expectedUsers = expectedUsers;
+        this.fpp = fpp;
+        // Two entries (email and username) per user
+        this.filter = BloomFilter.create(expectedUsers * 2, fpp);
+
+        this.falsePositives = Counter.builder("auth.availability.bloom.false.positives")
+                .description("Lookups the Bloom filter reported as maybe taken that the database found free")
+                .register(meterRegistry);
+        Gauge.builder("auth.availability.bloom.fpp", this, index -> index.filter.expectedFpp())
+                .description("Expected false-positive probability at the filter's current fill level")
+                .register(meterRegistry);
+        Gauge.builder("auth.availability.bloom.memory", this, index -> index.filter.sizeInBytes())
+                .description("Size of the Bloom filter bit array")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rebuilds the filter from the {@code users} collection into a fresh bit array and
+     * swaps it in. Registrations that land during the scan go into both filters. If the
+     * index is marked stale while the scan runs, the new filter is still swapped in but the
+     * index stays not ready until the next rebuild.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${auth.availability.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        long generation;
+        synchronized (this) {
+            generation = staleGeneration;
+        }
+        try {
+            long users = userRepository.count();
+            BloomFilter next = BloomFilter.create(Math.max(expectedUsers, users * 2) * 2, fpp);
+            building = next;
+            try (Stream<User> stream = userRepository.streamIdentifiers()) {
+                stream.forEach(user -> addTo(next, user.getEmail(), user.getUsername()));
+            }
+            filter = next;
+            synchronized (this) {
+                if (staleGeneration == generation) {
+                    ready = true;
+                }
+            }
+            log.info("Rebuilt identifier Bloom filter from {} users ({} bytes, expected fpp {})",
+                    users, next.sizeInBytes(), next.expectedFpp());
+        } catch (RuntimeException e) {
+            log.warn("Could not rebuild identifier Bloom filter, keeping current one: {}", e.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    public void add(String email, String username) {
+        // building before filter: a rebuild swaps filter in before clearing building, so an
+        // addition that sees no build in progress also sees the filter it produced
+        BloomFilter next = building;
+        addTo(filter, email, username);
+        if (next != null) {
+            addTo(next, email, username);
+        }
+    }
+
+    /**
+     * {@code false} means no user has this email; {@code true} means the database must decide.
+     */
+    public boolean mightContainEmail(String email) {
+        return !ready || filter.mightContain(emailKey(email));
+    }
+
+    /**
+     * {@code false} means no user has this username; {@code true} means the database must decide.
+     */
+    public boolean mightContainUsername(String username) {
+        return !ready || filter.mightContain(usernameKey(username));
+    }
+
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    /**
+     * Makes every lookup report "maybe taken" until the next rebuild, for when additions
+     * from other instances may have been missed.
+     */
+    public synchronized void markStale() {
+        staleGeneration++;
+        ready = false;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private static void addTo(BloomFilter target, String email, String username) {
+        if (email != null) {
+            target.put(emailKey(email));
+        }
+        if (username != null) {
+            target.put(usernameKey(username));
+        }
+    }
+
+    private static String emailKey(String email) {
+        return "e:" + email;
+    }
+
+    private static String usernameKey(String username) {
+        return "u:" + username;
+    }
+}
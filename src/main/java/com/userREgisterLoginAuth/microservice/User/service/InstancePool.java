@@ -0,0 +1,55 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free pool of initialized objects that are not thread-safe, such as a {@code Mac},
+ * {@code Signature} or {@code MessageDigest}. A {@link ThreadLocal} would keep one per
+ * thread, which with virtual threads (one per request) means one per request that is never
+ * reused; the pool instead holds at most {@code maxIdle} instances, whatever the threads.
+ * <p>
+ * An instance that failed mid-operation should simply not be released.
+ */
+final class InstancePool<T> {
+
+    static final int DEFAULT_MAX_IDLE = 2 * Runtime.getRuntime().availableProcessors();
+
+    private final Supplier<T> factory;
+    private final int maxIdle;
+    private final ConcurrentLinkedQueue<T> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    InstancePool(Supplier<T> factory) {
+        this(factory, DEFAULT_MAX_IDLE);
+    }
+
+    InstancePool(Supplier<T> factory, int maxIdle) {
+        this.factory = factory;
+        this.maxIdle = maxIdle;
+    }
+
+    /** Takes an idle instance, or creates one when none is left. */
+    T acquire() {
+        T instance = idle.poll();
+        if (instance == null) {
+            return factory.get();
+        }
+        idleCount.decrementAndGet();
+        return instance;
+    }
+
+    /** Returns an instance for reuse; it is dropped when the pool already holds {@code maxIdle}. */
+    void release(T instance) {
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idle.offer(instance);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+
+    int idle() {
+        return idleCount.get();
+    }
+}
@@ -0,0 +1,479 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.userREgisterLoginAuth.microservice.User.service.TokenVerification.Failure;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Minimal compact JWS codec for the token hot path, signing with HS256, ES256 or EdDSA
+ * (Ed25519). Compared to going through jjwt it
+ * <ul>
+ *   <li>reuses initialized {@link Mac} and {@link Signature} instances, pooled per key,</li>
+ *   <li>signs with a header segment encoded once per key,</li>
+ *   <li>recognizes our own header segments without decoding them, and</li>
+ *   <li>streams the payload to pick out registered claims instead of building a claims map.</li>
+ * </ul>
+ * Output is a standard compact JWS that jjwt and any other library can verify; ES256 and
+ * EdDSA tokens can be verified with just the public keys from the JWKS.
+ */
+final class JwsCodec {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory JSON = MAPPER.getFactory();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Supported JWS algorithms. The ECDSA signature is produced directly in the fixed-size
+     * R||S form JWS requires (IEEE P1363) rather than converted from DER.
+     */
+    enum Algorithm {
+        HS256("HS256", "HmacSHA256", null, 32),
+        ES256("ES256", "SHA256withECDSAinP1363Format", "EC", 64),
+        EDDSA("EdDSA", "Ed25519", "Ed25519", 64);
+
+        final String jwsName;
+        final String jcaName;
+        final String keyAlgorithm;
+        final int signatureSegmentLength;
+
+        Algorithm(String jwsName, String jcaName, String keyAlgorithm, int signatureLength) {
+            this.jwsName = jwsName;
+            this.jcaName = jcaName;
+            this.keyAlgorithm = keyAlgorithm;
+            this.signatureSegmentLength = (signatureLength * 4 + 2) / 3;
+        }
+
+        boolean isAsymmetric() {
+            return keyAlgorithm != null;
+        }
+
+        static Algorithm of(String name) {
+            for (Algorithm algorithm : values()) {
+                if (algorithm.jwsName.equalsIgnoreCase(name.trim())) {
+                    return algorithm;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported JWS algorithm '" + name + "', expected one of "
+                    + Arrays.stream(values()).map(a -> a.jwsName).toList());
+        }
+    }
+
+    private JwsCodec() {
+    }
+
+    static String sign(SigningKey key, String tokenId, String subject, Map<String, Object> extraClaims,
+                       long issuedAtMillis, long expiresAtMillis) {
+        byte[] payload = ENCODER.encode(writePayload(tokenId, subject, extraClaims, issuedAtMillis, expiresAtMillis));
+        byte[] header = key.headerSegment;
+
+        byte[] token = new byte[header.length + 1 + payload.length + 1 + key.algorithm.signatureSegmentLength];
+        System.arraycopy(header, 0, token, 0, header.length);
+        token[header.length] = '.';
+        System.arraycopy(payload, 0, token, header.length + 1, payload.length);
+        int signingInputLength = header.length + 1 + payload.length;
+        token[signingInputLength] = '.';
+
+        byte[] signature = ENCODER.encode(key.sign(token, signingInputLength));
+        System.arraycopy(signature, 0, token, signingInputLength + 1, signature.length);
+        return new String(token, StandardCharsets.ISO_8859_1);
+    }
+
+    static TokenVerification verify(JwtKeyRing ring, String token, long nowMillis) {
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot <= 0 || lastDot != token.indexOf('.', firstDot + 1)) {
+            return TokenVerification.failed(Failure.MALFORMED);
+        }
+        byte[] ascii = token.getBytes(StandardCharsets.ISO_8859_1);
+
+        SigningKey key = ring.findByHeaderSegment(ascii, firstDot);
+        if (key == null) {
+            Header header = readHeader(ascii, firstDot);
+            if (header == null) {
+                return TokenVerification.failed(Failure.MALFORMED);
+            }
+            key = ring.findSigningKey(header.keyId);
+            if (key == null) {
+                return isSupported(header.algorithm)
+                        ? TokenVerification.failed(Failure.UNKNOWN_KEY)
+                        : TokenVerification.failed(Failure.UNSUPPORTED_ALGORITHM);
+            }
+            // The key decides the algorithm, never the header: no alg confusion
+            if (!key.algorithm.jwsName.equals(header.algorithm)) {
+                return TokenVerification.failed(Failure.UNSUPPORTED_ALGORITHM);
+            }
+        }
+
+        if (ascii.length - lastDot - 1 != key.algorithm.signatureSegmentLength) {
+            return TokenVerification.failed(Failure.MALFORMED);
+        }
+        if (!key.verify(ascii, lastDot)) {
+            return TokenVerification.failed(Failure.INVALID_SIGNATURE);
+        }
+        return readPayload(key.kid, ascii, firstDot + 1, lastDot - firstDot - 1, nowMillis);
+    }
+
+    private static boolean isSupported(String algorithm) {
+        for (Algorithm supported : Algorithm.values()) {
+            if (supported.jwsName.equals(algorithm)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] writePayload(String tokenId, String subject, Map<String, Object> extraClaims,
+                                       long issuedAtMillis, long expiresAtMillis) {
+        ByteArrayBuilder buffer = new ByteArrayBuilder(256);
+        try (JsonGenerator generator = JSON.createGenerator(buffer)) {
+            generator.writeStartObject();
+            for (Map.Entry<String, Object> claim : extraClaims.entrySet()) {
+                String name = claim.getKey();
+                if (!"jti".equals(name) && !"sub".equals(name) && !"iat".equals(name) && !"exp".equals(name)) {
+                    generator.writeFieldName(name);
+                    generator.writeObject(claim.getValue());
+                }
+            }
+            generator.writeStringField("jti", tokenId);
+            generator.writeStringField("sub", subject);
+            generator.writeNumberField("iat", issuedAtMillis / 1000);
+            generator.writeNumberField("exp", expiresAtMillis / 1000);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static TokenVerification readPayload(String kid, byte[] ascii, int offset, int length, long nowMillis) {
+        ByteBuffer json;
+        try {
+            json = DECODER.decode(ByteBuffer.wrap(ascii, offset, length));
+        } catch (IllegalArgumentException e) {
+            return TokenVerification.failed(Failure.MALFORMED);
+        }
+        String subject = null;
+        String tokenId = null;
+        String tokenUse = null;
+        String role = null;
+        long issuedAt = 0;
+        long expiresAt = -1;
+        long notBefore = -1;
+        try (JsonParser parser = JSON.createParser(json.array(), json.arrayOffset() + json.position(), json.remaining())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return TokenVerification.failed(Failure.MALFORMED);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (name) {
+                    case "sub" -> subject = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    case "jti" -> tokenId = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    case "token_use" -> tokenUse = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    case JwtService.ROLE_CLAIM -> {
+                        if (value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+                            role = parser.getText();
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    case "iat" -> issuedAt = value.isNumeric() ? parser.getLongValue() * 1000 : 0;
+                    case "exp" -> expiresAt = value.isNumeric() ? parser.getLongValue() * 1000 : -1;
+                    case "nbf" -> notBefore = value.isNumeric() ? parser.getLongValue() * 1000 : -1;
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            return TokenVerification.failed(Failure.MALFORMED);
+        }
+        String claimsJson = new String(json.array(), json.arrayOffset() + json.position(), json.remaining(),
+                StandardCharsets.UTF_8);
+
+        Failure failure = null;
+        if (expiresAt < 0) {
+            failure = Failure.MISSING_EXPIRATION;
+        } else if (expiresAt <= nowMillis) {
+            failure = Failure.EXPIRED;
+        } else if (notBefore > nowMillis) {
+            failure = Failure.NOT_YET_VALID;
+        }
+        return new TokenVerification(subject, issuedAt, expiresAt, kid, tokenId, tokenUse, role, claimsJson, failure);
+    }
+
+    private static Header readHeader(byte[] ascii, int length) {
+        try {
+            ByteBuffer json = DECODER.decode(ByteBuffer.wrap(ascii, 0, length));
+            String algorithm = null;
+            String keyId = null;
+            try (JsonParser parser = JSON.createParser(json.array(), json.arrayOffset() + json.position(), json.remaining())) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    return null;
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if ("alg".equals(name) && value == JsonToken.VALUE_STRING) {
+                        algorithm = parser.getText();
+                    } else if ("kid".equals(name) && value == JsonToken.VALUE_STRING) {
+                        keyId = parser.getText();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+            return new Header(algorithm, keyId);
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private record Header(String algorithm, String keyId) {
+    }
+
+    /**
+     * A key of the ring plus everything derived from it that would otherwise be recomputed
+     * per token.
+     */
+    abstract static sealed class SigningKey permits HmacKey, AsymmetricKey {
+
+        final String kid;
+        final Algorithm algorithm;
+        final byte[] headerSegment;
+
+        SigningKey(String kid, Algorithm algorithm) {
+            this.kid = kid;
+            this.algorithm = algorithm;
+            this.headerSegment = ENCODER.encode(writeHeader(algorithm, kid));
+        }
+
+        /** The key jjwt verifies with. */
+        abstract Key verificationKey();
+
+        /** {@code false} for keys that are only kept to verify and publish. */
+        abstract boolean canSign();
+
+        abstract byte[] sign(byte[] input, int length);
+
+        /**
+         * Checks the signature segment after {@code signingInputLength}, whose length the
+         * caller has already validated.
+         */
+        abstract boolean verify(byte[] token, int signingInputLength);
+
+        /** Writes the public JWK, or nothing for symmetric keys, which are never published. */
+        abstract void writeJwk(JsonGenerator generator) throws IOException;
+
+        private static byte[] writeHeader(Algorithm algorithm, String kid) {
+            ByteArrayBuilder buffer = new ByteArrayBuilder(64);
+            try (JsonGenerator generator = JSON.createGenerator(buffer)) {
+                generator.writeStartObject();
+                generator.writeStringField("alg", algorithm.jwsName);
+                generator.writeStringField("kid", kid);
+                generator.writeEndObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return buffer.toByteArray();
+        }
+    }
+
+    static final class HmacKey extends SigningKey {
+
+        final SecretKey secretKey;
+        private final InstancePool<Mac> macs;
+
+        HmacKey(String kid, SecretKey secretKey) {
+            super(kid, Algorithm.HS256);
+            this.secretKey = secretKey;
+            this.macs = new InstancePool<>(() -> {
+                try {
+                    Mac instance = Mac.getInstance(Algorithm.HS256.jcaName);
+                    instance.init(secretKey);
+                    return instance;
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("HmacSHA256 not available", e);
+                }
+            });
+        }
+
+        @Override
+        Key verificationKey() {
+            return secretKey;
+        }
+
+        @Override
+        boolean canSign() {
+            return true;
+        }
+
+        @Override
+        byte[] sign(byte[] input, int length) {
+            Mac instance = macs.acquire();
+            instance.update(input, 0, length);
+            byte[] signature = instance.doFinal();
+            macs.release(instance);
+            return signature;
+        }
+
+        @Override
+        boolean verify(byte[] token, int signingInputLength) {
+            byte[] expected = ENCODER.encode(sign(token, signingInputLength));
+            int diff = 0;
+            for (int i = 0; i < expected.length; i++) {
+                diff |= expected[i] ^ token[signingInputLength + 1 + i];
+            }
+            return diff == 0;
+        }
+
+        @Override
+        void writeJwk(JsonGenerator generator) {
+        }
+    }
+
+    /**
+     * ES256 or EdDSA key pair. Without a private key it only verifies, which is how retired
+     * keys stay in the ring (and in the JWKS) until their last tokens expire.
+     */
+    static final class AsymmetricKey extends SigningKey {
+
+        private static final BigInteger P256_ORDER =
+                new BigInteger("FFFFFFFF00000000FFFFFFFFFFFFFFFFBCE6FAADA7179E84F3B9CAC2FC632551", 16);
+
+        final PrivateKey privateKey;
+        final PublicKey publicKey;
+        private final InstancePool<Signature> signers;
+        private final InstancePool<Signature> verifiers;
+
+        AsymmetricKey(String kid, Algorithm algorithm, PrivateKey privateKey, PublicKey publicKey) {
+            super(kid, algorithm);
+            boolean usable = switch (algorithm) {
+                case ES256 -> publicKey instanceof ECPublicKey ec && P256_ORDER.equals(ec.getParams().getOrder());
+                case EDDSA -> publicKey instanceof EdECPublicKey ed && "Ed25519".equals(ed.getParams().getName());
+                case HS256 -> false;
+            };
+            if (!usable) {
+                throw new IllegalArgumentException("Key '" + kid + "' is not a " + algorithm.keyAlgorithm
+                        + " key as " + algorithm.jwsName + " requires");
+            }
+            this.privateKey = privateKey;
+            this.publicKey = publicKey;
+            this.signers = privateKey == null ? null : new InstancePool<>(() -> {
+                try {
+                    Signature instance = Signature.getInstance(algorithm.jcaName);
+                    instance.initSign(privateKey);
+                    return instance;
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException(algorithm.jcaName + " not available", e);
+                }
+            });
+            this.verifiers = new InstancePool<>(() -> {
+                try {
+                    Signature instance = Signature.getInstance(algorithm.jcaName);
+                    instance.initVerify(publicKey);
+                    return instance;
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException(algorithm.jcaName + " not available", e);
+                }
+            });
+        }
+
+        @Override
+        Key verificationKey() {
+            return publicKey;
+        }
+
+        @Override
+        boolean canSign() {
+            return privateKey != null;
+        }
+
+        @Override
+        byte[] sign(byte[] input, int length) {
+            if (signers == null) {
+                throw new IllegalStateException("Key '" + kid + "' has no private key");
+            }
+            try {
+                Signature instance = signers.acquire();
+                instance.update(input, 0, length);
+                byte[] signature = instance.sign();
+                signers.release(instance);
+                return signature;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Could not sign with key '" + kid + "'", e);
+            }
+        }
+
+        @Override
+        boolean verify(byte[] token, int signingInputLength) {
+            byte[] signature;
+            try {
+                signature = DECODER.decode(Arrays.copyOfRange(token, signingInputLength + 1, token.length));
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+            try {
+                Signature instance = verifiers.acquire();
+                instance.update(token, 0, signingInputLength);
+                boolean valid = instance.verify(signature);
+                verifiers.release(instance);
+                return valid;
+            } catch (GeneralSecurityException e) {
+                return false;
+            }
+        }
+
+        @Override
+        void writeJwk(JsonGenerator generator) throws IOException {
+            generator.writeStartObject();
+            if (algorithm == Algorithm.ES256) {
+                ECPublicKey ec = (ECPublicKey) publicKey;
+                generator.writeStringField("kty", "EC");
+                generator.writeStringField("crv", "P-256");
+                generator.writeStringField("x", ENCODER.encodeToString(unsigned32(ec.getW().getAffineX())));
+                generator.writeStringField("y", ENCODER.encodeToString(unsigned32(ec.getW().getAffineY())));
+            } else {
+                // The X.509 encoding of an Ed25519 key ends with the 32-byte public key itself
+                byte[] encoded = publicKey.getEncoded();
+                generator.writeStringField("kty", "OKP");
+                generator.writeStringField("crv", "Ed25519");
+                generator.writeStringField("x", ENCODER.encodeToString(
+                        Arrays.copyOfRange(encoded, encoded.length - 32, encoded.length)));
+            }
+            generator.writeStringField("kid", kid);
+            generator.writeStringField("alg", algorithm.jwsName);
+            generator.writeStringField("use", "sig");
+            generator.writeEndObject();
+        }
+
+        private static byte[] unsigned32(BigInteger value) {
+            byte[] bytes = value.toByteArray();
+            byte[] fixed = new byte[32];
+            int length = Math.min(bytes.length, 32);
+            System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+            return fixed;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.userREgisterLoginAuth.microservice.User.service.JwsCodec.Algorithm;
+import com.userREgisterLoginAuth.microservice.User.service.JwsCodec.AsymmetricKey;
+import com.userREgisterLoginAuth.microservice.User.service.JwsCodec.HmacKey;
+import com.userREgisterLoginAuth.microservice.User.service.JwsCodec.SigningKey;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Set of signing keys identified by {@code kid}. The active key signs new tokens, every key
+ * still in the ring verifies them. Keys are derived once per rotation and the parser is
+ * built once, so signing and verification never re-derive key material.
+ * <p>
+ * Keys are HS256 secrets or ES256/EdDSA key pairs. The public half of the asymmetric ones
+ * is published as a JWKS, so other services can verify our tokens without sharing a secret.
+ */
+public class JwtKeyRing {
+
+    /** Key id assumed for tokens issued without a {@code kid} header. */
+    public static final String DEFAULT_KID = "default";
+
+    private volatile Snapshot snapshot;
+
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKeyResolver(new KidSigningKeyResolver())
+            .build();
+
+    public JwtKeyRing(String activeKid, Map<String, String> secrets) {
+        this(activeKid, hmacKeys(secrets));
+    }
+
+    JwtKeyRing(String activeKid, List<SigningKey> keys) {
+        this.snapshot = Snapshot.of(activeKid, keys);
+    }
+
+    public static JwtKeyRing ofSecret(String secret) {
+        return new JwtKeyRing(DEFAULT_KID, Map.of(DEFAULT_KID, secret));
+    }
+
+    /**
+     * A ring with a single key pair generated in memory, for running with an asymmetric
+     * algorithm without provisioning keys. Tokens it signs stop verifying on restart.
+     */
+    static JwtKeyRing generated(Algorithm algorithm) {
+        String kid = UUID.randomUUID().toString();
+        return new JwtKeyRing(kid, List.of(generateKey(kid, algorithm)));
+    }
+
+    /**
+     * Atomically replaces the ring. Keys missing from {@code secrets} are retired and
+     * tokens signed with them stop verifying.
+     */
+    public void rotate(String activeKid, Map<String, String> secrets) {
+        rotate(activeKid, hmacKeys(secrets));
+    }
+
+    void rotate(String activeKid, List<SigningKey> keys) {
+        this.snapshot = Snapshot.of(activeKid, keys);
+    }
+
+    public String getActiveKid() {
+        return snapshot.activeKey.kid;
+    }
+
+    public String getActiveAlgorithm() {
+        return snapshot.activeKey.algorithm.jwsName;
+    }
+
+    public Set<String> getKids() {
+        return snapshot.keys.keySet();
+    }
+
+    /**
+     * jjwt parser over the same keys, for callers that want a {@link Claims} view. jjwt
+     * 0.11 has no EdDSA support, so EdDSA tokens only verify through {@link JwtService#verify}.
+     */
+    public JwtParser getParser() {
+        return parser;
+    }
+
+    /**
+     * The public keys of the ring as a JWK Set, with a strong ETag derived from its bytes.
+     * Built once per rotation. HMAC keys are secret and never listed.
+     */
+    public Jwks getJwks() {
+        return snapshot.jwks();
+    }
+
+    /**
+     * Parses one key of a key ring file. Asymmetric keys are base64 DER: the private key as
+     * PKCS#8 and the public key as X.509. A key with only its public half verifies and is
+     * published but cannot be the active key.
+     *
+     * @param algorithm {@code HS256} (the default when {@code null}), {@code ES256} or {@code EdDSA}
+     * @param secret    the HMAC secret, or the private key; may be {@code null} for a public-only key
+     */
+    static SigningKey parseKey(String kid, String algorithm, String secret, String publicKey) {
+        Algorithm alg = algorithm == null || algorithm.isBlank() ? Algorithm.HS256 : Algorithm.of(algorithm);
+        if (!alg.isAsymmetric()) {
+            if (secret == null) {
+                throw new IllegalArgumentException("Key '" + kid + "' has no secret");
+            }
+            return new HmacKey(kid, Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)));
+        }
+        if (publicKey == null) {
+            throw new IllegalArgumentException("Key '" + kid + "' has no public key");
+        }
+        try {
+            KeyFactory factory = KeyFactory.getInstance(alg.keyAlgorithm);
+            PrivateKey privateKey = secret == null ? null
+                    : factory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getMimeDecoder().decode(secret)));
+            return new AsymmetricKey(kid, alg, privateKey,
+                    factory.generatePublic(new X509EncodedKeySpec(Base64.getMimeDecoder().decode(publicKey))));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Key '" + kid + "' is not a valid " + alg.jwsName + " key", e);
+        }
+    }
+
+    SigningKey getActiveSigningKey() {
+        return snapshot.activeKey;
+    }
+
+    SigningKey findSigningKey(String kid) {
+        return snapshot.keys.get(kid == null ? DEFAULT_KID : kid);
+    }
+
+    /**
+     * Matches the first {@code length} bytes of a token against the header segments this
+     * ring emits, so tokens we issued skip header decoding entirely.
+     */
+    SigningKey findByHeaderSegment(byte[] token, int length) {
+        for (SigningKey key : snapshot.keys.values()) {
+            byte[] header = key.headerSegment;
+            if (header.length == length && Arrays.equals(header, 0, length, token, 0, length)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private final class KidSigningKeyResolver extends SigningKeyResolverAdapter {
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            SigningKey key = findSigningKey(header.getKeyId());
+            if (key == null) {
+                throw new SignatureException("Unknown signing key: " + header.getKeyId());
+            }
+            return key.verificationKey();
+        }
+    }
+
+    private static List<SigningKey> hmacKeys(Map<String, String> secrets) {
+        return secrets.entrySet().stream()
+                .map(entry -> parseKey(entry.getKey(), null, entry.getValue(), null))
+                .toList();
+    }
+
+    private static SigningKey generateKey(String kid, Algorithm algorithm) {
+        if (!algorithm.isAsymmetric()) {
+            throw new IllegalArgumentException("Only key pairs are generated, not " + algorithm.jwsName + " secrets");
+        }
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm.keyAlgorithm);
+            if (algorithm == Algorithm.ES256) {
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+            }
+            KeyPair pair = generator.generateKeyPair();
+            return new AsymmetricKey(kid, algorithm, pair.getPrivate(), pair.getPublic());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not generate an " + algorithm.jwsName + " key pair", e);
+        }
+    }
+
+    /**
+     * Serialized JWK Set and its ETag, a quoted base64url SHA-256 of {@code json}.
+     */
+    public record Jwks(byte[] json, String etag) {
+    }
+
+    private static final class Snapshot {
+        private static final JsonFactory JSON = new JsonFactory();
+
+        private final SigningKey activeKey;
+        private final Map<String, SigningKey> keys;
+        private volatile Jwks jwks;
+
+        private Snapshot(SigningKey activeKey, Map<String, SigningKey> keys) {
+            this.activeKey = activeKey;
+            this.keys = keys;
+        }
+
+        static Snapshot of(String activeKid, List<SigningKey> signingKeys) {
+            Map<String, SigningKey> keys = new LinkedHashMap<>();
+            for (SigningKey key : signingKeys) {
+                if (keys.putIfAbsent(key.kid, key) != null) {
+                    throw new IllegalArgumentException("Key '" + key.kid + "' is in the key ring twice");
+                }
+            }
+            SigningKey activeKey = keys.get(activeKid);
+            if (activeKey == null) {
+                throw new IllegalArgumentException("Active key '" + activeKid + "' is not in the key ring");
+            }
+            if (!activeKey.canSign()) {
+                throw new IllegalArgumentException("Active key '" + activeKid + "' has no private key");
+            }
+            return new Snapshot(activeKey, Collections.unmodifiableMap(keys));
+        }
+
+        Jwks jwks() {
+            Jwks built = jwks;
+            if (built == null) {
+                // Racing threads build identical bytes, so there is nothing to lock
+                built = buildJwks();
+                jwks = built;
+            }
+            return built;
+        }
+
+        private Jwks buildJwks() {
+            ByteArrayBuilder buffer = new ByteArrayBuilder(512);
+            try (JsonGenerator generator = JSON.createGenerator(buffer)) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("keys");
+                for (SigningKey key : keys.values()) {
+                    key.writeJwk(generator);
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            byte[] json = buffer.toByteArray();
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+                return new Jwks(json, '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + '"');
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
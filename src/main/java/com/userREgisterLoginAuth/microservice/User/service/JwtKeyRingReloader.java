@@ -0,0 +1,92 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.userREgisterLoginAuth.microservice.User.service.JwsCodec.SigningKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Polls the file configured in {@code jwt.keys-file} and rotates the {@link JwtService}
+ * key ring whenever it changes. The file uses properties syntax:
+ * <pre>
+ * active=2026-10
+ * alg.2026-10=ES256
+ * key.2026-10=&lt;PKCS#8 private key, base64 DER&gt;
+ * public.2026-10=&lt;X.509 public key, base64 DER&gt;
+ * key.2026-09=&lt;HS256 secret&gt;
+ * </pre>
+ * {@code alg.<kid>} defaults to {@code HS256}, whose {@code key.<kid>} is the secret itself.
+ * An ES256 or EdDSA key listed with only {@code public.<kid>} verifies and is published in
+ * the JWKS but signs nothing, which is how a key is announced before it becomes active.
+ * A malformed file is logged and ignored so the current keys stay in service.
+ */
+@Component
+public class JwtKeyRingReloader {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRingReloader.class);
+    private static final String ACTIVE_PROPERTY = "active";
+    private static final String ALGORITHM_PREFIX = "alg.";
+    private static final String KEY_PREFIX = "key.";
+    private static final String PUBLIC_KEY_PREFIX = "public.";
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Value("${jwt.keys-file:}")
+    private String keysFile;
+
+    private volatile FileTime lastModified;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${jwt.keys-reload-interval-ms:30000}")
+    public void reload() {
+        if (keysFile == null || keysFile.isBlank()) {
+            return;
+        }
+        Path path = Paths.get(keysFile);
+        try {
+            FileTime modified = Files.getLastModifiedTime(path);
+            if (modified.equals(lastModified)) {
+                return;
+            }
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            Set<String> kids = new TreeSet<>();
+            for (String name : properties.stringPropertyNames()) {
+                if (name.startsWith(KEY_PREFIX)) {
+                    kids.add(name.substring(KEY_PREFIX.length()));
+                } else if (name.startsWith(PUBLIC_KEY_PREFIX)) {
+                    kids.add(name.substring(PUBLIC_KEY_PREFIX.length()));
+                }
+            }
+            List<SigningKey> keys = new ArrayList<>(kids.size());
+            for (String kid : kids) {
+                keys.add(JwtKeyRing.parseKey(kid, properties.getProperty(ALGORITHM_PREFIX + kid),
+                        properties.getProperty(KEY_PREFIX + kid), properties.getProperty(PUBLIC_KEY_PREFIX + kid)));
+            }
+            String activeKid = properties.getProperty(ACTIVE_PROPERTY);
+            jwtService.rotateKeys(activeKid, keys);
+            lastModified = modified;
+            log.info("Loaded JWT key ring from {} (active={}, keys={})", path, activeKid, kids);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not reload JWT keys from {}, keeping current keys: {}", path, e.getMessage());
+        }
+    }
+}
@@ -1,28 +1,54 @@
 package com.userREgisterLoginAuth.microservice.User.service;
 
+import com.userREgisterLoginAuth.microservice.User.service.JwsCodec.Algorithm;
+import com.userREgisterLoginAuth.microservice.User.service.JwsCodec.SigningKey;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
-import java.util.Date;
-import java.util.HashMap;
+import java.util.Base64;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
     
-    @Value("${jwt.secret}")
+    private static final Logger log = LoggerFactory.getLogger(JwtService.class);
+    
+    public static final String ROLE_CLAIM = "role";
+    public static final String TOKEN_USE_CLAIM = "token_use";
+    
+    private static final Map<String, Object> REFRESH_CLAIMS = Map.of(TOKEN_USE_CLAIM, TokenVerification.REFRESH);
+    private static final Base64.Encoder TOKEN_ID_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    
+    @Value("${jwt.secret:}")
     private String secretKey;
     
+    @Value("${jwt.algorithm:HS256}")
+    private String algorithm;
+    
     @Value("${jwt.expiration}")
     private long jwtExpiration;
     
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private long refreshExpiration;
+    
+    @Autowired
+    private VerifiedTokenCache tokenCache;
+    
+    @Autowired
+    private AuthMetrics authMetrics;
+    
+    @Autowired
+    private RevokedTokenStore revokedTokens;
+    
+    private volatile JwtKeyRing keyRing;
+    
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -33,44 +59,162 @@ public class JwtService {
     }
     
     public String generateToken(String username) {
-        return generateToken(new HashMap<>(), username);
+        return generateToken(Map.of(), username);
     }
     
     public String generateToken(Map<String, Object> extraClaims, String username) {
-        return Jwts.builder()
-                .setClaims(extraClaims)
-                .setSubject(username)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
-                .compact();
+        return sign(extraClaims, username, jwtExpiration);
+    }
+    
+    /**
+     * Issues a long-lived token that is only accepted by {@link #verifyRefreshToken}, to get
+     * new access tokens without sending the password again. It carries no role: the user
+     * is looked up again on every refresh.
+     */
+    public String generateRefreshToken(String username) {
+        return sign(REFRESH_CLAIMS, username, refreshExpiration);
+    }
+    
+    /**
+     * Verifies an access token: signature and time claims, parsing it exactly once, and
+     * that it is neither a refresh token nor revoked. Never throws: problems are reported
+     * through {@link TokenVerification#failure()}.
+     */
+    public TokenVerification verify(String token) {
+        return checkUse(verifySignature(token), false);
+    }
+    
+    /**
+     * Like {@link #verify}, but only accepts refresh tokens.
+     */
+    public TokenVerification verifyRefreshToken(String token) {
+        return checkUse(verifySignature(token), true);
+    }
+    
+    /**
+     * Revokes a valid access or refresh token until it expires. Tokens that do not verify,
+     * or were issued without a {@code jti}, are ignored.
+     *
+     * @return {@code true} if this call revoked the token
+     */
+    public boolean revoke(String token) {
+        TokenVerification verification = verifySignature(token);
+        return verification.isValid() && revoke(verification);
+    }
+    
+    /**
+     * @return {@code false} if the token had already been revoked
+     */
+    public boolean revoke(TokenVerification verification) {
+        return revokedTokens.revoke(verification.tokenId(), verification.expiresAtMillis());
     }
     
     public boolean isTokenValid(String token, String username) {
-        try {
-            final String tokenUsername = extractUsername(token);
-            return (username.equals(tokenUsername)) && !isTokenExpired(token);
-        } catch (ExpiredJwtException e) {
-            return false;
-        } catch (Exception e) {
-            return false;
+        TokenVerification verification = verify(token);
+        return verification.isValid() && username.equals(verification.subject());
+    }
+    
+    /**
+     * Swaps the signing keys without a restart. The active key signs from now on while the
+     * other keys keep verifying tokens already issued with them until they are dropped.
+     */
+    public void rotateKeys(String activeKid, Map<String, String> secrets) {
+        getKeyRing().rotate(activeKid, secrets);
+        // Tokens verified with a retired key must not be served from the cache
+        tokenCache.invalidateAll();
+    }
+    
+    void rotateKeys(String activeKid, List<SigningKey> keys) {
+        getKeyRing().rotate(activeKid, keys);
+        tokenCache.invalidateAll();
+    }
+    
+    public JwtKeyRing getKeyRing() {
+        JwtKeyRing ring = keyRing;
+        if (ring == null) {
+            synchronized (this) {
+                ring = keyRing;
+                if (ring == null) {
+                    ring = initialKeyRing();
+                    keyRing = ring;
+                }
+            }
+        }
+        return ring;
+    }
+    
+    /**
+     * HS256 signs with {@code jwt.secret}. For ES256 and EdDSA a key pair is generated until
+     * {@code jwt.keys-file} provides one, which is enough for a single instance but not for
+     * several sharing tokens.
+     */
+    private JwtKeyRing initialKeyRing() {
+        Algorithm alg = algorithm == null ? Algorithm.HS256 : Algorithm.of(algorithm);
+        if (!alg.isAsymmetric()) {
+            if (secretKey == null || secretKey.isBlank()) {
+                throw new IllegalStateException("jwt.secret is required with jwt.algorithm=HS256");
+            }
+            return JwtKeyRing.ofSecret(secretKey);
+        }
+        JwtKeyRing ring = JwtKeyRing.generated(alg);
+        log.warn("Signing {} tokens with a key pair generated at startup (kid={}); configure jwt.keys-file "
+                + "so tokens survive restarts and verify on every instance", alg.jwsName, ring.getActiveKid());
+        return ring;
+    }
+    
+    private String sign(Map<String, Object> extraClaims, String username, long validity) {
+        long now = System.currentTimeMillis();
+        long start = System.nanoTime();
+        String token = JwsCodec.sign(getKeyRing().getActiveSigningKey(), newTokenId(), username, extraClaims,
+                now, now + validity);
+        authMetrics.recordJwtSign(System.nanoTime() - start);
+        return token;
+    }
+    
+    private TokenVerification verifySignature(String token) {
+        if (token == null || token.isEmpty()) {
+            return TokenVerification.failed(TokenVerification.Failure.MALFORMED);
+        }
+        TokenVerification verification = tokenCache.get(token);
+        if (verification == null) {
+            long start = System.nanoTime();
+            verification = JwsCodec.verify(getKeyRing(), token, System.currentTimeMillis());
+            authMetrics.recordJwtVerify(System.nanoTime() - start, verification);
+            tokenCache.put(token, verification);
+        }
+        return verification;
+    }
+    
+    /**
+     * Checked on every call rather than cached, since a token can be revoked at any time.
+     */
+    private TokenVerification checkUse(TokenVerification verification, boolean refresh) {
+        if (!verification.isValid()) {
+            return verification;
+        }
+        if (verification.isRefreshToken() != refresh) {
+            return TokenVerification.failed(TokenVerification.Failure.WRONG_TOKEN_USE);
+        }
+        if (revokedTokens.isRevoked(verification.tokenId())) {
+            return TokenVerification.failed(TokenVerification.Failure.REVOKED);
         }
+        return verification;
     }
     
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+    /**
+     * 128 random bits. The id only has to be unique, not unguessable, since the token
+     * carrying it is signed; ThreadLocalRandom avoids SecureRandom's contention.
+     */
+    private static String newTokenId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        byte[] id = new byte[16];
+        random.nextBytes(id);
+        return TOKEN_ID_ENCODER.encodeToString(id);
     }
     
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return getKeyRing().getParser()
                 .parseClaimsJws(token)
                 .getBody();
     }
-    
-    private Key getSignInKey() {
-        byte[] keyBytes = secretKey.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
 } 
\ No newline at end of file
@@ -0,0 +1,162 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.userREgisterLoginAuth.microservice.User.exception.TooManyAttemptsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket limits on login attempts per account (email) and per client IP, checked
+ * before the user lookup so a credential-stuffing burst is turned away without a Mongo
+ * round-trip or a BCrypt comparison. Each bucket holds {@code capacity} attempts and
+ * regains one every {@code refill-period}.
+ * <p>
+ * A bucket is a single {@link AtomicLong} updated by compare-and-set (the GCRA form of a
+ * token bucket), and buckets live in Caffeine caches bounded by {@code max-tracked-keys}.
+ * An idle bucket is dropped once it would be full again, so forgetting it changes nothing.
+ */
+@Component
+public class LoginThrottle {
+
+    private final boolean enabled;
+    private final Limit accountLimit;
+    private final Limit ipLimit;
+    private final Cache<String, TokenBucket> accounts;
+    private final Cache<String, TokenBucket> clients;
+    private final LongSupplier nanoClock;
+    private final Counter accountRejections;
+    private final Counter ipRejections;
+
+    @Autowired
+    public LoginThrottle(
+            @Value("${auth.login-throttle.enabled:true}") boolean enabled,
+            @Value("${auth.login-throttle.account.capacity:10}") int accountCapacity,
+            @Value("${auth.login-throttle.account.refill-period:6s}") Duration accountRefillPeriod,
+            @Value("${auth.login-throttle.ip.capacity:100}") int ipCapacity,
+            @Value("${auth.login-throttle.ip.refill-period:600ms}") Duration ipRefillPeriod,
+            @Value("${auth.login-throttle.max-tracked-keys:100000}") long maxTrackedKeys,
+            MeterRegistry meterRegistry) {
+        this(enabled, new Limit(accountCapacity, accountRefillPeriod), new Limit(ipCapacity, ipRefillPeriod),
+                maxTrackedKeys, meterRegistry, System::nanoTime);
+    }
+
+    LoginThrottle(boolean enabled, Limit accountLimit, Limit ipLimit, long maxTrackedKeys,
+                  MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.accountLimit = accountLimit;
+        this.ipLimit = ipLimit;
+        this.nanoClock = nanoClock;
+        this.accounts = buckets(accountLimit, maxTrackedKeys);
+        this.clients = buckets(ipLimit, maxTrackedKeys);
+        this.accountRejections = rejections(meterRegistry, "account");
+        this.ipRejections = rejections(meterRegistry, "ip");
+        Gauge.builder("auth.login.throttle.tracked", accounts, Cache::estimatedSize)
+                .description("Login throttle buckets currently tracked")
+                .tag("scope", "account")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.tracked", clients, Cache::estimatedSize)
+                .description("Login throttle buckets currently tracked")
+                .tag("scope", "ip")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes one attempt from the client's bucket and then from the account's bucket.
+     *
+     * @param clientIp may be {@code null} when the address is unknown; only the account is limited then
+     * @throws TooManyAttemptsException if either bucket is empty
+     */
+    public void acquire(String email, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        if (clientIp != null) {
+            take(clients, clientIp, ipLimit, now, ipRejections);
+        }
+        if (email != null) {
+            take(accounts, email.trim().toLowerCase(Locale.ROOT), accountLimit, now, accountRejections);
+        }
+    }
+
+    private void take(Cache<String, TokenBucket> buckets, String key, Limit limit, long now, Counter rejections) {
+        long waitNanos = buckets.get(key, k -> new TokenBucket(now)).tryAcquire(now, limit);
+        if (waitNanos > 0) {
+            rejections.increment();
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            throw new TooManyAttemptsException("Too many login attempts, try again later", retryAfter);
+        }
+    }
+
+    private static Cache<String, TokenBucket> buckets(Limit limit, long maxTrackedKeys) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(Duration.ofNanos(limit.burstNanos()))
+                .build();
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected by the throttle")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    record Limit(int capacity, Duration refillPeriod) {
+
+        Limit {
+            if (capacity < 1 || refillPeriod.isNegative() || refillPeriod.isZero()) {
+                throw new IllegalArgumentException("Throttle limits must be positive");
+            }
+        }
+
+        long intervalNanos() {
+            return refillPeriod.toNanos();
+        }
+
+        /** Time for an empty bucket to fill up again. */
+        long burstNanos() {
+            return capacity * intervalNanos();
+        }
+    }
+
+    /**
+     * Keeps the theoretical arrival time of the next attempt: every granted attempt pushes
+     * it one interval further, and an attempt is refused while it lies more than
+     * {@code capacity} intervals ahead of now.
+     */
+    static final class TokenBucket {
+
+        private final AtomicLong theoreticalArrival;
+
+        TokenBucket(long now) {
+            this.theoreticalArrival = new AtomicLong(now);
+        }
+
+        /** Returns 0 if the attempt is granted, otherwise the nanoseconds until it would be. */
+        long tryAcquire(long now, Limit limit) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                long next = Math.max(current, now) + limit.intervalNanos();
+                long wait = next - now - limit.burstNanos();
+                if (wait > 0) {
+                    return wait;
+                }
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
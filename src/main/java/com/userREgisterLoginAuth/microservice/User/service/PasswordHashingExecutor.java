@@ -0,0 +1,131 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.userREgisterLoginAuth.microservice.User.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed, core-count-sized pool for password hashing. BCrypt is pure CPU work, so running it
+ * on request threads lets a login burst starve every other endpoint. Work beyond the pool
+ * and its bounded queue is rejected immediately, and callers give up after {@code max-wait}.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final Timer queueWait;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(
+            @Value("${auth.password-hashing.threads:0}") int threads,
+            @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${auth.password-hashing.max-wait:2s}") Duration maxWait,
+            MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        // Platform threads on purpose, also in virtual-thread mode: BCrypt never blocks, so on
+        // virtual threads it would hold carrier threads and stall every other virtual thread
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hashing-", 1).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.maxWait = maxWait;
+
+        this.queueWait = Timer.builder("auth.password.queue.wait")
+                .description("Time password hashing tasks spend queued before running")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.rejected")
+                .description("Password hashing tasks shed because the pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code task} on the hashing pool and waits for its result.
+     *
+     * @throws ServiceOverloadedException if the queue is full or the result is not ready in time
+     */
+    public <T> T execute(Callable<T> task) {
+        try {
+            return submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute}: the returned future fails with
+     * {@link ServiceOverloadedException} when the task is shed or not done within {@code max-wait}.
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                if (result.isDone()) {
+                    // The caller already gave up while the task was queued
+                    return;
+                }
+                queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    result.complete(task.call());
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            result.completeExceptionally(overloaded());
+            return result;
+        }
+        CompletableFuture.delayedExecutor(maxWait.toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+            if (result.completeExceptionally(overloaded())) {
+                rejected.increment();
+            }
+        });
+        return result;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ServiceOverloadedException overloaded() {
+        return new ServiceOverloadedException("Authentication service is busy, please retry",
+                Math.max(1, maxWait.toSeconds()));
+    }
+}
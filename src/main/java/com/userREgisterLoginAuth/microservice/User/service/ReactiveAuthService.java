@@ -0,0 +1,147 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.userREgisterLoginAuth.microservice.User.dto.AuthResponseDto;
+import com.userREgisterLoginAuth.microservice.User.dto.LoginDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserInfoDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserRegistrationDto;
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import com.userREgisterLoginAuth.microservice.User.repository.ReactiveUserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+
+/**
+ * Non-blocking counterpart of {@link AuthService} for the {@code reactive} profile. Mongo
+ * access goes through the reactive driver and BCrypt runs on the bounded
+ * {@link PasswordHashingExecutor}, so event-loop threads never block. Revocations are
+ * written by {@link RevokedTokenStore} through the blocking driver and therefore run on the
+ * bounded elastic scheduler.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveAuthService {
+    
+    @Autowired
+    private ReactiveUserRepository userRepository;
+    
+    @Autowired
+    private OffloadingPasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private JwtService jwtService;
+    
+    @Autowired
+    private TakenIdentifierCache takenIdentifiers;
+    
+    @Autowired
+    private IdentifierBloomIndex bloomIndex;
+    
+    @Autowired
+    private LoginThrottle loginThrottle;
+    
+    public Mono<AuthResponseDto> registerUser(UserRegistrationDto registrationDto) {
+        TakenIdentifierCache.Field knownConflict =
+                takenIdentifiers.knownConflict(registrationDto.getEmail(), registrationDto.getUsername());
+        if (knownConflict != null) {
+            return Mono.just(AuthService.conflictResponse(knownConflict));
+        }
+        return createUser(registrationDto);
+    }
+    
+    public Mono<AuthResponseDto> loginUser(LoginDto loginDto, String clientIp) {
+        return Mono.fromRunnable(() -> loginThrottle.acquire(loginDto.getEmail(), clientIp))
+                .then(Mono.defer(() -> userRepository.findByEmail(loginDto.getEmail())))
+                .flatMap(user -> Mono.fromFuture(() -> passwordEncoder.matchesAsync(loginDto.getPassword(), user.getPassword()))
+                        .map(matches -> {
+                            if (!matches) {
+                                return new AuthResponseDto(null, "Invalid email or password", false);
+                            }
+                            if (!user.isEnabled()) {
+                                return new AuthResponseDto(null, "Account is disabled", false);
+                            }
+                            return successResponse(user, "Login successful");
+                        }))
+                .defaultIfEmpty(new AuthResponseDto(null, "Invalid email or password", false));
+    }
+    
+    /**
+     * Same rules as {@link AuthService#refreshToken}: single use, and the user is looked up
+     * again so disabled accounts and role changes take effect.
+     */
+    public Mono<AuthResponseDto> refreshToken(String refreshToken) {
+        return Mono.defer(() -> {
+            TokenVerification verification = jwtService.verifyRefreshToken(refreshToken);
+            if (!verification.isValid() || verification.subject() == null) {
+                return Mono.just(invalidRefreshToken());
+            }
+            return userRepository.findByUsername(verification.subject())
+                    .flatMap(user -> {
+                        if (!user.isEnabled()) {
+                            return Mono.just(new AuthResponseDto(null, "Account is disabled", false));
+                        }
+                        return Mono.fromCallable(() -> jwtService.revoke(verification))
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .map(revoked -> revoked ? successResponse(user, "Token refreshed") : invalidRefreshToken());
+                    })
+                    .defaultIfEmpty(invalidRefreshToken());
+        });
+    }
+    
+    /**
+     * Revokes an access or refresh token until it expires; tokens that do not verify are ignored.
+     */
+    public Mono<Void> revokeToken(String token) {
+        return Mono.fromRunnable(() -> jwtService.revoke(token))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+    
+    private static AuthResponseDto invalidRefreshToken() {
+        return new AuthResponseDto(null, "Invalid refresh token", false);
+    }
+    
+    private Mono<AuthResponseDto> createUser(UserRegistrationDto registrationDto) {
+        return Mono.fromFuture(() -> passwordEncoder.encodeAsync(registrationDto.getPassword()))
+                .map(encodedPassword -> new User(
+                        registrationDto.getEmail(),
+                        registrationDto.getUsername(),
+                        encodedPassword,
+                        registrationDto.getFirstName(),
+                        registrationDto.getLastName()
+                ))
+                .flatMap(userRepository::insert)
+                .map(savedUser -> {
+                    takenIdentifiers.registered(savedUser.getEmail(), savedUser.getUsername());
+                    bloomIndex.add(savedUser.getEmail(), savedUser.getUsername());
+                    return successResponse(savedUser, "User registered successfully");
+                })
+                .onErrorResume(DuplicateKeyException.class, e -> Mono.just(AuthService.conflictResponse(
+                        takenIdentifiers.conflictOf(e, registrationDto.getEmail(), registrationDto.getUsername()))));
+    }
+    
+    private AuthResponseDto successResponse(User user, String message) {
+        String token = user.getRole() == null
+                ? jwtService.generateToken(user.getUsername())
+                : jwtService.generateToken(Map.of(JwtService.ROLE_CLAIM, user.getRole()), user.getUsername());
+        
+        UserInfoDto userInfo = new UserInfoDto(
+            user.getId(),
+            user.getEmail(),
+            user.getUsername(),
+            user.getFirstName(),
+            user.getLastName(),
+            user.getRole()
+        );
+        
+        AuthResponseDto response = new AuthResponseDto(token, message, true);
+        response.setRefreshToken(jwtService.generateRefreshToken(user.getUsername()));
+        response.setUser(userInfo);
+        
+        return response;
+    }
+}
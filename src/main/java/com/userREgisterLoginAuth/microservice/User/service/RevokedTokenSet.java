@@ -0,0 +1,189 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Set of revoked 128-bit token ids that only holds tokens which have not expired yet.
+ * <p>
+ * Ids live in an open-addressing hash table of two longs per slot (linear probing, load
+ * factor at most 1/2), so an entry costs 16-32 bytes there and a lookup allocates nothing.
+ * Next to it a binary min-heap ordered by expiry, kept in three parallel {@code long}
+ * arrays, lets {@link #purgeExpired} pop exactly the expired ids instead of scanning.
+ * <p>
+ * Lookups are lock-free; writers serialize on the set's monitor. A slot publishes its low
+ * half before its high half, which is never zero for a stored id, so a reader that sees
+ * the high half also sees the low half. Purging and growing build a new table and swap it
+ * in, which keeps readers of the old one consistent.
+ */
+final class RevokedTokenSet {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private volatile AtomicLongArray slots = new AtomicLongArray(MIN_CAPACITY * 2);
+    private volatile int size;
+
+    private long[] heapExpiry = new long[MIN_CAPACITY];
+    private long[] heapHigh = new long[MIN_CAPACITY];
+    private long[] heapLow = new long[MIN_CAPACITY];
+
+    /**
+     * @return {@code false} if the id was already in the set
+     */
+    synchronized boolean add(long high, long low, long expiresAtSeconds) {
+        high = storedHigh(high);
+        if (contains(high, low)) {
+            return false;
+        }
+        if ((size + 1) * 2 > capacity(slots)) {
+            slots = rebuild(capacity(slots) * 2, size);
+        }
+        insert(slots, high, low);
+        heapPush(expiresAtSeconds, high, low);
+        size = size + 1;
+        return true;
+    }
+
+    boolean contains(long high, long low) {
+        if (size == 0) {
+            return false;
+        }
+        high = storedHigh(high);
+        AtomicLongArray table = slots;
+        int mask = capacity(table) - 1;
+        for (int slot = index(high, low) & mask; ; slot = (slot + 1) & mask) {
+            long storedHigh = table.getAcquire(slot * 2);
+            if (storedHigh == 0) {
+                return false;
+            }
+            if (storedHigh == high && table.getPlain(slot * 2 + 1) == low) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Drops every id whose token expired at or before {@code nowSeconds}.
+     *
+     * @return the number of ids dropped
+     */
+    synchronized int purgeExpired(long nowSeconds) {
+        int remaining = size;
+        while (remaining > 0 && heapExpiry[0] <= nowSeconds) {
+            remaining--;
+            heapExpiry[0] = heapExpiry[remaining];
+            heapHigh[0] = heapHigh[remaining];
+            heapLow[0] = heapLow[remaining];
+            siftDown(0, remaining);
+        }
+        int purged = size - remaining;
+        if (purged > 0) {
+            int capacity = MIN_CAPACITY;
+            while (remaining * 2 > capacity) {
+                capacity *= 2;
+            }
+            slots = rebuild(capacity, remaining);
+            size = remaining;
+            if (heapExpiry.length > capacity) {
+                heapExpiry = Arrays.copyOf(heapExpiry, capacity);
+                heapHigh = Arrays.copyOf(heapHigh, capacity);
+                heapLow = Arrays.copyOf(heapLow, capacity);
+            }
+        }
+        return purged;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long sizeInBytes() {
+        return capacity(slots) * 16L + heapExpiry.length * 24L;
+    }
+
+    private AtomicLongArray rebuild(int capacity, int entries) {
+        AtomicLongArray table = new AtomicLongArray(capacity * 2);
+        for (int i = 0; i < entries; i++) {
+            insert(table, heapHigh[i], heapLow[i]);
+        }
+        return table;
+    }
+
+    private static void insert(AtomicLongArray table, long high, long low) {
+        int mask = capacity(table) - 1;
+        int slot = index(high, low) & mask;
+        while (table.getPlain(slot * 2) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table.setPlain(slot * 2 + 1, low);
+        table.setRelease(slot * 2, high);
+    }
+
+    private void heapPush(long expiresAtSeconds, long high, long low) {
+        int i = size;
+        if (i == heapExpiry.length) {
+            heapExpiry = Arrays.copyOf(heapExpiry, i * 2);
+            heapHigh = Arrays.copyOf(heapHigh, i * 2);
+            heapLow = Arrays.copyOf(heapLow, i * 2);
+        }
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heapExpiry[parent] <= expiresAtSeconds) {
+                break;
+            }
+            move(parent, i);
+            i = parent;
+        }
+        heapExpiry[i] = expiresAtSeconds;
+        heapHigh[i] = high;
+        heapLow[i] = low;
+    }
+
+    private void siftDown(int i, int heapSize) {
+        long expiry = heapExpiry[i];
+        long high = heapHigh[i];
+        long low = heapLow[i];
+        while (true) {
+            int child = i * 2 + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heapExpiry[child + 1] < heapExpiry[child]) {
+                child++;
+            }
+            if (expiry <= heapExpiry[child]) {
+                break;
+            }
+            move(child, i);
+            i = child;
+        }
+        heapExpiry[i] = expiry;
+        heapHigh[i] = high;
+        heapLow[i] = low;
+    }
+
+    private void move(int from, int to) {
+        heapExpiry[to] = heapExpiry[from];
+        heapHigh[to] = heapHigh[from];
+        heapLow[to] = heapLow[from];
+    }
+
+    private static int capacity(AtomicLongArray table) {
+        return table.length() / 2;
+    }
+
+    private static int index(long high, long low) {
+        // Ids are random, so folding the bits is enough of a hash
+        long folded = high ^ low;
+        return (int) (folded ^ (folded >>> 32));
+    }
+
+    /** Zero marks an empty slot; mapping it to one costs a single bit of a 128-bit id. */
+    private static long storedHigh(long high) {
+        return high == 0 ? 1 : high;
+    }
+}
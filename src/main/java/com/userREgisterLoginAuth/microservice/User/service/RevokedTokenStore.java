@@ -0,0 +1,148 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.userREgisterLoginAuth.microservice.User.model.RevokedToken;
+import com.userREgisterLoginAuth.microservice.User.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Revoked token ids ({@code jti}) that have not expired yet. Checks are answered from a
+ * {@link RevokedTokenSet} in memory; the repository is the durable, shared record and the
+ * arbiter when two requests revoke the same token. The set is loaded from the repository
+ * at startup and then polled for revocations made by other instances, which therefore
+ * reach this one within {@code auth.revocation.sync-interval-ms}.
+ */
+@Component
+public class RevokedTokenStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RevokedTokenStore.class);
+    private static final int TOKEN_ID_LENGTH = 22;
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final RevokedTokenRepository repository;
+    private final Duration syncOverlap;
+    private final LongSupplier millisClock;
+    private final RevokedTokenSet revoked = new RevokedTokenSet();
+
+    private volatile Instant syncedUpTo;
+
+    @Autowired
+    public RevokedTokenStore(
+            RevokedTokenRepository repository,
+            @Value("${auth.revocation.sync-overlap:1m}") Duration syncOverlap,
+            MeterRegistry meterRegistry) {
+        this(repository, syncOverlap, meterRegistry, System::currentTimeMillis);
+    }
+
+    RevokedTokenStore(RevokedTokenRepository repository, Duration syncOverlap, MeterRegistry meterRegistry,
+                      LongSupplier millisClock) {
+        this.repository = repository;
+        this.syncOverlap = syncOverlap;
+        this.millisClock = millisClock;
+
+        Gauge.builder("auth.revoked.tokens", revoked, RevokedTokenSet::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(meterRegistry);
+        Gauge.builder("auth.revoked.tokens.memory", revoked, RevokedTokenSet::sizeInBytes)
+                .description("Approximate size of the in-memory revocation set")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Revokes a token until it expires. The repository write comes first, so a revocation
+     * that could not be stored fails here and changes nothing. Its outcome alone decides the
+     * result: a concurrent {@link #sync()} may already have loaded the row just inserted.
+     *
+     * @return {@code false} if the token was already revoked, here or by another instance
+     */
+    public boolean revoke(String tokenId, long expiresAtMillis) {
+        Instant now = Instant.ofEpochMilli(millisClock.getAsLong());
+        if (tokenId == null || expiresAtMillis <= now.toEpochMilli()) {
+            return false;
+        }
+        if (!repository.insert(new RevokedToken(tokenId, Instant.ofEpochMilli(expiresAtMillis), now))) {
+            add(tokenId, expiresAtMillis);
+            return false;
+        }
+        add(tokenId, expiresAtMillis);
+        return true;
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || revoked.isEmpty()) {
+            return false;
+        }
+        ByteBuffer key = ByteBuffer.wrap(key(tokenId));
+        return revoked.contains(key.getLong(0), key.getLong(8));
+    }
+
+    /**
+     * Pulls revocations recorded since the last sync (all of them the first time) and drops
+     * those whose token has expired. The window reaches back {@code sync-overlap} to cover
+     * clock skew between instances and writes still in flight during the previous poll.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${auth.revocation.sync-interval-ms:10000}")
+    public void sync() {
+        Instant now = Instant.ofEpochMilli(millisClock.getAsLong());
+        Instant since = syncedUpTo == null ? Instant.EPOCH : syncedUpTo.minus(syncOverlap);
+        try (Stream<RevokedToken> tokens = repository.streamRevokedSince(since, now)) {
+            int before = revoked.size();
+            tokens.forEach(token -> add(token.getId(), token.getExpiresAt().toEpochMilli()));
+            if (syncedUpTo == null) {
+                log.info("Loaded {} revoked tokens", revoked.size() - before);
+            }
+            syncedUpTo = now;
+        } catch (RuntimeException e) {
+            log.warn("Could not load revoked tokens, will retry: {}", e.getMessage());
+        }
+        revoked.purgeExpired(now.getEpochSecond());
+    }
+
+    int size() {
+        return revoked.size();
+    }
+
+    private boolean add(String tokenId, long expiresAtMillis) {
+        ByteBuffer key = ByteBuffer.wrap(key(tokenId));
+        // Rounded up so a token is never dropped before its last valid second
+        return revoked.add(key.getLong(0), key.getLong(8), Math.ceilDiv(expiresAtMillis, 1000));
+    }
+
+    /**
+     * The 16 random bytes behind ids issued by {@link JwtService}; any other id is reduced to
+     * 128 bits of its SHA-256.
+     */
+    private static byte[] key(String tokenId) {
+        if (tokenId.length() == TOKEN_ID_LENGTH) {
+            try {
+                return DECODER.decode(tokenId);
+            } catch (IllegalArgumentException e) {
+                // not one of ours, hashed below
+            }
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(tokenId.getBytes(StandardCharsets.UTF_8));
+            return Arrays.copyOf(digest, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * In-memory record of emails and usernames this instance has seen registered. Registration
+ * consults it before hashing the password, so repeated sign-ups with a taken identifier are
+ * rejected without BCrypt or a Mongo round-trip. The unique indexes stay the source of
+ * truth: a miss here only means "not known", and entries expire so a freed identifier
+ * becomes usable again.
+ */
+@Component
+public class TakenIdentifierCache {
+
+    public enum Field { EMAIL, USERNAME }
+
+    private final Cache<String, Field> taken;
+
+    public TakenIdentifierCache(
+            @Value("${auth.registration.taken-cache.max-size:10000}") long maxSize,
+            @Value("${auth.registration.taken-cache.ttl:10m}") Duration ttl) {
+        this.taken = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Returns the field already known to be taken, email first, or {@code null} when the
+     * registration has to go to the database.
+     */
+    public Field knownConflict(String email, String username) {
+        if (isKnownTaken(Field.EMAIL, email)) {
+            return Field.EMAIL;
+        }
+        if (isKnownTaken(Field.USERNAME, username)) {
+            return Field.USERNAME;
+        }
+        return null;
+    }
+
+    public boolean isKnownTaken(Field field, String value) {
+        return taken.getIfPresent(key(field, value)) != null;
+    }
+
+    public void registered(String email, String username) {
+        taken.put(key(Field.EMAIL, email), Field.EMAIL);
+        taken.put(key(Field.USERNAME, username), Field.USERNAME);
+    }
+
+    /**
+     * Works out which unique index rejected the insert and remembers that identifier.
+     *
+     * @throws DuplicateKeyException if the violated index is neither email nor username
+     */
+    public Field conflictOf(DuplicateKeyException e, String email, String username) {
+        Field field = violatedField(e.getMessage());
+        if (field == null) {
+            throw e;
+        }
+        taken.put(key(field, field == Field.EMAIL ? email : username), field);
+        return field;
+    }
+
+    /**
+     * Maps a Mongo duplicate key error message to the unique index it names, or
+     * {@code null} when it is neither the email nor the username index.
+     */
+    public static Field violatedField(String duplicateKeyMessage) {
+        // Mongo reports the violated index as "... index: <name> dup key: ..."
+        String message = String.valueOf(duplicateKeyMessage);
+        if (message.contains("index: username")) {
+            return Field.USERNAME;
+        }
+        if (message.contains("index: email")) {
+            return Field.EMAIL;
+        }
+        return null;
+    }
+
+    public long size() {
+        taken.cleanUp();
+        return taken.estimatedSize();
+    }
+
+    private static String key(Field field, String value) {
+        return (field == Field.EMAIL ? "e:" : "u:") + value;
+    }
+}
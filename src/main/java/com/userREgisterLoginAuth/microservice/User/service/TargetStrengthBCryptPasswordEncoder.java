@@ -0,0 +1,40 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link BCryptPasswordEncoder} that asks for an upgrade only when a stored hash is weaker
+ * than the target. A stronger hash is kept: instances calibrated on different hardware may
+ * disagree on the target by one or two, and rehashing down would make users' hashes flip
+ * between costs as their logins land on different instances.
+ */
+public class TargetStrengthBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_PREFIX = Pattern.compile("^\\$2[aby]?\\$(\\d{2})\\$");
+
+    private final int strength;
+
+    public TargetStrengthBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PREFIX.matcher(encodedPassword);
+        if (!matcher.find()) {
+            return false;
+        }
+        return Integer.parseInt(matcher.group(1)) < strength;
+    }
+}
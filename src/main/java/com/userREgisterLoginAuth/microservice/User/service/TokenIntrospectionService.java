@@ -0,0 +1,140 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.userREgisterLoginAuth.microservice.User.dto.TokenIntrospectionDto;
+import com.userREgisterLoginAuth.microservice.User.dto.TokenIntrospectionResponseDto;
+import com.userREgisterLoginAuth.microservice.User.service.AuthMetrics.Endpoint;
+import com.userREgisterLoginAuth.microservice.User.service.AuthMetrics.Outcome;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies batches of access tokens for API gateways, so a gateway makes one call for many
+ * requests. Answers come from the token itself, the verified-token cache and the in-memory
+ * revocation set: nothing is read from MongoDB. As with bearer authentication, a token of a
+ * user disabled after it was issued stays active until it expires.
+ * <p>
+ * A batch is split into chunks of at least {@code min-chunk-size} distinct tokens; the
+ * request thread verifies the first chunk and a pool of its own the rest. Cached tokens
+ * verify in well under a microsecond, so small batches are not worth handing to other
+ * threads. When the pool's queue is full the request thread verifies the chunk itself, so a
+ * spike slows batches down instead of queueing work without bound.
+ */
+@Service
+@Profile("!reactive")
+public class TokenIntrospectionService {
+
+    private final JwtService jwtService;
+    private final AuthMetrics authMetrics;
+    private final ThreadPoolExecutor verificationPool;
+    private final int threads;
+    private final int minChunkSize;
+
+    public TokenIntrospectionService(
+            JwtService jwtService,
+            AuthMetrics authMetrics,
+            @Value("${auth.introspection.threads:0}") int threads,
+            @Value("${auth.introspection.min-chunk-size:16}") int minChunkSize) {
+        this.jwtService = jwtService;
+        this.authMetrics = authMetrics;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.minChunkSize = Math.max(1, minChunkSize);
+        this.verificationPool = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.threads * 4),
+                Thread.ofPlatform().name("token-introspection-", 1).daemon(true).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * @return one result per token, in the same order; a token repeated in the batch is
+     * verified once
+     */
+    public TokenIntrospectionResponseDto introspect(List<String> tokens) {
+        Timer.Sample sample = authMetrics.start();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            List<String> distinct = tokens.stream().distinct().toList();
+            TokenIntrospectionDto[] introspected = introspectAll(distinct);
+            Map<String, TokenIntrospectionDto> byToken = new HashMap<>(distinct.size() * 2);
+            for (int i = 0; i < introspected.length; i++) {
+                byToken.put(distinct.get(i), introspected[i]);
+            }
+            List<TokenIntrospectionDto> results = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                results.add(byToken.get(token));
+            }
+            outcome = Outcome.SUCCESS;
+            return new TokenIntrospectionResponseDto(results);
+        } finally {
+            authMetrics.record(sample, Endpoint.INTROSPECT, outcome);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        verificationPool.shutdownNow();
+    }
+
+    private TokenIntrospectionDto[] introspectAll(List<String> tokens) {
+        TokenIntrospectionDto[] results = new TokenIntrospectionDto[tokens.size()];
+        int chunks = Math.max(1, Math.min(threads, tokens.size() / minChunkSize));
+        int chunkSize = Math.ceilDiv(tokens.size(), chunks);
+
+        // Chunks write disjoint slots; Future.get makes their writes visible here
+        List<Future<?>> pending = new ArrayList<>(chunks - 1);
+        for (int from = chunkSize; from < tokens.size(); from += chunkSize) {
+            int start = from;
+            pending.add(verificationPool.submit(() -> introspectRange(tokens, start, chunkSize, results)));
+        }
+        introspectRange(tokens, 0, chunkSize, results);
+        try {
+            for (Future<?> chunk : pending) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Token introspection interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Token introspection failed", e.getCause());
+        }
+        return results;
+    }
+
+    private void introspectRange(List<String> tokens, int from, int count, TokenIntrospectionDto[] results) {
+        int to = Math.min(tokens.size(), from + count);
+        for (int i = from; i < to; i++) {
+            results[i] = toDto(jwtService.verify(tokens.get(i)));
+        }
+    }
+
+    private static TokenIntrospectionDto toDto(TokenVerification verification) {
+        if (!verification.isValid()) {
+            return inactive(verification.failure().name());
+        }
+        if (verification.subject() == null) {
+            return inactive(TokenVerification.Failure.MALFORMED.name());
+        }
+        String role = verification.role();
+        return new TokenIntrospectionDto(true, verification.subject(),
+                Instant.ofEpochMilli(verification.expiresAtMillis()),
+                role == null ? List.of() : List.of(role), null);
+    }
+
+    private static TokenIntrospectionDto inactive(String failure) {
+        return new TokenIntrospectionDto(false, null, null, null, failure.toLowerCase(Locale.ROOT));
+    }
+}
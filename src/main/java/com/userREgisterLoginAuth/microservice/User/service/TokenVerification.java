@@ -0,0 +1,80 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Outcome of verifying a compact JWS in a single pass. Registered claims and the
+ * {@code role} claim are extracted while parsing; the full claim set is only materialized
+ * when {@link #claims()} is called.
+ */
+public record TokenVerification(
+        String subject,
+        long issuedAtMillis,
+        long expiresAtMillis,
+        String keyId,
+        String tokenId,
+        String tokenUse,
+        String role,
+        String claimsJson,
+        Failure failure) {
+
+    public enum Failure {
+        MALFORMED,
+        UNSUPPORTED_ALGORITHM,
+        UNKNOWN_KEY,
+        INVALID_SIGNATURE,
+        MISSING_EXPIRATION,
+        NOT_YET_VALID,
+        EXPIRED,
+        /** A refresh token presented as an access token, or the other way round. */
+        WRONG_TOKEN_USE,
+        REVOKED
+    }
+
+    /** {@code token_use} value of refresh tokens; access tokens carry no such claim. */
+    public static final String REFRESH = "refresh";
+
+    private static final ObjectMapper CLAIMS_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> CLAIMS_TYPE = new TypeReference<>() {};
+    private static final Map<Failure, TokenVerification> FAILURES = new EnumMap<>(Failure.class);
+
+    static {
+        for (Failure failure : Failure.values()) {
+            FAILURES.put(failure, new TokenVerification(null, 0, 0, null, null, null, null, null, failure));
+        }
+    }
+
+    /** Shared instance for failures detected before any claim could be read. */
+    static TokenVerification failed(Failure failure) {
+        return FAILURES.get(failure);
+    }
+
+    public boolean isValid() {
+        return failure == null;
+    }
+
+    public boolean isRefreshToken() {
+        return REFRESH.equals(tokenUse);
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis <= nowMillis;
+    }
+
+    public Map<String, Object> claims() {
+        if (claimsJson == null) {
+            return Map.of();
+        }
+        try {
+            return CLAIMS_MAPPER.readValue(claimsJson, CLAIMS_TYPE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
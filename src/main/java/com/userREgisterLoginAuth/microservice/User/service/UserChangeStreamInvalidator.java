@@ -0,0 +1,141 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.MessageListener;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Subscription;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Follows a MongoDB change stream on the {@code users} collection and evicts every changed
+ * user from {@link UserLookupCache}, so writes made by other instances (or directly in the
+ * database) are seen within milliseconds instead of after the cache TTL. Change streams
+ * need a replica set; on a standalone server the subscription fails and the TTL is the
+ * only bound. A dropped subscription is re-established periodically, clearing the cache
+ * first because events may have been missed in between.
+ * <p>
+ * New emails and usernames are also added to {@link IdentifierBloomIndex}, so users
+ * registered on other instances are not reported as available until the next rebuild. When
+ * the stream fails the filter is marked stale, and availability goes to the database until
+ * the filter has been rebuilt.
+ */
+@Component
+@Profile("!in-memory & !reactive")
+public class UserChangeStreamInvalidator {
+
+    private static final Logger log = LoggerFactory.getLogger(UserChangeStreamInvalidator.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserLookupCache userLookupCache;
+
+    @Autowired
+    private IdentifierBloomIndex bloomIndex;
+
+    @Value("${auth.user-cache.change-stream.enabled:true}")
+    private boolean enabled;
+
+    private MessageListenerContainer container;
+    private volatile Subscription subscription;
+    private volatile boolean warned;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${auth.user-cache.change-stream.retry-interval-ms:30000}")
+    public synchronized void ensureSubscribed() {
+        if (!enabled || (subscription != null && subscription.isActive())) {
+            return;
+        }
+        if (container == null) {
+            container = new DefaultMessageListenerContainer(mongoTemplate);
+            container.start();
+        }
+        if (subscription != null) {
+            container.remove(subscription);
+            userLookupCache.invalidateAll();
+        }
+        MessageListener<ChangeStreamDocument<Document>, User> listener = message -> onChange(message.getRaw());
+        ChangeStreamRequest<User> request = ChangeStreamRequest.builder(listener)
+                .collection(mongoTemplate.getCollectionName(User.class))
+                .build();
+        subscription = container.register(request, User.class, this::onError);
+    }
+
+    void onChange(ChangeStreamDocument<Document> change) {
+        if (warned) {
+            warned = false;
+            log.info("User change stream is receiving events again");
+        }
+        BsonDocument key = change.getDocumentKey();
+        BsonValue id = key == null ? null : key.get("_id");
+        if (id == null) {
+            // drop, rename or invalidate: nothing identifies a single user
+            userLookupCache.invalidateAll();
+        } else if (id.isObjectId()) {
+            userLookupCache.evict(id.asObjectId().getValue().toHexString());
+        } else if (id.isString()) {
+            userLookupCache.evict(id.asString().getValue());
+        } else {
+            userLookupCache.invalidateAll();
+        }
+        addIdentifiers(change);
+    }
+
+    private void addIdentifiers(ChangeStreamDocument<Document> change) {
+        if (change.getOperationType() == null) {
+            return;
+        }
+        switch (change.getOperationType()) {
+            case INSERT, REPLACE -> {
+                Document user = change.getFullDocument();
+                if (user != null) {
+                    bloomIndex.add(user.getString("email"), user.getString("username"));
+                }
+            }
+            case UPDATE -> {
+                UpdateDescription update = change.getUpdateDescription();
+                BsonDocument fields = update == null ? null : update.getUpdatedFields();
+                if (fields != null) {
+                    bloomIndex.add(string(fields.get("email")), string(fields.get("username")));
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private static String string(BsonValue value) {
+        return value != null && value.isString() ? value.asString().getValue() : null;
+    }
+
+    void onError(Throwable error) {
+        if (!warned) {
+            warned = true;
+            log.warn("User change stream failed, cached users now expire by TTL only: {}", error.getMessage());
+        }
+        userLookupCache.invalidateAll();
+        bloomIndex.markStale();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+}
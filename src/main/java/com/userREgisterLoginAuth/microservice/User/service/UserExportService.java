@@ -0,0 +1,69 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.userREgisterLoginAuth.microservice.User.dto.UserInfoDto;
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import com.userREgisterLoginAuth.microservice.User.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes every user as NDJSON of {@link UserInfoDto}. Documents go from the Mongo cursor to
+ * the output one at a time, so memory stays flat whatever the collection size, and a slow
+ * reader simply blocks the writes, which in turn delays the next cursor batch.
+ */
+@Service
+@Profile("!reactive")
+public class UserExportService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${auth.export.cursor-batch-size:1000}")
+    private int cursorBatchSize;
+
+    /**
+     * Streams all users to {@code out} and returns how many were written. {@code out} is
+     * flushed but not closed.
+     */
+    public long exportUsers(OutputStream out) throws IOException {
+        // Flushing after every record would defeat buffering and gzip
+        ObjectWriter writer = objectMapper.writerFor(UserInfoDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (Stream<User> users = userRepository.streamAllWithoutPassword(cursorBatchSize);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            for (Iterator<User> it = users.iterator(); it.hasNext(); ) {
+                writer.writeValue(generator, toUserInfo(it.next()));
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static UserInfoDto toUserInfo(User user) {
+        return new UserInfoDto(
+            user.getId(),
+            user.getEmail(),
+            user.getUsername(),
+            user.getFirstName(),
+            user.getLastName(),
+            user.getRole()
+        );
+    }
+}
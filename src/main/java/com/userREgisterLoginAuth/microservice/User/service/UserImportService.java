@@ -0,0 +1,244 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.userREgisterLoginAuth.microservice.User.dto.UserImportErrorDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserImportResultDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserRegistrationDto;
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import com.userREgisterLoginAuth.microservice.User.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Imports users from NDJSON, one {@link UserRegistrationDto} per line. The input is read
+ * line by line and handled in batches of {@code batch-size} records, so memory use does not
+ * depend on the file size. Each batch is hashed in parallel on a pool of its own (logins keep
+ * the {@link PasswordHashingExecutor} to themselves) and written with one unordered bulk
+ * insert. That pool defaults to half the cores, so however large the import, the other half
+ * stays free for logins; imports running at the same time share it. Invalid records and
+ * duplicates are reported by line number without stopping the import.
+ */
+@Service
+@Profile("!reactive")
+public class UserImportService {
+
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^(\\{bcrypt\\})?\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+    /** bcrypt only reads this many bytes of a password. */
+    private static final int BCRYPT_MAX_PASSWORD_BYTES = 72;
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TakenIdentifierCache takenIdentifiers;
+    private final IdentifierBloomIndex bloomIndex;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ExecutorService hashingPool;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public UserImportService(
+            UserRepository userRepository,
+            OffloadingPasswordEncoder passwordEncoder,
+            TakenIdentifierCache takenIdentifiers,
+            IdentifierBloomIndex bloomIndex,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${auth.import.hash-threads:0}") int hashThreads,
+            @Value("${auth.import.batch-size:500}") int batchSize,
+            @Value("${auth.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder.getDelegate();
+        this.takenIdentifiers = takenIdentifiers;
+        this.bloomIndex = bloomIndex;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        int threads = hashThreads(hashThreads, Runtime.getRuntime().availableProcessors());
+        this.hashingPool = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("user-import-", 1).daemon(true).factory());
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * {@code configured} if positive, otherwise half of {@code cores} (at least one).
+     */
+    static int hashThreads(int configured, int cores) {
+        return configured > 0 ? configured : Math.max(1, cores / 2);
+    }
+
+    /**
+     * Imports every record of {@code ndjson}. With {@code passwordsHashed} the password
+     * field must already hold a bcrypt hash, with or without the {@code {bcrypt}} prefix,
+     * and is stored as is.
+     */
+    public UserImportResultDto importUsers(InputStream ndjson, boolean passwordsHashed) throws IOException {
+        UserImportResultDto result = new UserImportResultDto();
+        List<PendingUser> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.setReceived(result.getReceived() + 1);
+
+                UserRegistrationDto record;
+                try {
+                    record = objectMapper.readValue(line, UserRegistrationDto.class);
+                } catch (JsonProcessingException e) {
+                    fail(result, lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+                    continue;
+                }
+                String error = validate(record, passwordsHashed);
+                if (error != null) {
+                    fail(result, lineNumber, record.getEmail(), error);
+                    continue;
+                }
+
+                batch.add(new PendingUser(lineNumber, record));
+                if (batch.size() == batchSize) {
+                    flush(batch, passwordsHashed, result);
+                    batch.clear();
+                }
+            }
+        }
+        flush(batch, passwordsHashed, result);
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    private String validate(UserRegistrationDto record, boolean passwordsHashed) {
+        String violations = validator.validate(record).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        if (!violations.isEmpty()) {
+            return violations;
+        }
+        if (passwordsHashed && !BCRYPT_HASH.matcher(record.getPassword()).matches()) {
+            return "Password must be a bcrypt hash";
+        }
+        if (!passwordsHashed
+                && record.getPassword().getBytes(StandardCharsets.UTF_8).length > BCRYPT_MAX_PASSWORD_BYTES) {
+            return "Password must be at most " + BCRYPT_MAX_PASSWORD_BYTES + " bytes";
+        }
+        // Known duplicates fail here, before their password is hashed
+        TakenIdentifierCache.Field knownConflict = takenIdentifiers.knownConflict(record.getEmail(), record.getUsername());
+        return knownConflict == null ? null : AuthService.conflictResponse(knownConflict).getMessage();
+    }
+
+    private void flush(List<PendingUser> batch, boolean passwordsHashed, UserImportResultDto result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<String> hashes = passwordsHashed
+                ? batch.stream().map(pending -> pending.record().getPassword()).toList()
+                : hashInParallel(batch, result);
+
+        // Records whose hash failed were already reported and are left out of the insert
+        List<PendingUser> hashed = new ArrayList<>(batch.size());
+        List<User> users = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            if (hashes.get(i) == null) {
+                continue;
+            }
+            UserRegistrationDto record = batch.get(i).record();
+            hashed.add(batch.get(i));
+            users.add(new User(record.getEmail(), record.getUsername(), hashes.get(i),
+                    record.getFirstName(), record.getLastName()));
+        }
+        if (users.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, String> failures = userRepository.insertUnordered(users);
+        for (int i = 0; i < hashed.size(); i++) {
+            PendingUser pending = hashed.get(i);
+            String failure = failures.get(i);
+            if (failure == null) {
+                result.setImported(result.getImported() + 1);
+                takenIdentifiers.registered(pending.record().getEmail(), pending.record().getUsername());
+                bloomIndex.add(pending.record().getEmail(), pending.record().getUsername());
+            } else {
+                fail(result, pending.line(), pending.record().getEmail(), describe(failure));
+            }
+        }
+    }
+
+    /**
+     * Hashes every password of {@code batch}, in order. A record whose hashing fails is
+     * reported and gets a {@code null} hash; the rest of the batch is unaffected.
+     */
+    private List<String> hashInParallel(List<PendingUser> batch, UserImportResultDto result) {
+        List<Callable<String>> tasks = batch.stream()
+                .map(pending -> (Callable<String>) () -> passwordEncoder.encode(pending.record().getPassword()))
+                .toList();
+        List<Future<String>> futures;
+        try {
+            futures = hashingPool.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("User import interrupted", e);
+        }
+        List<String> hashes = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                hashes.add(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("User import interrupted", e);
+            } catch (ExecutionException e) {
+                PendingUser pending = batch.get(i);
+                fail(result, pending.line(), pending.record().getEmail(),
+                        "Password hashing failed: " + e.getCause().getMessage());
+                hashes.add(null);
+            }
+        }
+        return hashes;
+    }
+
+    private static String describe(String writeError) {
+        TakenIdentifierCache.Field field = TakenIdentifierCache.violatedField(writeError);
+        return field == null ? writeError : AuthService.conflictResponse(field).getMessage();
+    }
+
+    private void fail(UserImportResultDto result, long line, String email, String error) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new UserImportErrorDto(line, email, error));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private record PendingUser(long line, UserRegistrationDto record) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code DOWN} until {@link UserIndexInitializer} has created the indexes. Without the
+ * unique email and username indexes two concurrent registrations could both succeed, so the
+ * instance is kept out of the readiness group (and out of the load balancer) until then.
+ */
+@Component
+@Profile("!in-memory")
+public class UserIndexHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private UserIndexInitializer userIndexInitializer;
+
+    @Override
+    public Health health() {
+        if (userIndexInitializer.isCreated()) {
+            return Health.up().build();
+        }
+        return Health.down().withDetail("reason", "User indexes not created yet").build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.userREgisterLoginAuth.microservice.User.model.RevokedToken;
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the indexes declared on {@link User}, including the unique email and username
+ * indexes registration relies on, and on {@link RevokedToken}, whose TTL index drops
+ * revocations of expired tokens. Done here rather than with Spring Data's
+ * auto-index-creation so the service still starts while MongoDB is unreachable; the
+ * attempt is repeated until it succeeds, and {@link UserIndexHealthIndicator} keeps the
+ * instance out of readiness until then.
+ */
+@Component
+@Profile("!in-memory")
+public class UserIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(UserIndexInitializer.class);
+
+    private static final List<Class<?>> DOCUMENTS = List.of(User.class, RevokedToken.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private volatile boolean created;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${auth.user-indexes.retry-interval-ms:30000}")
+    public void ensureIndexes() {
+        if (created) {
+            return;
+        }
+        try {
+            MongoPersistentEntityIndexResolver resolver =
+                    new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+            for (Class<?> document : DOCUMENTS) {
+                IndexOperations indexOps = mongoTemplate.indexOps(document);
+                resolver.resolveIndexFor(document).forEach(indexOps::ensureIndex);
+            }
+            created = true;
+            log.info("User and revoked token indexes are in place");
+        } catch (RuntimeException e) {
+            log.warn("Could not create user indexes, will retry: {}", e.getMessage());
+        }
+    }
+
+    public boolean isCreated() {
+        return created;
+    }
+}
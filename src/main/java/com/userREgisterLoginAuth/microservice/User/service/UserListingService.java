@@ -0,0 +1,71 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.userREgisterLoginAuth.microservice.User.dto.UserPageDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserSummaryDto;
+import com.userREgisterLoginAuth.microservice.User.exception.InvalidCursorException;
+import com.userREgisterLoginAuth.microservice.User.repository.UserListFilter;
+import com.userREgisterLoginAuth.microservice.User.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Pages through users newest first. Each page ends with an opaque cursor holding the
+ * {@code createdAt} and id of its last user; the next page starts right after that entry
+ * of the index, so page 10,000 costs the same as page 1.
+ */
+@Service
+@Profile("!reactive")
+public class UserListingService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${auth.admin-listing.max-page-size:200}")
+    private int maxPageSize;
+
+    public UserPageDto listUsers(UserListFilter filter, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+        Cursor after = cursor == null || cursor.isBlank() ? null : decode(cursor);
+
+        // One extra row tells whether another page exists without a count query
+        List<UserSummaryDto> rows = userRepository.findPage(filter,
+                after == null ? null : after.createdAt(),
+                after == null ? null : after.id(),
+                pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new UserPageDto(rows, null);
+        }
+        List<UserSummaryDto> page = rows.subList(0, pageSize);
+        UserSummaryDto last = page.get(pageSize - 1);
+        return new UserPageDto(List.copyOf(page), encode(new Cursor(last.getCreatedAt(), last.getId())));
+    }
+
+    static String encode(Cursor cursor) {
+        String raw = cursor.createdAt() + "|" + cursor.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    record Cursor(LocalDateTime createdAt, String id) {
+    }
+}
@@ -0,0 +1,226 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.mongodb.ReadPreference;
+import com.mongodb.TaggableReadPreference;
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import com.userREgisterLoginAuth.microservice.User.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of {@link User} documents in front of {@link UserRepository}. Users are
+ * stored once by id; email and username map to that id and are only trusted while the
+ * cached user still carries the same value. Entries live at most {@code ttl}, and local
+ * writes plus {@link UserChangeStreamInvalidator} evict them as soon as a document changes,
+ * so a disabled account stops authenticating without waiting for the TTL. Misses are not
+ * cached, so a new registration is visible immediately.
+ * <p>
+ * Lookups by email and username that miss the cache may be read from a secondary
+ * ({@code userReadPreference}, bounded by its {@code maxStaleness}). They go back to the
+ * primary when the secondary does not have the user, which may have just registered, and
+ * when the user was evicted less than {@code maxStaleness} ago, since the secondary may
+ * still hold the version before that change. After {@link #invalidateAll()} every lookup
+ * reads the primary for {@code maxStaleness}.
+ * <p>
+ * Returned users are shared instances and must not be modified.
+ */
+@Component
+@Profile("!reactive")
+public class UserLookupCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, User> byId;
+    private final Cache<String, String> idByEmail;
+    private final Cache<String, String> idByUsername;
+    // Bumped on every eviction; a load that raced with one is returned but not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final ReadPreference readPreference;
+    private final LongSupplier nanoClock;
+    // Only set when reads may go to a secondary: ids evicted within the staleness bound
+    private final Cache<String, Boolean> recentlyChanged;
+    private final long maxStalenessNanos;
+    private final Counter notFoundFallbacks;
+    private final Counter changedFallbacks;
+    private volatile long primaryOnlyUntil;
+
+    @Autowired
+    public UserLookupCache(
+            UserRepository userRepository,
+            @Value("${auth.user-cache.max-size:10000}") long maxSize,
+            @Value("${auth.user-cache.ttl:30s}") Duration ttl,
+            ReadPreference userReadPreference,
+            MeterRegistry meterRegistry) {
+        this(userRepository, maxSize, ttl, userReadPreference, meterRegistry, System::nanoTime);
+    }
+
+    UserLookupCache(UserRepository userRepository, long maxSize, Duration ttl, MeterRegistry meterRegistry) {
+        this(userRepository, maxSize, ttl, ReadPreference.primary(), meterRegistry, System::nanoTime);
+    }
+
+    UserLookupCache(UserRepository userRepository, long maxSize, Duration ttl, ReadPreference readPreference,
+                    MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.userRepository = userRepository;
+        this.readPreference = readPreference;
+        this.nanoClock = nanoClock;
+        this.primaryOnlyUntil = nanoClock.getAsLong();
+        Long maxStalenessSeconds = readPreference instanceof TaggableReadPreference taggable
+                ? taggable.getMaxStaleness(TimeUnit.SECONDS)
+                : null;
+        if (readPreference.isSecondaryOk() && maxStalenessSeconds == null) {
+            throw new IllegalArgumentException("Reads from secondaries need a maxStaleness: " + readPreference);
+        }
+        this.maxStalenessNanos = readPreference.isSecondaryOk() ? TimeUnit.SECONDS.toNanos(maxStalenessSeconds) : 0;
+        this.recentlyChanged = readPreference.isSecondaryOk()
+                ? Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(Duration.ofNanos(maxStalenessNanos))
+                        .ticker(nanoClock::getAsLong)
+                        // Too many changes to track one by one: read the primary until they replicate
+                        .<String, Boolean>evictionListener((id, changed, cause) -> {
+                            if (cause == RemovalCause.SIZE) {
+                                primaryOnlyUntil = nanoClock.getAsLong() + maxStalenessNanos;
+                            }
+                        })
+                        .build()
+                : null;
+        this.notFoundFallbacks = fallbackCounter(meterRegistry, "not_found");
+        this.changedFallbacks = fallbackCounter(meterRegistry, "recently_changed");
+
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.idByEmail = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+        this.idByUsername = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users");
+    }
+
+    public Optional<User> findById(String id) {
+        if (id == null) {
+            return userRepository.findById(id);
+        }
+        User cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return load(() -> userRepository.findById(id));
+    }
+
+    public Optional<User> findByEmail(String email) {
+        return find(idByEmail, email, User::getEmail, () -> read(
+                () -> userRepository.findByEmail(email, readPreference),
+                () -> userRepository.findByEmail(email)));
+    }
+
+    public Optional<User> findByUsername(String username) {
+        return find(idByUsername, username, User::getUsername, () -> read(
+                () -> userRepository.findByUsername(username, readPreference),
+                () -> userRepository.findByUsername(username)));
+    }
+
+    /**
+     * Drops the user with this id. Email and username entries pointing at it are left
+     * behind and ignored on the next lookup.
+     */
+    public void evict(String id) {
+        invalidations.incrementAndGet();
+        if (id != null) {
+            byId.invalidate(id);
+            if (recentlyChanged != null) {
+                recentlyChanged.put(id, Boolean.TRUE);
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        // Changes that were not seen individually may not have reached the secondaries yet
+        primaryOnlyUntil = nanoClock.getAsLong() + maxStalenessNanos;
+        byId.invalidateAll();
+        idByEmail.invalidateAll();
+        idByUsername.invalidateAll();
+    }
+
+    public long size() {
+        byId.cleanUp();
+        return byId.estimatedSize();
+    }
+
+    /**
+     * Reads through {@code secondary} when the read preference allows it, falling back to
+     * {@code primary} for anything a lagging member could get wrong.
+     */
+    private Optional<User> read(Supplier<Optional<User>> secondary, Supplier<Optional<User>> primary) {
+        if (recentlyChanged == null || nanoClock.getAsLong() - primaryOnlyUntil < 0) {
+            return primary.get();
+        }
+        Optional<User> user = secondary.get();
+        if (user.isEmpty()) {
+            notFoundFallbacks.increment();
+            return primary.get();
+        }
+        String id = user.get().getId();
+        if (id != null && recentlyChanged.getIfPresent(id) != null) {
+            changedFallbacks.increment();
+            return primary.get();
+        }
+        return user;
+    }
+
+    private static Counter fallbackCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.user.reads.primary.fallbacks")
+                .description("User lookups read from a secondary and then repeated on the primary")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private Optional<User> find(Cache<String, String> index, String key, Function<User, String> field,
+                                Supplier<Optional<User>> loader) {
+        if (key == null) {
+            return loader.get();
+        }
+        String id = index.getIfPresent(key);
+        if (id != null) {
+            User cached = byId.getIfPresent(id);
+            if (cached != null && key.equals(field.apply(cached))) {
+                return Optional.of(cached);
+            }
+        }
+        return load(loader);
+    }
+
+    private Optional<User> load(Supplier<Optional<User>> loader) {
+        long generation = invalidations.get();
+        Optional<User> loaded = loader.get();
+        loaded.ifPresent(user -> {
+            if (user.getId() != null && invalidations.get() == generation) {
+                byId.put(user.getId(), user);
+                if (user.getEmail() != null) {
+                    idByEmail.put(user.getEmail(), user.getId());
+                }
+                if (user.getUsername() != null) {
+                    idByUsername.put(user.getUsername(), user.getId());
+                }
+            }
+        });
+        return loaded;
+    }
+}
@@ -0,0 +1,115 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of tokens whose signature has already been verified. Entries are keyed by
+ * a SHA-256 digest of the token, so raw bearer tokens are never retained, only successful
+ * verifications are stored, and each entry expires exactly when the token's {@code exp}
+ * passes. Eviction is W-TinyLFU (Caffeine).
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final InstancePool<MessageDigest> SHA_256 = new InstancePool<>(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final Cache<TokenDigest, TokenVerification> cache;
+
+    public VerifiedTokenCache(long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${jwt.cache.max-size:10000}") long maxSize, MeterRegistry meterRegistry) {
+        this(maxSize);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "verified_tokens");
+    }
+
+    /**
+     * Returns the cached verification, or {@code null} when the token is unknown or has
+     * expired in the meantime.
+     */
+    public TokenVerification get(String token) {
+        TokenVerification verified = cache.getIfPresent(TokenDigest.of(token));
+        if (verified != null && verified.isExpired(System.currentTimeMillis())) {
+            return null;
+        }
+        return verified;
+    }
+
+    public void put(String token, TokenVerification verified) {
+        if (verified.isValid() && !verified.isExpired(System.currentTimeMillis())) {
+            cache.put(TokenDigest.of(token), verified);
+        }
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(TokenDigest.of(token));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /** First 128 bits of the token's SHA-256, which is plenty to avoid collisions. */
+    private record TokenDigest(long high, long low) {
+
+        static TokenDigest of(String token) {
+            MessageDigest digest = SHA_256.acquire();
+            ByteBuffer hash = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+            SHA_256.release(digest);
+            return new TokenDigest(hash.getLong(), hash.getLong());
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<TokenDigest, TokenVerification> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, TokenVerification value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, TokenVerification value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, TokenVerification value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
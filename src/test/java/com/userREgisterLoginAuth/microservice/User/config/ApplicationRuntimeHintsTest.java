@@ -0,0 +1,57 @@
+package com.userREgisterLoginAuth.microservice.User.config;
+
+import com.userREgisterLoginAuth.microservice.User.dto.LoginDto;
+import com.userREgisterLoginAuth.microservice.User.dto.TokenIntrospectionDto;
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApplicationRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void registerHints_ShouldCoverDtosAndDocuments() {
+        // Act
+        new ApplicationRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Assert
+        assertTrue(RuntimeHintsPredicates.reflection().onType(User.class)
+                .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(User.class, "getEmail").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(LoginDto.class, "setPassword").test(hints));
+        // Nested types reached through properties are registered as well
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TokenIntrospectionDto.class).test(hints));
+    }
+
+    @Test
+    void registerHints_ShouldCoverJjwtImplementationAndServiceFiles() {
+        // Act
+        new ApplicationRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Assert
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.jackson.io.JacksonSerializer"))
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtParserBuilder")).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+    }
+
+    @Test
+    void bindingTypes_ShouldFindEveryDtoAndDocument() {
+        // Act
+        var types = ApplicationRuntimeHints.bindingTypes(getClass().getClassLoader());
+
+        // Assert
+        assertTrue(types.contains(User.class));
+        assertTrue(types.contains(LoginDto.class));
+        assertTrue(types.stream().noneMatch(type -> type.getPackageName().endsWith(".service")));
+    }
+}
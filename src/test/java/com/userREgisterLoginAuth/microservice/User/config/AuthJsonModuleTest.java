@@ -0,0 +1,81 @@
+package com.userREgisterLoginAuth.microservice.User.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.userREgisterLoginAuth.microservice.User.dto.AuthResponseDto;
+import com.userREgisterLoginAuth.microservice.User.dto.LoginDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserInfoDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserRegistrationDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthJsonModuleTest {
+
+    private ObjectMapper databind;
+    private ObjectMapper handWritten;
+
+    @BeforeEach
+    void setUp() {
+        // Spring Boot's defaults for the settings the module depends on
+        databind = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        handWritten = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .registerModule(new AuthJsonModule());
+    }
+
+    @Test
+    void authResponse_ShouldSerializeExactlyLikeDatabind() throws Exception {
+        // Arrange
+        AuthResponseDto success = new AuthResponseDto("access", "refresh", "Login successful", true,
+                new UserInfoDto("id-1", "john@example.com", "johndoe", "John \"J\"", null, "USER"));
+        AuthResponseDto failure = new AuthResponseDto(null, "Invalid email or password", false);
+
+        // Act & Assert
+        for (AuthResponseDto response : List.of(success, failure)) {
+            assertEquals(databind.writeValueAsString(response), handWritten.writeValueAsString(response));
+        }
+        UserInfoDto user = success.getUser();
+        assertEquals(databind.writeValueAsString(user), handWritten.writeValueAsString(user));
+    }
+
+    @Test
+    void registration_ShouldDeserializeLikeDatabind() throws Exception {
+        // Arrange
+        String json = "{\"email\":\"john@example.com\",\"username\":\"johndoe\",\"password\":\"password123\","
+                + "\"firstName\":\"John\",\"lastName\":null,\"extra\":{\"nested\":[1,2]},\"age\":42}";
+
+        // Act
+        UserRegistrationDto registration = handWritten.readValue(json, UserRegistrationDto.class);
+
+        // Assert
+        assertEquals(databind.readValue(json, UserRegistrationDto.class), registration);
+        assertEquals("johndoe", registration.getUsername());
+        assertNull(registration.getLastName());
+    }
+
+    @Test
+    void login_ShouldCoerceScalarsAndIgnoreUnknownFields() throws Exception {
+        // Arrange
+        String json = "{\"remember\":true,\"password\":12345,\"email\":\"john@example.com\"}";
+
+        // Act
+        LoginDto login = handWritten.readValue(json, LoginDto.class);
+
+        // Assert
+        assertEquals(databind.readValue(json, LoginDto.class), login);
+        assertEquals("12345", login.getPassword());
+        assertEquals(new LoginDto(), handWritten.readValue("{}", LoginDto.class));
+    }
+
+    @Test
+    void login_ObjectInPlaceOfString_ShouldBeRejected() {
+        // Act & Assert
+        assertThrows(MismatchedInputException.class,
+                () -> handWritten.readValue("{\"email\":{\"$ne\":null},\"password\":\"x\"}", LoginDto.class));
+        assertThrows(MismatchedInputException.class, () -> handWritten.readValue("[]", LoginDto.class));
+    }
+}
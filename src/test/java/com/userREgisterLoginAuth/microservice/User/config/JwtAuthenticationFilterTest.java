@@ -0,0 +1,121 @@
+package com.userREgisterLoginAuth.microservice.User.config;
+
+import com.userREgisterLoginAuth.microservice.User.repository.InMemoryRevokedTokenRepository;
+import com.userREgisterLoginAuth.microservice.User.service.AuthMetrics;
+import com.userREgisterLoginAuth.microservice.User.service.JwtService;
+import com.userREgisterLoginAuth.microservice.User.service.RevokedTokenStore;
+import com.userREgisterLoginAuth.microservice.User.service.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtAuthenticationFilterTest {
+
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86400000L);
+        ReflectionTestUtils.setField(jwtService, "tokenCache", new VerifiedTokenCache(1000));
+        ReflectionTestUtils.setField(jwtService, "authMetrics", new AuthMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(jwtService, "revokedTokens",
+                new RevokedTokenStore(new InMemoryRevokedTokenRepository(), Duration.ofMinutes(1), new SimpleMeterRegistry()));
+        filter = new JwtAuthenticationFilter(jwtService, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_ValidBearerToken_ShouldAuthenticateFromClaims() throws Exception {
+        // Arrange
+        String token = jwtService.generateToken(Map.of(JwtService.ROLE_CLAIM, "ADMIN"), "testuser");
+
+        // Act
+        Authentication authentication = filterWithToken(token);
+
+        // Assert
+        assertNotNull(authentication);
+        assertTrue(authentication.isAuthenticated());
+        assertEquals("testuser", authentication.getName());
+        assertEquals("ROLE_ADMIN", authentication.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void doFilter_RepeatedToken_ShouldReuseCachedAuthentication() throws Exception {
+        // Arrange
+        String token = jwtService.generateToken(Map.of(JwtService.ROLE_CLAIM, "USER"), "testuser");
+
+        // Act
+        Authentication first = filterWithToken(token);
+        Authentication second = filterWithToken(token);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, filter.cachedAuthentications());
+    }
+
+    @Test
+    void doFilter_TokenWithoutRole_ShouldAuthenticateWithoutAuthorities() throws Exception {
+        // Arrange
+        String token = jwtService.generateToken("testuser");
+
+        // Act
+        Authentication authentication = filterWithToken(token);
+
+        // Assert
+        assertNotNull(authentication);
+        assertTrue(authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList().isEmpty());
+    }
+
+    @Test
+    void doFilter_InvalidToken_ShouldLeaveRequestAnonymous() throws Exception {
+        // Act
+        Authentication authentication = filterWithToken("invalid.token.value");
+
+        // Assert
+        assertNull(authentication);
+    }
+
+    @Test
+    void doFilter_NoAuthorizationHeader_ShouldContinueChain() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertNotNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private Authentication filterWithToken(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        assertNotNull(chain.getRequest());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
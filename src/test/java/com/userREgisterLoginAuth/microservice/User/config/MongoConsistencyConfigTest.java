@@ -0,0 +1,58 @@
+package com.userREgisterLoginAuth.microservice.User.config;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.TaggableReadPreference;
+import com.mongodb.WriteConcern;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MongoConsistencyConfigTest {
+
+    @Test
+    void readPreference_Secondary_ShouldCarryStalenessBound() {
+        // Act
+        ReadPreference preference = MongoConsistencyConfig.readPreference("secondaryPreferred", Duration.ofMinutes(2));
+
+        // Assert
+        assertEquals(ReadPreference.secondaryPreferred().getName(), preference.getName());
+        assertEquals(120L, ((TaggableReadPreference) preference).getMaxStaleness(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void readPreference_Primary_ShouldIgnoreStaleness() {
+        // Act
+        ReadPreference preference = MongoConsistencyConfig.readPreference("primary", Duration.ZERO);
+
+        // Assert
+        assertEquals(ReadPreference.primary(), preference);
+    }
+
+    @Test
+    void readPreference_StalenessBelowDriverMinimum_ShouldFail() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> MongoConsistencyConfig.readPreference("nearest", Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void writeConcern_ShouldAcceptNamesAndMemberCounts() {
+        // Act
+        WriteConcern majority = MongoConsistencyConfig.writeConcern("majority", Duration.ofSeconds(5));
+        WriteConcern two = MongoConsistencyConfig.writeConcern("2", Duration.ZERO);
+
+        // Assert
+        assertEquals(WriteConcern.MAJORITY.withWTimeout(5, TimeUnit.SECONDS), majority);
+        assertEquals(new WriteConcern(2), two);
+    }
+
+    @Test
+    void writeConcern_Unknown_ShouldFail() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> MongoConsistencyConfig.writeConcern("quorum", Duration.ZERO));
+    }
+}
@@ -0,0 +1,59 @@
+package com.userREgisterLoginAuth.microservice.User.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordEncoderConfigTest {
+
+    private final PasswordEncoder encoder = PasswordEncoderConfig.delegatingEncoder(5);
+
+    @Test
+    void encode_ShouldWritePrefixedHashAtTargetStrength() {
+        // Act
+        String hash = encoder.encode("password123");
+
+        // Assert
+        assertTrue(hash.startsWith("{bcrypt}$2a$05$"));
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void legacyHash_ShouldMatchAndAskForUpgrade() {
+        // Arrange
+        String legacy = new BCryptPasswordEncoder(5).encode("password123");
+
+        // Act & Assert
+        assertTrue(encoder.matches("password123", legacy));
+        assertFalse(encoder.matches("wrong", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    void hashAtOtherStrength_ShouldOnlyAskForUpgradeWhenWeaker() {
+        // Arrange
+        String weaker = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("password123");
+        String stronger = "{bcrypt}" + new BCryptPasswordEncoder(6).encode("password123");
+
+        // Act & Assert
+        assertTrue(encoder.matches("password123", weaker));
+        assertTrue(encoder.upgradeEncoding(weaker));
+        assertTrue(encoder.matches("password123", stronger));
+        assertFalse(encoder.upgradeEncoding(stronger));
+    }
+
+    @Test
+    void otherAlgorithm_ShouldMatchAndAskForUpgrade() {
+        // Arrange
+        String pbkdf2 = "{" + PasswordEncoderConfig.PBKDF2 + "}"
+                + Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8().encode("password123");
+
+        // Act & Assert
+        assertTrue(encoder.matches("password123", pbkdf2));
+        assertTrue(encoder.upgradeEncoding(pbkdf2));
+    }
+}
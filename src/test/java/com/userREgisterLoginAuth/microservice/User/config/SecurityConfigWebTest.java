@@ -0,0 +1,87 @@
+package com.userREgisterLoginAuth.microservice.User.config;
+
+import com.userREgisterLoginAuth.microservice.User.controller.AuthController;
+import com.userREgisterLoginAuth.microservice.User.dto.TokenIntrospectionResponseDto;
+import com.userREgisterLoginAuth.microservice.User.service.AuthService;
+import com.userREgisterLoginAuth.microservice.User.service.JwtService;
+import com.userREgisterLoginAuth.microservice.User.service.TokenIntrospectionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The servlet security rules, exercised through the real filter chain.
+ */
+@WebMvcTest(AuthController.class)
+@Import(SecurityConfig.class)
+class SecurityConfigWebTest {
+
+    private static final String INTROSPECTION_REQUEST = "{\"tokens\":[\"a.b.c\"]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AuthService authService;
+
+    @MockBean
+    private TokenIntrospectionService tokenIntrospectionService;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @Test
+    void introspect_Unauthenticated_ShouldReturn401() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/introspect")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(INTROSPECTION_REQUEST))
+                .andExpect(status().isUnauthorized());
+        verifyNoInteractions(tokenIntrospectionService);
+    }
+
+    @Test
+    void introspect_RegularUser_ShouldReturn403() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/introspect")
+                        .with(user("johndoe").roles("USER"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(INTROSPECTION_REQUEST))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(tokenIntrospectionService);
+    }
+
+    @Test
+    void introspect_Gateway_ShouldReturn200() throws Exception {
+        // Arrange
+        when(tokenIntrospectionService.introspect(any())).thenReturn(new TokenIntrospectionResponseDto(List.of()));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/introspect")
+                        .with(user("gateway").roles(SecurityConfig.GATEWAY_ROLE))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(INTROSPECTION_REQUEST))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void health_Unauthenticated_ShouldStayPublic() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/auth/health"))
+                .andExpect(status().isOk());
+    }
+}
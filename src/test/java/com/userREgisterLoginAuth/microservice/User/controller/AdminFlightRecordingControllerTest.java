@@ -0,0 +1,122 @@
+package com.userREgisterLoginAuth.microservice.User.controller;
+
+import com.userREgisterLoginAuth.microservice.User.dto.FlightRecordingDto;
+import com.userREgisterLoginAuth.microservice.User.exception.GlobalExceptionHandler;
+import com.userREgisterLoginAuth.microservice.User.service.AuthFlightRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminFlightRecordingControllerTest {
+
+    private static final String NAME = "auth-20240501-100000-000-manual.jfr";
+
+    @Mock
+    private AuthFlightRecorder flightRecorder;
+
+    @InjectMocks
+    private AdminFlightRecordingController controller;
+
+    @TempDir
+    Path tempDir;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void dumpRecording_ShouldDumpRequestedWindow() throws Exception {
+        // Arrange
+        when(flightRecorder.isRecording()).thenReturn(true);
+        when(flightRecorder.dump(Duration.ofMinutes(3), "manual"))
+                .thenReturn(new FlightRecordingDto(NAME, 1024, Instant.parse("2024-05-01T10:00:00Z")));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/flight-recordings").param("minutes", "3"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/admin/flight-recordings/" + NAME))
+                .andExpect(jsonPath("$.name").value(NAME))
+                .andExpect(jsonPath("$.sizeBytes").value(1024));
+    }
+
+    @Test
+    void dumpRecording_NotRecording_ShouldReturn503() throws Exception {
+        // Arrange
+        when(flightRecorder.isRecording()).thenReturn(false);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/flight-recordings"))
+                .andExpect(status().isServiceUnavailable());
+        verify(flightRecorder, never()).dump(any(), any());
+    }
+
+    @Test
+    void dumpRecording_WindowOutOfRange_ShouldReturn400() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/flight-recordings").param("minutes", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listRecordings_ShouldReturnDumps() throws Exception {
+        // Arrange
+        when(flightRecorder.listDumps())
+                .thenReturn(List.of(new FlightRecordingDto(NAME, 2048, Instant.parse("2024-05-01T10:00:00Z"))));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/flight-recordings"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value(NAME));
+    }
+
+    @Test
+    void downloadRecording_ShouldReturnFile() throws Exception {
+        // Arrange
+        Path file = Files.write(tempDir.resolve(NAME), new byte[]{1, 2, 3});
+        when(flightRecorder.dumpFile(NAME)).thenReturn(file);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/flight-recordings/" + NAME))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + NAME + "\""))
+                .andExpect(content().bytes(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    void downloadRecording_Unknown_ShouldReturn404() throws Exception {
+        // Arrange
+        when(flightRecorder.dumpFile("auth-missing.jfr")).thenThrow(new NoSuchFileException("auth-missing.jfr"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/flight-recordings/auth-missing.jfr"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,183 @@
+package com.userREgisterLoginAuth.microservice.User.controller;
+
+import com.userREgisterLoginAuth.microservice.User.dto.UserImportErrorDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserImportResultDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserPageDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserSummaryDto;
+import com.userREgisterLoginAuth.microservice.User.exception.GlobalExceptionHandler;
+import com.userREgisterLoginAuth.microservice.User.exception.InvalidCursorException;
+import com.userREgisterLoginAuth.microservice.User.repository.UserListFilter;
+import com.userREgisterLoginAuth.microservice.User.service.UserExportService;
+import com.userREgisterLoginAuth.microservice.User.service.UserImportService;
+import com.userREgisterLoginAuth.microservice.User.service.UserListingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminUserControllerTest {
+
+    @Mock
+    private UserImportService userImportService;
+
+    @Mock
+    private UserExportService userExportService;
+
+    @Mock
+    private UserListingService userListingService;
+
+    @InjectMocks
+    private AdminUserController adminUserController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(adminUserController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void importUsers_ShouldReturnReport() throws Exception {
+        // Arrange
+        UserImportResultDto result = new UserImportResultDto();
+        result.setReceived(2);
+        result.setImported(1);
+        result.setFailed(1);
+        result.getErrors().add(new UserImportErrorDto(2, "b@example.com", "Username already taken"));
+        when(userImportService.importUsers(any(InputStream.class), eq(true))).thenReturn(result);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/users/import")
+                .param("passwordsHashed", "true")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{}\n{}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].error").value("Username already taken"));
+    }
+
+    @Test
+    void importUsers_WrongContentType_ShouldBeRejected() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/users/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    void exportUsers_ShouldStreamNdjson() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write("{\"id\":\"1\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(userExportService).exportUsers(any(OutputStream.class));
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/admin/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string("{\"id\":\"1\"}\n"));
+    }
+
+    @Test
+    void exportUsers_AcceptingGzip_ShouldCompress() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write("{\"id\":\"1\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(userExportService).exportUsers(any(OutputStream.class));
+
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/admin/users/export")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+
+        // Assert
+        byte[] compressed = result.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertEquals("{\"id\":\"1\"}\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void listUsers_ShouldPassFiltersAndReturnPage() throws Exception {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        UserSummaryDto user = new UserSummaryDto("1", "a@example.com", "alice", "Alice", "Doe", "ADMIN", true,
+                LocalDateTime.of(2024, 5, 1, 10, 15, 30));
+        when(userListingService.listUsers(new UserListFilter("ADMIN", true, from, null), "abc", 20))
+                .thenReturn(new UserPageDto(List.of(user), "next"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/users")
+                .param("role", "ADMIN")
+                .param("enabled", "true")
+                .param("createdFrom", "2024-01-01T00:00:00")
+                .param("cursor", "abc")
+                .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].username").value("alice"))
+                .andExpect(jsonPath("$.items[0].password").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void listUsers_InvalidCursor_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        when(userListingService.listUsers(any(), eq("bad"), eq(50))).thenThrow(new InvalidCursorException("Invalid cursor"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/users").param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor"));
+    }
+
+    @Test
+    void listUsers_MalformedDate_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/users").param("createdFrom", "yesterday"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.createdFrom").exists());
+    }
+}
@@ -2,10 +2,20 @@ package com.userREgisterLoginAuth.microservice.User.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.userREgisterLoginAuth.microservice.User.dto.AuthResponseDto;
+import com.userREgisterLoginAuth.microservice.User.dto.AvailabilityDto;
 import com.userREgisterLoginAuth.microservice.User.dto.LoginDto;
+import com.userREgisterLoginAuth.microservice.User.dto.RefreshTokenDto;
+import com.userREgisterLoginAuth.microservice.User.dto.RevokeTokenDto;
+import com.userREgisterLoginAuth.microservice.User.dto.TokenIntrospectionDto;
+import com.userREgisterLoginAuth.microservice.User.dto.TokenIntrospectionRequestDto;
+import com.userREgisterLoginAuth.microservice.User.dto.TokenIntrospectionResponseDto;
 import com.userREgisterLoginAuth.microservice.User.dto.UserInfoDto;
 import com.userREgisterLoginAuth.microservice.User.dto.UserRegistrationDto;
+import com.userREgisterLoginAuth.microservice.User.exception.GlobalExceptionHandler;
+import com.userREgisterLoginAuth.microservice.User.exception.ServiceOverloadedException;
+import com.userREgisterLoginAuth.microservice.User.exception.TooManyAttemptsException;
 import com.userREgisterLoginAuth.microservice.User.service.AuthService;
+import com.userREgisterLoginAuth.microservice.User.service.TokenIntrospectionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,7 +26,14 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -28,6 +45,9 @@ class AuthControllerTest {
     @Mock
     private AuthService authService;
 
+    @Mock
+    private TokenIntrospectionService tokenIntrospectionService;
+
     @InjectMocks
     private AuthController authController;
 
@@ -36,7 +56,9 @@ class AuthControllerTest {
 
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(authController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(authController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
         objectMapper = new ObjectMapper();
     }
 
@@ -114,7 +136,7 @@ class AuthControllerTest {
         AuthResponseDto response = new AuthResponseDto("jwtToken", "Login successful", true);
         response.setUser(userInfo);
 
-        when(authService.loginUser(any(LoginDto.class))).thenReturn(response);
+        when(authService.loginUser(any(LoginDto.class), any())).thenReturn(response);
 
         // Act & Assert
         mockMvc.perform(post("/api/auth/login")
@@ -127,6 +149,89 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.user.email").value("test@example.com"));
     }
 
+    @Test
+    void refreshToken_Success() throws Exception {
+        // Arrange
+        AuthResponseDto response = new AuthResponseDto("newToken", "Token refreshed", true);
+        response.setRefreshToken("newRefreshToken");
+        when(authService.refreshToken("refreshToken")).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenDto("refreshToken"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("newToken"))
+                .andExpect(jsonPath("$.refreshToken").value("newRefreshToken"));
+    }
+
+    @Test
+    void refreshToken_Invalid_ShouldReturnUnauthorized() throws Exception {
+        // Arrange
+        when(authService.refreshToken("stale"))
+                .thenReturn(new AuthResponseDto(null, "Invalid refresh token", false));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenDto("stale"))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    @Test
+    void refreshToken_Missing_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(authService);
+    }
+
+    @Test
+    void revokeToken_ShouldAlwaysReturnOk() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/revoke")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RevokeTokenDto("anyToken"))))
+                .andExpect(status().isOk());
+        verify(authService).revokeToken("anyToken");
+    }
+
+    @Test
+    void introspectTokens_ShouldReturnResultPerToken() throws Exception {
+        // Arrange
+        when(tokenIntrospectionService.introspect(List.of("good", "bad"))).thenReturn(new TokenIntrospectionResponseDto(List.of(
+                new TokenIntrospectionDto(true, "testuser", Instant.parse("2026-10-18T09:00:00Z"), List.of("USER"), null),
+                new TokenIntrospectionDto(false, null, null, null, "expired"))));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/introspect")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TokenIntrospectionRequestDto(List.of("good", "bad")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].active").value(true))
+                .andExpect(jsonPath("$.results[0].subject").value("testuser"))
+                .andExpect(jsonPath("$.results[0].roles[0]").value("USER"))
+                .andExpect(jsonPath("$.results[1].active").value(false))
+                .andExpect(jsonPath("$.results[1].error").value("expired"))
+                .andExpect(jsonPath("$.results[1].subject").doesNotExist());
+    }
+
+    @Test
+    void introspectTokens_TooManyTokens_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        List<String> tokens = Collections.nCopies(TokenIntrospectionRequestDto.MAX_TOKENS + 1, "token");
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/introspect")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TokenIntrospectionRequestDto(tokens))))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(tokenIntrospectionService);
+    }
+
     @Test
     void loginUser_InvalidCredentials() throws Exception {
         // Arrange
@@ -135,7 +240,7 @@ class AuthControllerTest {
         loginDto.setPassword("wrongpassword");
 
         AuthResponseDto response = new AuthResponseDto(null, "Invalid email or password", false);
-        when(authService.loginUser(any(LoginDto.class))).thenReturn(response);
+        when(authService.loginUser(any(LoginDto.class), any())).thenReturn(response);
 
         // Act & Assert
         mockMvc.perform(post("/api/auth/login")
@@ -159,6 +264,67 @@ class AuthControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void loginUser_HashingPoolSaturated_ShouldReturnServiceUnavailable() throws Exception {
+        // Arrange
+        LoginDto loginDto = new LoginDto();
+        loginDto.setEmail("test@example.com");
+        loginDto.setPassword("password123");
+
+        when(authService.loginUser(any(LoginDto.class), any()))
+                .thenThrow(new ServiceOverloadedException("Authentication service is busy, please retry", 2));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginDto)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.error").value("Authentication service is busy, please retry"));
+    }
+
+    @Test
+    void loginUser_Throttled_ShouldReturnTooManyRequests() throws Exception {
+        // Arrange
+        LoginDto loginDto = new LoginDto("test@example.com", "password123");
+        when(authService.loginUser(any(LoginDto.class), eq("203.0.113.7")))
+                .thenThrow(new TooManyAttemptsException("Too many login attempts, try again later", 6));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr("203.0.113.7");
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginDto)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "6"))
+                .andExpect(jsonPath("$.error").value("Too many login attempts, try again later"));
+    }
+
+    @Test
+    void checkAvailability_ShouldReturnRequestedFieldsOnly() throws Exception {
+        // Arrange
+        when(authService.checkAvailability(null, "testuser"))
+                .thenReturn(new AvailabilityDto(null, null, "testuser", false));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/auth/availability").param("username", "testuser"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("testuser"))
+                .andExpect(jsonPath("$.usernameAvailable").value(false))
+                .andExpect(jsonPath("$.email").doesNotExist())
+                .andExpect(jsonPath("$.emailAvailable").doesNotExist());
+    }
+
+    @Test
+    void checkAvailability_WithoutParameters_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/auth/availability"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void healthCheck() throws Exception {
         // Act & Assert
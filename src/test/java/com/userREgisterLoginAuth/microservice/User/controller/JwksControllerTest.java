@@ -0,0 +1,77 @@
+package com.userREgisterLoginAuth.microservice.User.controller;
+
+import com.userREgisterLoginAuth.microservice.User.service.JwtKeyRing;
+import com.userREgisterLoginAuth.microservice.User.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwksControllerTest {
+
+    private static final String JSON = "{\"keys\":[{\"kty\":\"OKP\",\"crv\":\"Ed25519\",\"x\":\"abc\",\"kid\":\"k1\"}]}";
+    private static final String ETAG = "\"2jmj7l5rSw0yVb_vlWAYkK_YBwk\"";
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private JwtKeyRing keyRing;
+
+    @InjectMocks
+    private JwksController controller;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(controller, "maxAge", Duration.ofHours(1));
+        ReflectionTestUtils.setField(controller, "staleIfError", Duration.ofDays(1));
+        when(jwtService.getKeyRing()).thenReturn(keyRing);
+        when(keyRing.getJwks()).thenReturn(new JwtKeyRing.Jwks(JSON.getBytes(StandardCharsets.UTF_8), ETAG));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void getJwks_ShouldReturnKeysWithCacheHeaders() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, public, stale-if-error=86400"))
+                .andExpect(jsonPath("$.keys[0].kid").value("k1"));
+    }
+
+    @Test
+    void getJwks_MatchingETag_ShouldReturn304WithoutBody() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/.well-known/jwks.json").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getJwks_StaleETag_ShouldReturnKeys() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/.well-known/jwks.json").header(HttpHeaders.IF_NONE_MATCH, "\"previous\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.keys[0].crv").value("Ed25519"));
+    }
+}
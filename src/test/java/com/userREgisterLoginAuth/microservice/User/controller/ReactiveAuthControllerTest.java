@@ -0,0 +1,177 @@
+package com.userREgisterLoginAuth.microservice.User.controller;
+
+import com.userREgisterLoginAuth.microservice.User.dto.AuthResponseDto;
+import com.userREgisterLoginAuth.microservice.User.dto.LoginDto;
+import com.userREgisterLoginAuth.microservice.User.dto.RefreshTokenDto;
+import com.userREgisterLoginAuth.microservice.User.dto.RevokeTokenDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserInfoDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserRegistrationDto;
+import com.userREgisterLoginAuth.microservice.User.exception.GlobalExceptionHandler;
+import com.userREgisterLoginAuth.microservice.User.exception.TooManyAttemptsException;
+import com.userREgisterLoginAuth.microservice.User.service.ReactiveAuthService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveAuthControllerTest {
+
+    @Mock
+    private ReactiveAuthService authService;
+
+    private AnnotationConfigApplicationContext context;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        // The controller uses field injection, so it is wired by a minimal WebFlux context
+        // instead of bindToController
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().setActiveProfiles("reactive");
+        context.getBeanFactory().registerSingleton("reactiveAuthService", authService);
+        context.register(WebFluxConfig.class, ReactiveAuthController.class, GlobalExceptionHandler.class);
+        context.refresh();
+        webTestClient = WebTestClient.bindToApplicationContext(context).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @EnableWebFlux
+    static class WebFluxConfig {
+    }
+
+    @Test
+    void registerUser_Success() {
+        // Arrange
+        UserRegistrationDto registrationDto = new UserRegistrationDto("test@example.com", "testuser", "password123", "John", "Doe");
+        AuthResponseDto response = new AuthResponseDto("jwtToken", "User registered successfully", true);
+        response.setUser(new UserInfoDto("1", "test@example.com", "testuser", "John", "Doe", "USER"));
+        when(authService.registerUser(any(UserRegistrationDto.class))).thenReturn(Mono.just(response));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(registrationDto)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(true)
+                .jsonPath("$.token").isEqualTo("jwtToken")
+                .jsonPath("$.user.username").isEqualTo("testuser");
+    }
+
+    @Test
+    void registerUser_ValidationError() {
+        // Act & Assert
+        webTestClient.post().uri("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UserRegistrationDto())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.email").isEqualTo("Email is required");
+    }
+
+    @Test
+    void loginUser_InvalidCredentials() {
+        // Arrange
+        when(authService.loginUser(any(LoginDto.class), any()))
+                .thenReturn(Mono.just(new AuthResponseDto(null, "Invalid email or password", false)));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new LoginDto("test@example.com", "wrongpassword"))
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid email or password");
+    }
+
+    @Test
+    void loginUser_Throttled_ShouldReturnTooManyRequests() {
+        // Arrange
+        when(authService.loginUser(any(LoginDto.class), any()))
+                .thenReturn(Mono.error(new TooManyAttemptsException("Too many login attempts, try again later", 6)));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new LoginDto("test@example.com", "password123"))
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().valueEquals("Retry-After", "6");
+    }
+
+    @Test
+    void refreshToken_Success() {
+        // Arrange
+        AuthResponseDto response = new AuthResponseDto("newToken", "Token refreshed", true);
+        response.setRefreshToken("newRefreshToken");
+        when(authService.refreshToken("refreshToken")).thenReturn(Mono.just(response));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RefreshTokenDto("refreshToken"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.token").isEqualTo("newToken")
+                .jsonPath("$.refreshToken").isEqualTo("newRefreshToken");
+    }
+
+    @Test
+    void refreshToken_Invalid_ShouldReturnUnauthorized() {
+        // Arrange
+        when(authService.refreshToken("usedToken"))
+                .thenReturn(Mono.just(new AuthResponseDto(null, "Invalid refresh token", false)));
+
+        // Act & Assert
+        webTestClient.post().uri("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RefreshTokenDto("usedToken"))
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invalid refresh token");
+    }
+
+    @Test
+    void revokeToken_ShouldAlwaysReturnOk() {
+        // Arrange
+        when(authService.revokeToken("token")).thenReturn(Mono.empty());
+
+        // Act & Assert
+        webTestClient.post().uri("/api/auth/revoke")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new RevokeTokenDto("token"))
+                .exchange()
+                .expectStatus().isOk();
+        verify(authService).revokeToken("token");
+    }
+
+    @Test
+    void healthCheck() {
+        // Act & Assert
+        webTestClient.get().uri("/api/auth/health")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Auth Service is running!");
+    }
+}
@@ -0,0 +1,75 @@
+package com.userREgisterLoginAuth.microservice.User.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryUserRepositoryTest extends UserRepositoryContractTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path tempDir;
+
+    @Override
+    protected UserRepository createRepository() {
+        return new InMemoryUserRepository(objectMapper, "");
+    }
+
+    @Test
+    void snapshot_ShouldRoundTripUsersAndKeepIndexes() {
+        // Arrange
+        Path file = tempDir.resolve("users.ndjson");
+        InMemoryUserRepository first = new InMemoryUserRepository(objectMapper, file.toString());
+        User alice = first.insert(new User("alice@example.com", "alice", "hash", "Alice", "Smith"));
+
+        // Act
+        first.snapshot();
+        InMemoryUserRepository restored = new InMemoryUserRepository(objectMapper, file.toString());
+        restored.loadSnapshot();
+
+        // Assert
+        User loaded = restored.findByEmail("alice@example.com").orElseThrow();
+        assertEquals(alice.getId(), loaded.getId());
+        assertEquals("hash", loaded.getPassword());
+        assertEquals(first.findById(alice.getId()).orElseThrow().getCreatedAt(), loaded.getCreatedAt());
+        assertTrue(restored.existsByUsername("alice"));
+    }
+
+    @Test
+    void snapshot_Unchanged_ShouldNotRewriteTheFile() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("users.ndjson");
+        InMemoryUserRepository repo = new InMemoryUserRepository(objectMapper, file.toString());
+        repo.insert(new User("alice@example.com", "alice", "hash", "Alice", "Smith"));
+        repo.snapshot();
+        FileTime marker = FileTime.from(Instant.parse("2020-01-01T00:00:00Z"));
+        Files.setLastModifiedTime(file, marker);
+
+        // Act
+        repo.snapshot();
+
+        // Assert
+        assertEquals(marker, Files.getLastModifiedTime(file));
+    }
+
+    @Test
+    void snapshot_WithoutFile_ShouldDoNothing() {
+        // Arrange
+        InMemoryUserRepository repo = new InMemoryUserRepository(objectMapper, "");
+        repo.insert(new User("alice@example.com", "alice", "hash", "Alice", "Smith"));
+
+        // Act & Assert
+        assertDoesNotThrow(repo::snapshot);
+        assertDoesNotThrow(repo::loadSnapshot);
+    }
+}
@@ -0,0 +1,91 @@
+package com.userREgisterLoginAuth.microservice.User.repository;
+
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import com.userREgisterLoginAuth.microservice.User.service.UserIndexInitializer;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the repository contract against a real MongoDB, started in a container. Skipped
+ * when no Docker daemon is available.
+ */
+@DataMongoTest
+@Import(UserIndexInitializer.class)
+@Testcontainers(disabledWithoutDocker = true)
+class MongoUserRepositoryTest extends UserRepositoryContractTest {
+
+    @Container
+    @ServiceConnection
+    static final MongoDBContainer MONGO = new MongoDBContainer("mongo:6.0");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserIndexInitializer indexInitializer;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    protected UserRepository createRepository() {
+        // The unique indexes are what the duplicate-key cases check
+        indexInitializer.ensureIndexes();
+        userRepository.deleteAll();
+        return userRepository;
+    }
+
+    @Test
+    void findPage_WithCursor_ShouldBoundTheIndexScanAtTheCursor() {
+        // Arrange
+        LocalDateTime cursor = LocalDateTime.of(2024, 5, 1, 10, 0);
+        Query query = new Query(UserRepositoryCustomImpl.pageCriteria(
+                new UserListFilter(null, null, null, null), cursor, new ObjectId().toHexString()))
+                .with(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id")));
+
+        // Act
+        Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(User.class))
+                .find(query.getQueryObject())
+                .sort(query.getSortObject())
+                .limit(10)
+                .explain();
+
+        // Assert
+        List<Document> scans = new ArrayList<>();
+        collectIndexScans(explain.get("queryPlanner", Document.class).get("winningPlan"), scans);
+        assertFalse(scans.isEmpty(), () -> "No index scan in " + explain.toJson());
+        for (Document scan : scans) {
+            Object createdAtBounds = scan.get("indexBounds", Document.class).get("createdAt");
+            // Unbounded, the descending scan would start at MaxKey: the newest user
+            assertFalse(String.valueOf(createdAtBounds).contains("MaxKey"), () -> "Unbounded scan " + scan.toJson());
+        }
+    }
+
+    private static void collectIndexScans(Object stage, List<Document> scans) {
+        if (stage instanceof Document document) {
+            if ("createdAt_id".equals(document.get("indexName")) && document.containsKey("indexBounds")) {
+                scans.add(document);
+            }
+            document.values().forEach(value -> collectIndexScans(value, scans));
+        } else if (stage instanceof List<?> list) {
+            list.forEach(value -> collectIndexScans(value, scans));
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.userREgisterLoginAuth.microservice.User.repository;
+
+import com.mongodb.ReadPreference;
+import com.userREgisterLoginAuth.microservice.User.dto.UserSummaryDto;
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import com.userREgisterLoginAuth.microservice.User.service.TakenIdentifierCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour every {@link UserRepository} implementation must share. Subclasses provide an
+ * empty repository for each test.
+ */
+abstract class UserRepositoryContractTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 5, 1, 10, 0);
+    private static final UserListFilter NO_FILTER = new UserListFilter(null, null, null, null);
+
+    protected UserRepository repository;
+
+    protected abstract UserRepository createRepository();
+
+    @BeforeEach
+    void setUpRepository() {
+        repository = createRepository();
+    }
+
+    @Test
+    void insert_ShouldAssignIdAndBeFoundByEachKey() {
+        // Act
+        User saved = repository.insert(user("alice"));
+
+        // Assert
+        assertNotNull(saved.getId());
+        assertEquals("alice", repository.findById(saved.getId()).orElseThrow().getUsername());
+        assertEquals(saved.getId(), repository.findByEmail("alice@example.com").orElseThrow().getId());
+        assertEquals(saved.getId(), repository.findByUsername("alice").orElseThrow().getId());
+        assertTrue(repository.existsByEmail("alice@example.com"));
+        assertTrue(repository.existsByUsername("alice"));
+        assertFalse(repository.existsByEmail("bob@example.com"));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void findWithReadPreference_ShouldFindInsertedUser() {
+        // Arrange
+        User saved = repository.insert(user("alice"));
+        ReadPreference nearest = ReadPreference.nearest(90, TimeUnit.SECONDS);
+
+        // Act & Assert
+        assertEquals(saved.getId(), repository.findByEmail("alice@example.com", nearest).orElseThrow().getId());
+        assertEquals(saved.getId(), repository.findByUsername("alice", nearest).orElseThrow().getId());
+        assertTrue(repository.findByEmail("bob@example.com", nearest).isEmpty());
+    }
+
+    @Test
+    void insert_DuplicateEmail_ShouldNameTheEmailIndex() {
+        // Arrange
+        repository.insert(user("alice"));
+        User sameEmail = user("alice2");
+        sameEmail.setEmail("alice@example.com");
+
+        // Act
+        DuplicateKeyException e = assertThrows(DuplicateKeyException.class, () -> repository.insert(sameEmail));
+
+        // Assert
+        assertEquals(TakenIdentifierCache.Field.EMAIL, TakenIdentifierCache.violatedField(e.getMessage()));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void insert_DuplicateUsername_ShouldNameTheUsernameIndexAndReserveNothing() {
+        // Arrange
+        repository.insert(user("alice"));
+        User sameUsername = user("alice");
+        sameUsername.setEmail("other@example.com");
+
+        // Act
+        DuplicateKeyException e = assertThrows(DuplicateKeyException.class, () -> repository.insert(sameUsername));
+
+        // Assert
+        assertEquals(TakenIdentifierCache.Field.USERNAME, TakenIdentifierCache.violatedField(e.getMessage()));
+        assertFalse(repository.existsByEmail("other@example.com"));
+        User retry = user("bob");
+        retry.setEmail("other@example.com");
+        assertDoesNotThrow(() -> repository.insert(retry));
+    }
+
+    @Test
+    void insert_ConcurrentSameEmail_ShouldAcceptExactlyOne() throws InterruptedException {
+        // Arrange
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger inserted = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < threads; i++) {
+            User candidate = user("racer" + i);
+            candidate.setEmail("race@example.com");
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    repository.insert(candidate);
+                    inserted.incrementAndGet();
+                } catch (DuplicateKeyException e) {
+                    // expected for all but one
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+
+        // Assert
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(1, inserted.get());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void save_ChangingEmail_ShouldFreeTheOldOne() {
+        // Arrange
+        User alice = repository.insert(user("alice"));
+        alice.setEmail("alice@new.example.com");
+
+        // Act
+        repository.save(alice);
+
+        // Assert
+        assertFalse(repository.existsByEmail("alice@example.com"));
+        assertEquals(alice.getId(), repository.findByEmail("alice@new.example.com").orElseThrow().getId());
+        assertDoesNotThrow(() -> repository.insert(user("alice2", "alice@example.com")));
+    }
+
+    @Test
+    void save_ToTakenUsername_ShouldFailAndKeepTheUser() {
+        // Arrange
+        repository.insert(user("alice"));
+        User bob = repository.insert(user("bob"));
+        bob.setUsername("alice");
+
+        // Act & Assert
+        assertThrows(DuplicateKeyException.class, () -> repository.save(bob));
+        assertEquals("bob", repository.findById(bob.getId()).orElseThrow().getUsername());
+        assertTrue(repository.existsByUsername("bob"));
+    }
+
+    @Test
+    void returnedUsers_ShouldBeDetachedFromTheStore() {
+        // Arrange
+        User alice = repository.insert(user("alice"));
+
+        // Act
+        alice.setFirstName("Changed");
+        repository.findById(alice.getId()).orElseThrow().setLastName("Changed");
+
+        // Assert
+        User stored = repository.findById(alice.getId()).orElseThrow();
+        assertEquals("First", stored.getFirstName());
+        assertEquals("Last", stored.getLastName());
+    }
+
+    @Test
+    void deleteById_ShouldFreeIdentifiers() {
+        // Arrange
+        User alice = repository.insert(user("alice"));
+
+        // Act
+        repository.deleteById(alice.getId());
+
+        // Assert
+        assertFalse(repository.existsById(alice.getId()));
+        assertFalse(repository.existsByEmail("alice@example.com"));
+        assertDoesNotThrow(() -> repository.insert(user("alice")));
+    }
+
+    @Test
+    void insertUnordered_ShouldReportFailuresByPositionAndInsertTheRest() {
+        // Arrange
+        repository.insert(user("alice"));
+        List<User> batch = List.of(user("bob"), user("alice", "fresh@example.com"), user("carol"));
+
+        // Act
+        Map<Integer, String> failures = repository.insertUnordered(batch);
+
+        // Assert
+        assertEquals(List.of(1), new ArrayList<>(failures.keySet()));
+        assertEquals(TakenIdentifierCache.Field.USERNAME, TakenIdentifierCache.violatedField(failures.get(1)));
+        assertTrue(repository.existsByUsername("bob"));
+        assertTrue(repository.existsByUsername("carol"));
+        assertEquals(3, repository.count());
+    }
+
+    @Test
+    void replacePasswordHash_ShouldOnlyReplaceTheExpectedHash() {
+        // Arrange
+        User alice = repository.insert(user("alice"));
+
+        // Act
+        boolean stale = repository.replacePasswordHash(alice.getId(), "not-the-hash", "new");
+        boolean current = repository.replacePasswordHash(alice.getId(), "hash", "new");
+
+        // Assert
+        assertFalse(stale);
+        assertTrue(current);
+        assertEquals("new", repository.findById(alice.getId()).orElseThrow().getPassword());
+    }
+
+    @Test
+    void streams_ShouldNotExposePasswords() {
+        // Arrange
+        repository.insert(user("alice"));
+
+        // Act & Assert
+        try (Stream<User> users = repository.streamAllWithoutPassword(10)) {
+            User alice = users.findFirst().orElseThrow();
+            assertEquals("alice", alice.getUsername());
+            assertNull(alice.getPassword());
+        }
+        try (Stream<User> identifiers = repository.streamIdentifiers()) {
+            User alice = identifiers.findFirst().orElseThrow();
+            assertEquals("alice@example.com", alice.getEmail());
+            assertNull(alice.getPassword());
+        }
+    }
+
+    @Test
+    void findPage_ShouldPageNewestFirstFromTheCursor() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            repository.insert(user("user" + i, T0.plusMinutes(i)));
+        }
+
+        // Act
+        List<UserSummaryDto> first = repository.findPage(NO_FILTER, null, null, 2);
+        UserSummaryDto last = first.get(1);
+        List<UserSummaryDto> second = repository.findPage(NO_FILTER, last.getCreatedAt(), last.getId(), 2);
+        UserSummaryDto end = second.get(1);
+        List<UserSummaryDto> third = repository.findPage(NO_FILTER, end.getCreatedAt(), end.getId(), 2);
+
+        // Assert
+        assertEquals(List.of("user4", "user3"), usernames(first));
+        assertEquals(List.of("user2", "user1"), usernames(second));
+        assertEquals(List.of("user0"), usernames(third));
+    }
+
+    @Test
+    void findPage_SameCreatedAt_ShouldBreakTiesById() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            repository.insert(user("tie" + i, T0));
+        }
+
+        // Act
+        List<String> seen = new ArrayList<>();
+        UserSummaryDto cursor = null;
+        for (int page = 0; page < 3; page++) {
+            List<UserSummaryDto> rows = repository.findPage(NO_FILTER,
+                    cursor == null ? null : cursor.getCreatedAt(), cursor == null ? null : cursor.getId(), 1);
+            cursor = rows.get(0);
+            seen.add(cursor.getUsername());
+        }
+
+        // Assert
+        assertEquals(3, seen.stream().distinct().count());
+    }
+
+    @Test
+    void findPage_ShouldApplyFilters() {
+        // Arrange
+        User admin = user("admin", T0.plusMinutes(1));
+        admin.setRole("ADMIN");
+        repository.insert(admin);
+        User disabled = user("disabled", T0.plusMinutes(2));
+        disabled.setEnabled(false);
+        repository.insert(disabled);
+        repository.insert(user("early", T0));
+        repository.insert(user("late", T0.plusMinutes(3)));
+
+        // Act & Assert
+        assertEquals(List.of("admin"),
+                usernames(repository.findPage(new UserListFilter("ADMIN", null, null, null), null, null, 10)));
+        assertEquals(List.of("disabled"),
+                usernames(repository.findPage(new UserListFilter(null, false, null, null), null, null, 10)));
+        assertEquals(List.of("disabled", "admin"), usernames(repository.findPage(
+                new UserListFilter(null, null, T0.plusMinutes(1), T0.plusMinutes(3)), null, null, 10)));
+    }
+
+    @Test
+    void findPage_CreatedToWithCursor_ShouldApplyTheLaterBound() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            repository.insert(user("user" + i, T0.plusMinutes(i)));
+        }
+        UserListFilter before4 = new UserListFilter(null, null, null, T0.plusMinutes(4));
+        UserListFilter before2 = new UserListFilter(null, null, null, T0.plusMinutes(2));
+
+        // Act
+        List<UserSummaryDto> first = repository.findPage(before4, null, null, 2);
+        UserSummaryDto last = first.get(1);
+        List<UserSummaryDto> second = repository.findPage(before4, last.getCreatedAt(), last.getId(), 2);
+        UserSummaryDto newer = first.get(0);
+        List<UserSummaryDto> fromNewerCursor = repository.findPage(before2, newer.getCreatedAt(), newer.getId(), 2);
+
+        // Assert
+        assertEquals(List.of("user3", "user2"), usernames(first));
+        assertEquals(List.of("user1", "user0"), usernames(second));
+        assertEquals(List.of("user1", "user0"), usernames(fromNewerCursor));
+    }
+
+    private static List<String> usernames(List<UserSummaryDto> page) {
+        return page.stream().map(UserSummaryDto::getUsername).toList();
+    }
+
+    private static User user(String username) {
+        return user(username, username + "@example.com");
+    }
+
+    private static User user(String username, String email) {
+        return new User(email, username, "hash", "First", "Last");
+    }
+
+    private static User user(String username, LocalDateTime createdAt) {
+        User user = user(username);
+        user.setCreatedAt(createdAt);
+        return user;
+    }
+}
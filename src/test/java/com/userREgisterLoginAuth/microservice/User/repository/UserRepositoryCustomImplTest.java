@@ -0,0 +1,107 @@
+package com.userREgisterLoginAuth.microservice.User.repository;
+
+import com.mongodb.ReadPreference;
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserRepositoryCustomImplTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 5, 1, 10, 15, 30);
+
+    @Test
+    void pageCriteria_FirstPageWithoutFilters_ShouldOnlyExcludeMissingCreatedAt() {
+        // Act
+        Document query = UserRepositoryCustomImpl.pageCriteria(new UserListFilter(null, null, null, null), null, null)
+                .getCriteriaObject();
+
+        // Assert
+        List<Document> conditions = conditions(query);
+        assertEquals(1, conditions.size());
+        assertEquals(new Document("createdAt", new Document("$ne", null)), conditions.get(0));
+    }
+
+    @Test
+    void pageCriteria_WithCursor_ShouldBoundCreatedAtAndSeekPastLastEntry() {
+        // Arrange
+        String lastId = new ObjectId().toHexString();
+
+        // Act
+        Document query = UserRepositoryCustomImpl.pageCriteria(new UserListFilter(null, null, null, null), CREATED, lastId)
+                .getCriteriaObject();
+
+        // Assert
+        assertEquals(CREATED, conditions(query).get(0).get("createdAt", Document.class).get("$lte"));
+        Document seek = conditions(query).get(1);
+        List<?> branches = seek.getList("$or", Object.class);
+        assertEquals(new Document("createdAt", new Document("$lt", CREATED)), branches.get(0));
+        List<Document> tie = ((Document) branches.get(1)).getList("$and", Document.class);
+        assertEquals(new Document("createdAt", CREATED), tie.get(0));
+        assertEquals(new Document("_id", new Document("$lt", new ObjectId(lastId))), tie.get(1));
+    }
+
+    @Test
+    void pageCriteria_RoleWithoutEnabled_ShouldMatchBothEnabledValues() {
+        // Act
+        Document query = UserRepositoryCustomImpl.pageCriteria(new UserListFilter("ADMIN", null, null, null), null, null)
+                .getCriteriaObject();
+
+        // Assert
+        List<Document> conditions = conditions(query);
+        assertEquals(new Document("role", "ADMIN"), conditions.get(0));
+        assertEquals(List.of(true, false), conditions.get(1).get("enabled", Document.class).get("$in"));
+    }
+
+    @Test
+    void pageCriteria_CreatedRange_ShouldBeInclusiveFromAndExclusiveTo() {
+        // Arrange
+        LocalDateTime to = CREATED.plusDays(1);
+
+        // Act
+        Document query = UserRepositoryCustomImpl.pageCriteria(new UserListFilter(null, false, CREATED, to), null, null)
+                .getCriteriaObject();
+
+        // Assert
+        List<Document> conditions = conditions(query);
+        assertEquals(new Document("enabled", false), conditions.get(0));
+        Document createdAt = conditions.get(1).get("createdAt", Document.class);
+        assertEquals(CREATED, createdAt.get("$gte"));
+        assertEquals(to, createdAt.get("$lt"));
+        assertTrue(createdAt.containsKey("$ne"));
+    }
+
+    @Test
+    void findByEmail_WithReadPreference_ShouldSendItWithTheQuery() {
+        // Arrange
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        UserRepositoryCustomImpl repository = new UserRepositoryCustomImpl();
+        ReflectionTestUtils.setField(repository, "mongoTemplate", mongoTemplate);
+        ReadPreference secondary = ReadPreference.secondaryPreferred(90, TimeUnit.SECONDS);
+
+        // Act
+        repository.findByEmail("alice@example.com", secondary);
+
+        // Assert
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).findOne(query.capture(), eq(User.class));
+        assertEquals(new Document("email", "alice@example.com"), query.getValue().getQueryObject());
+        assertEquals(secondary, query.getValue().getReadPreference());
+    }
+
+    private static List<Document> conditions(Document query) {
+        return query.getList("$and", Document.class);
+    }
+}
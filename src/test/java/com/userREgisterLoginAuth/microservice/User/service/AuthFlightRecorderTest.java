@@ -0,0 +1,126 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.userREgisterLoginAuth.microservice.User.dto.FlightRecordingDto;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthFlightRecorderTest {
+
+    private static final long SLOW = Duration.ofSeconds(3).toNanos();
+    private static final long FAST = Duration.ofMillis(50).toNanos();
+
+    @TempDir
+    Path dumpDirectory;
+
+    private final AtomicLong clock = new AtomicLong();
+    private AuthFlightRecorder recorder;
+
+    @AfterEach
+    void tearDown() {
+        if (recorder != null) {
+            recorder.stop();
+        }
+    }
+
+    @Test
+    void dump_ShouldContainAuthEvents() throws Exception {
+        // Arrange
+        recorder = recorder(true, 10);
+        recorder.start();
+        AuthPhaseEvent phase = AuthPhaseEvent.begin("login", AuthPhaseEvent.HASH);
+        phase.commit();
+        AuthRequestEvent request = AuthRequestEvent.begin("login");
+        request.commit("success");
+
+        // Act
+        FlightRecordingDto dump = recorder.dump(Duration.ofMinutes(1), "manual");
+
+        // Assert
+        List<RecordedEvent> events = RecordingFile.readAllEvents(recorder.dumpFile(dump.getName()));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("auth.Phase")
+                && "hash".equals(event.getString("phase"))));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("auth.Request")
+                && "success".equals(event.getString("outcome"))));
+        assertEquals(List.of(dump.getName()), recorder.listDumps().stream().map(FlightRecordingDto::getName).toList());
+    }
+
+    @Test
+    void requestCompleted_Slow_ShouldDumpOncePerCooldown() {
+        // Arrange
+        recorder = recorder(true, 10);
+        recorder.start();
+
+        // Act
+        recorder.requestCompleted("login", FAST);
+        recorder.requestCompleted("login", SLOW);
+        recorder.requestCompleted("register", SLOW);
+        clock.addAndGet(Duration.ofMinutes(6).toNanos());
+        recorder.requestCompleted("register", SLOW);
+
+        // Assert
+        List<String> names = recorder.listDumps().stream().map(FlightRecordingDto::getName).toList();
+        assertEquals(2, names.size());
+        assertTrue(names.get(0).endsWith("-slow-register.jfr"));
+        assertTrue(names.get(1).endsWith("-slow-login.jfr"));
+    }
+
+    @Test
+    void dump_ShouldKeepOnlyTheNewestDumps() {
+        // Arrange
+        recorder = recorder(true, 2);
+        recorder.start();
+
+        // Act
+        recorder.dump(Duration.ofMinutes(1), "first");
+        recorder.dump(Duration.ofMinutes(1), "second");
+        recorder.dump(Duration.ofMinutes(1), "third");
+
+        // Assert
+        List<String> names = recorder.listDumps().stream().map(FlightRecordingDto::getName).toList();
+        assertEquals(2, names.size());
+        assertTrue(names.stream().noneMatch(name -> name.endsWith("-first.jfr")));
+    }
+
+    @Test
+    void disabled_ShouldNotRecordOrDump() {
+        // Arrange
+        recorder = recorder(false, 10);
+        recorder.start();
+
+        // Act
+        recorder.requestCompleted("login", SLOW);
+
+        // Assert
+        assertFalse(recorder.isRecording());
+        assertTrue(recorder.listDumps().isEmpty());
+        assertThrows(IllegalStateException.class, () -> recorder.dump(Duration.ofMinutes(1), "manual"));
+    }
+
+    @Test
+    void dumpFile_ShouldRejectNamesOutsideTheDumps() {
+        // Arrange
+        recorder = recorder(false, 10);
+
+        // Act & Assert
+        assertThrows(NoSuchFileException.class, () -> recorder.dumpFile("../secret.jfr"));
+        assertThrows(NoSuchFileException.class, () -> recorder.dumpFile("auth-missing.jfr"));
+    }
+
+    private AuthFlightRecorder recorder(boolean enabled, int maxDumps) {
+        return new AuthFlightRecorder(enabled, "default", Duration.ofMinutes(10), DataSize.ofMegabytes(50),
+                Duration.ofSeconds(2), Duration.ofMinutes(5), Duration.ofMinutes(5), dumpDirectory, maxDumps,
+                Runnable::run, clock::get);
+    }
+}
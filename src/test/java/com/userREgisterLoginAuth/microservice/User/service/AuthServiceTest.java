@@ -1,29 +1,42 @@
 package com.userREgisterLoginAuth.microservice.User.service;
 
 import com.userREgisterLoginAuth.microservice.User.dto.AuthResponseDto;
+import com.userREgisterLoginAuth.microservice.User.dto.AvailabilityDto;
 import com.userREgisterLoginAuth.microservice.User.dto.LoginDto;
 import com.userREgisterLoginAuth.microservice.User.dto.UserRegistrationDto;
+import com.userREgisterLoginAuth.microservice.User.exception.TooManyAttemptsException;
 import com.userREgisterLoginAuth.microservice.User.model.User;
 import com.userREgisterLoginAuth.microservice.User.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class AuthServiceTest {
 
+    private static final String CLIENT_IP = "203.0.113.7";
+
     @Mock
     private UserRepository userRepository;
 
@@ -33,15 +46,33 @@ class AuthServiceTest {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private IdentifierBloomIndex bloomIndex;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private AuthFlightRecorder flightRecorder;
+
+    @Spy
+    private TakenIdentifierCache takenIdentifiers = new TakenIdentifierCache(100, Duration.ofMinutes(10));
+
     @InjectMocks
     private AuthService authService;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private UserRegistrationDto validRegistrationDto;
     private LoginDto validLoginDto;
     private User mockUser;
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(authService, "userLookupCache",
+                new UserLookupCache(userRepository, 100, Duration.ofMinutes(1), new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(authService, "authMetrics", new AuthMetrics(meterRegistry));
+
         validRegistrationDto = new UserRegistrationDto();
         validRegistrationDto.setEmail("test@example.com");
         validRegistrationDto.setUsername("testuser");
@@ -69,11 +100,9 @@ class AuthServiceTest {
     @Test
     void registerUser_Success() {
         // Arrange
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(mockUser);
-        when(jwtService.generateToken(anyString())).thenReturn("jwtToken");
+        when(userRepository.insert(any(User.class))).thenReturn(mockUser);
+        when(jwtService.generateToken(anyMap(), anyString())).thenReturn("jwtToken");
 
         // Act
         AuthResponseDto result = authService.registerUser(validRegistrationDto);
@@ -87,17 +116,19 @@ class AuthServiceTest {
         assertEquals("test@example.com", result.getUser().getEmail());
         assertEquals("testuser", result.getUser().getUsername());
 
-        verify(userRepository).existsByEmail("test@example.com");
-        verify(userRepository).existsByUsername("testuser");
         verify(passwordEncoder).encode("password123");
-        verify(userRepository).save(any(User.class));
-        verify(jwtService).generateToken("testuser");
+        verify(userRepository).insert(any(User.class));
+        verify(bloomIndex).add("test@example.com", "testuser");
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(jwtService).generateToken(Map.of(JwtService.ROLE_CLAIM, "USER"), "testuser");
     }
 
     @Test
     void registerUser_EmailAlreadyExists() {
         // Arrange
-        when(userRepository.existsByEmail(anyString())).thenReturn(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.insert(any(User.class))).thenThrow(duplicateKey("email"));
 
         // Act
         AuthResponseDto result = authService.registerUser(validRegistrationDto);
@@ -107,16 +138,17 @@ class AuthServiceTest {
         assertFalse(result.isSuccess());
         assertEquals("Email already registered", result.getMessage());
         assertNull(result.getToken());
+        assertEquals(1, requestCount("register", "duplicate"));
 
-        verify(userRepository).existsByEmail("test@example.com");
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository).insert(any(User.class));
+        verifyNoInteractions(jwtService);
     }
 
     @Test
     void registerUser_UsernameAlreadyExists() {
         // Arrange
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.existsByUsername(anyString())).thenReturn(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.insert(any(User.class))).thenThrow(duplicateKey("username"));
 
         // Act
         AuthResponseDto result = authService.registerUser(validRegistrationDto);
@@ -127,9 +159,57 @@ class AuthServiceTest {
         assertEquals("Username already taken", result.getMessage());
         assertNull(result.getToken());
 
-        verify(userRepository).existsByEmail("test@example.com");
-        verify(userRepository).existsByUsername("testuser");
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository).insert(any(User.class));
+        verifyNoInteractions(jwtService);
+    }
+
+    @Test
+    void registerUser_KnownTakenEmail_ShouldSkipHashingAndInsert() {
+        // Arrange
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.insert(any(User.class))).thenThrow(duplicateKey("email"));
+        authService.registerUser(validRegistrationDto);
+
+        // Act
+        AuthResponseDto result = authService.registerUser(validRegistrationDto);
+
+        // Assert
+        assertFalse(result.isSuccess());
+        assertEquals("Email already registered", result.getMessage());
+        verify(passwordEncoder, times(1)).encode(anyString());
+        verify(userRepository, times(1)).insert(any(User.class));
+    }
+
+    @Test
+    void registerUser_AfterSuccess_SameUsernameRejectedWithoutHashing() {
+        // Arrange
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.insert(any(User.class))).thenReturn(mockUser);
+        when(jwtService.generateToken(anyMap(), anyString())).thenReturn("jwtToken");
+        authService.registerUser(validRegistrationDto);
+
+        UserRegistrationDto sameUsername = new UserRegistrationDto();
+        sameUsername.setEmail("other@example.com");
+        sameUsername.setUsername("testuser");
+        sameUsername.setPassword("password123");
+
+        // Act
+        AuthResponseDto result = authService.registerUser(sameUsername);
+
+        // Assert
+        assertFalse(result.isSuccess());
+        assertEquals("Username already taken", result.getMessage());
+        verify(passwordEncoder, times(1)).encode(anyString());
+    }
+
+    @Test
+    void registerUser_DuplicateOnUnknownIndex_ShouldPropagate() {
+        // Arrange
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.insert(any(User.class))).thenThrow(duplicateKey("_id_"));
+
+        // Act & Assert
+        assertThrows(DuplicateKeyException.class, () -> authService.registerUser(validRegistrationDto));
     }
 
     @Test
@@ -142,11 +222,9 @@ class AuthServiceTest {
         specialDto.setFirstName("José");
         specialDto.setLastName("García-López");
 
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(mockUser);
-        when(jwtService.generateToken(anyString())).thenReturn("jwtToken");
+        when(userRepository.insert(any(User.class))).thenReturn(mockUser);
+        when(jwtService.generateToken(anyMap(), anyString())).thenReturn("jwtToken");
 
         // Act
         AuthResponseDto result = authService.registerUser(specialDto);
@@ -162,22 +240,98 @@ class AuthServiceTest {
         // Arrange
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(mockUser));
         when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
-        when(jwtService.generateToken(anyString())).thenReturn("jwtToken");
+        when(jwtService.generateToken(anyMap(), anyString())).thenReturn("jwtToken");
+        when(jwtService.generateRefreshToken("testuser")).thenReturn("refreshToken");
 
         // Act
-        AuthResponseDto result = authService.loginUser(validLoginDto);
+        AuthResponseDto result = authService.loginUser(validLoginDto, CLIENT_IP);
 
         // Assert
         assertNotNull(result);
         assertTrue(result.isSuccess());
         assertEquals("Login successful", result.getMessage());
         assertEquals("jwtToken", result.getToken());
+        assertEquals("refreshToken", result.getRefreshToken());
         assertNotNull(result.getUser());
         assertEquals("test@example.com", result.getUser().getEmail());
 
         verify(userRepository).findByEmail("test@example.com");
         verify(passwordEncoder).matches("password123", "encodedPassword");
-        verify(jwtService).generateToken("testuser");
+        verify(jwtService).generateToken(Map.of(JwtService.ROLE_CLAIM, "USER"), "testuser");
+        assertEquals(1, requestCount("login", "success"));
+        verify(flightRecorder).requestCompleted(eq("login"), anyLong());
+    }
+
+    @Test
+    void loginUser_HashAtOtherStrength_ShouldRehashAndEvictCachedUser() {
+        // Arrange
+        User rehashed = new User("test@example.com", "testuser", "{bcrypt}newHash", "John", "Doe");
+        rehashed.setId("1");
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(mockUser), Optional.of(rehashed));
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("{bcrypt}newHash");
+        when(userRepository.replacePasswordHash("1", "encodedPassword", "{bcrypt}newHash")).thenReturn(true);
+        when(jwtService.generateToken(anyMap(), anyString())).thenReturn("jwtToken");
+
+        // Act
+        AuthResponseDto result = authService.loginUser(validLoginDto, CLIENT_IP);
+        authService.loginUser(validLoginDto, CLIENT_IP);
+
+        // Assert
+        assertTrue(result.isSuccess());
+        verify(userRepository).replacePasswordHash("1", "encodedPassword", "{bcrypt}newHash");
+        verify(userRepository, times(2)).findByEmail("test@example.com");
+    }
+
+    @Test
+    void loginUser_RehashFails_ShouldStillSucceed() {
+        // Arrange
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(mockUser));
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(anyString())).thenReturn(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("{bcrypt}newHash");
+        when(userRepository.replacePasswordHash(anyString(), anyString(), anyString()))
+                .thenThrow(new RuntimeException("Database down"));
+        when(jwtService.generateToken(anyMap(), anyString())).thenReturn("jwtToken");
+
+        // Act
+        AuthResponseDto result = authService.loginUser(validLoginDto, CLIENT_IP);
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals("jwtToken", result.getToken());
+    }
+
+    @Test
+    void loginUser_CurrentHash_ShouldNotRehash() {
+        // Arrange
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(mockUser));
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        when(jwtService.generateToken(anyMap(), anyString())).thenReturn("jwtToken");
+
+        // Act
+        authService.loginUser(validLoginDto, CLIENT_IP);
+
+        // Assert
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(userRepository, never()).replacePasswordHash(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void loginUser_RepeatedLogin_ShouldReadUserFromCache() {
+        // Arrange
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(mockUser));
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        when(jwtService.generateToken(anyMap(), anyString())).thenReturn("jwtToken");
+
+        // Act
+        authService.loginUser(validLoginDto, CLIENT_IP);
+        AuthResponseDto result = authService.loginUser(validLoginDto, CLIENT_IP);
+
+        // Assert
+        assertTrue(result.isSuccess());
+        verify(userRepository, times(1)).findByEmail("test@example.com");
     }
 
     @Test
@@ -186,7 +340,7 @@ class AuthServiceTest {
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
 
         // Act
-        AuthResponseDto result = authService.loginUser(validLoginDto);
+        AuthResponseDto result = authService.loginUser(validLoginDto, CLIENT_IP);
 
         // Assert
         assertNotNull(result);
@@ -205,7 +359,7 @@ class AuthServiceTest {
         when(passwordEncoder.matches(anyString(), anyString())).thenReturn(false);
 
         // Act
-        AuthResponseDto result = authService.loginUser(validLoginDto);
+        AuthResponseDto result = authService.loginUser(validLoginDto, CLIENT_IP);
 
         // Assert
         assertNotNull(result);
@@ -215,7 +369,7 @@ class AuthServiceTest {
 
         verify(userRepository).findByEmail("test@example.com");
         verify(passwordEncoder).matches("password123", "encodedPassword");
-        verify(jwtService, never()).generateToken(anyString());
+        verify(jwtService, never()).generateToken(anyMap(), anyString());
     }
 
     @Test
@@ -226,17 +380,18 @@ class AuthServiceTest {
         when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
 
         // Act
-        AuthResponseDto result = authService.loginUser(validLoginDto);
+        AuthResponseDto result = authService.loginUser(validLoginDto, CLIENT_IP);
 
         // Assert
         assertNotNull(result);
         assertFalse(result.isSuccess());
         assertEquals("Account is disabled", result.getMessage());
         assertNull(result.getToken());
+        assertEquals(1, requestCount("login", "disabled"));
 
         verify(userRepository).findByEmail("test@example.com");
         verify(passwordEncoder).matches("password123", "encodedPassword");
-        verify(jwtService, never()).generateToken(anyString());
+        verify(jwtService, never()).generateToken(anyMap(), anyString());
     }
 
     @Test
@@ -248,10 +403,10 @@ class AuthServiceTest {
 
         when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(mockUser));
         when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
-        when(jwtService.generateToken(anyString())).thenReturn("jwtToken");
+        when(jwtService.generateToken(anyMap(), anyString())).thenReturn("jwtToken");
 
         // Act
-        AuthResponseDto result = authService.loginUser(upperCaseDto);
+        AuthResponseDto result = authService.loginUser(upperCaseDto, CLIENT_IP);
 
         // Assert
         assertNotNull(result);
@@ -262,10 +417,8 @@ class AuthServiceTest {
     @Test
     void registerUser_RepositoryException() {
         // Arrange
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(userRepository.existsByUsername(anyString())).thenReturn(false);
         when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenThrow(new RuntimeException("Database error"));
+        when(userRepository.insert(any(User.class))).thenThrow(new RuntimeException("Database error"));
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> {
@@ -280,8 +433,9 @@ class AuthServiceTest {
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> {
-            authService.loginUser(validLoginDto);
+            authService.loginUser(validLoginDto, CLIENT_IP);
         });
+        assertEquals(1, requestCount("login", "error"));
     }
 
     @Test
@@ -295,11 +449,9 @@ class AuthServiceTest {
         emptyDto.setLastName("");
 
         // Mock repository calls for empty fields
-        when(userRepository.existsByEmail("")).thenReturn(false);
-        when(userRepository.existsByUsername("")).thenReturn(false);
         when(passwordEncoder.encode("")).thenReturn("encodedEmptyPassword");
-        when(userRepository.save(any(User.class))).thenReturn(mockUser);
-        when(jwtService.generateToken(anyString())).thenReturn("jwtToken");
+        when(userRepository.insert(any(User.class))).thenReturn(mockUser);
+        when(jwtService.generateToken(anyMap(), anyString())).thenReturn("jwtToken");
 
         // Act
         AuthResponseDto result = authService.registerUser(emptyDto);
@@ -318,11 +470,175 @@ class AuthServiceTest {
         emptyDto.setPassword("");
 
         // Act
-        AuthResponseDto result = authService.loginUser(emptyDto);
+        AuthResponseDto result = authService.loginUser(emptyDto, CLIENT_IP);
 
         // Assert
         assertNotNull(result);
         assertFalse(result.isSuccess());
         assertEquals("Invalid email or password", result.getMessage());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void checkAvailability_BloomFilterMiss_ShouldNotQueryDatabase() {
+        // Arrange
+        when(bloomIndex.mightContainUsername("newuser")).thenReturn(false);
+        when(bloomIndex.mightContainEmail("new@example.com")).thenReturn(false);
+
+        // Act
+        AvailabilityDto result = authService.checkAvailability("new@example.com", "newuser");
+
+        // Assert
+        assertTrue(result.getUsernameAvailable());
+        assertTrue(result.getEmailAvailable());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void checkAvailability_BloomFilterHit_ShouldConfirmWithDatabase() {
+        // Arrange
+        when(bloomIndex.mightContainUsername("testuser")).thenReturn(true);
+        when(userRepository.existsByUsername("testuser")).thenReturn(true);
+
+        // Act
+        AvailabilityDto result = authService.checkAvailability(null, "testuser");
+
+        // Assert
+        assertFalse(result.getUsernameAvailable());
+        assertNull(result.getEmailAvailable());
+        verify(bloomIndex, never()).recordFalsePositive();
+    }
+
+    @Test
+    void checkAvailability_FalsePositive_ShouldBeRecorded() {
+        // Arrange
+        when(bloomIndex.mightContainEmail("free@example.com")).thenReturn(true);
+        when(bloomIndex.isReady()).thenReturn(true);
+        when(userRepository.existsByEmail("free@example.com")).thenReturn(false);
+
+        // Act
+        AvailabilityDto result = authService.checkAvailability("free@example.com", null);
+
+        // Assert
+        assertTrue(result.getEmailAvailable());
+        verify(bloomIndex).recordFalsePositive();
+    }
+
+    @Test
+    void checkAvailability_KnownTakenUsername_ShouldSkipDatabase() {
+        // Arrange
+        takenIdentifiers.registered("test@example.com", "testuser");
+        when(bloomIndex.mightContainUsername("testuser")).thenReturn(true);
+
+        // Act
+        AvailabilityDto result = authService.checkAvailability(null, "testuser");
+
+        // Assert
+        assertFalse(result.getUsernameAvailable());
+        verifyNoInteractions(userRepository);
+    }
+
+    private static DuplicateKeyException duplicateKey(String index) {
+        return new DuplicateKeyException("Write operation error on server localhost:27017. Write error: "
+                + "WriteError{code=11000, message='E11000 duplicate key error collection: databasa.users index: "
+                + index + " dup key: { }'}");
+    }
+
+    @Test
+    void loginUser_Throttled_ShouldRejectBeforeLookupAndHashing() {
+        // Arrange
+        doThrow(new TooManyAttemptsException("Too many login attempts, try again later", 6))
+                .when(loginThrottle).acquire("test@example.com", CLIENT_IP);
+
+        // Act & Assert
+        assertThrows(TooManyAttemptsException.class, () -> authService.loginUser(validLoginDto, CLIENT_IP));
+        verifyNoInteractions(userRepository, passwordEncoder);
+        assertEquals(1, requestCount("login", "throttled"));
+    }
+
+    @Test
+    void refreshToken_Success_ShouldRotateWithoutHashing() {
+        // Arrange
+        TokenVerification verification = refreshVerification("testuser");
+        when(jwtService.verifyRefreshToken("refreshToken")).thenReturn(verification);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(mockUser));
+        when(jwtService.revoke(verification)).thenReturn(true);
+        when(jwtService.generateToken(Map.of(JwtService.ROLE_CLAIM, "USER"), "testuser")).thenReturn("newToken");
+        when(jwtService.generateRefreshToken("testuser")).thenReturn("newRefreshToken");
+
+        // Act
+        AuthResponseDto result = authService.refreshToken("refreshToken");
+
+        // Assert
+        assertTrue(result.isSuccess());
+        assertEquals("Token refreshed", result.getMessage());
+        assertEquals("newToken", result.getToken());
+        assertEquals("newRefreshToken", result.getRefreshToken());
+        assertEquals("testuser", result.getUser().getUsername());
+        verify(jwtService).revoke(verification);
+        verifyNoInteractions(passwordEncoder, loginThrottle);
+        assertEquals(1, requestCount("refresh", "success"));
+    }
+
+    @Test
+    void refreshToken_InvalidToken_ShouldNotLookUpTheUser() {
+        // Arrange
+        when(jwtService.verifyRefreshToken("accessToken"))
+                .thenReturn(TokenVerification.failed(TokenVerification.Failure.WRONG_TOKEN_USE));
+
+        // Act
+        AuthResponseDto result = authService.refreshToken("accessToken");
+
+        // Assert
+        assertFalse(result.isSuccess());
+        assertEquals("Invalid refresh token", result.getMessage());
+        assertNull(result.getToken());
+        verifyNoInteractions(userRepository);
+        verify(jwtService, never()).revoke(any(TokenVerification.class));
+        assertEquals(1, requestCount("refresh", "invalid_token"));
+    }
+
+    @Test
+    void refreshToken_AlreadyUsed_ShouldBeRejected() {
+        // Arrange
+        TokenVerification verification = refreshVerification("testuser");
+        when(jwtService.verifyRefreshToken("refreshToken")).thenReturn(verification);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(mockUser));
+        when(jwtService.revoke(verification)).thenReturn(false);
+
+        // Act
+        AuthResponseDto result = authService.refreshToken("refreshToken");
+
+        // Assert
+        assertFalse(result.isSuccess());
+        assertNull(result.getToken());
+        verify(jwtService, never()).generateRefreshToken(anyString());
+        assertEquals(1, requestCount("refresh", "invalid_token"));
+    }
+
+    @Test
+    void refreshToken_DisabledAccount_ShouldBeRejected() {
+        // Arrange
+        mockUser.setEnabled(false);
+        when(jwtService.verifyRefreshToken("refreshToken")).thenReturn(refreshVerification("testuser"));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(mockUser));
+
+        // Act
+        AuthResponseDto result = authService.refreshToken("refreshToken");
+
+        // Assert
+        assertFalse(result.isSuccess());
+        assertEquals("Account is disabled", result.getMessage());
+        verify(jwtService, never()).revoke(any(TokenVerification.class));
+        assertEquals(1, requestCount("refresh", "disabled"));
+    }
+
+    private static TokenVerification refreshVerification(String subject) {
+        long now = System.currentTimeMillis();
+        return new TokenVerification(subject, now, now + 60_000, "default", "jti", TokenVerification.REFRESH,
+                null, "{}", null);
+    }
+
+    private long requestCount(String endpoint, String outcome) {
+        return meterRegistry.get("auth.requests").tag("endpoint", endpoint).tag("outcome", outcome).timer().count();
+    }
+}
@@ -0,0 +1,71 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BCryptStrengthCalibratorTest {
+
+    // 50 ms at strength 10, doubling with every step like real BCrypt
+    private static final IntToLongFunction DOUBLING = strength ->
+            Duration.ofMillis(50).toNanos() << (strength - 10);
+
+    @Test
+    void calibrate_ShouldPickHighestStrengthWithinBudget() {
+        // Act
+        int strength = BCryptStrengthCalibrator.calibrate(Duration.ofMillis(250), 10, 16, DOUBLING);
+
+        // Assert
+        assertEquals(12, strength);
+    }
+
+    @Test
+    void calibrate_ShouldOnlyTimeMinimumStrength() {
+        // Arrange
+        List<Integer> timed = new ArrayList<>();
+
+        // Act
+        BCryptStrengthCalibrator.calibrate(Duration.ofSeconds(1), 10, 16, strength -> {
+            timed.add(strength);
+            return DOUBLING.applyAsLong(strength);
+        });
+
+        // Assert
+        assertEquals(List.of(10, 10, 10, 10), timed);
+    }
+
+    @Test
+    void calibrate_ShouldUseMedianSample() {
+        // Arrange: warm-up and one outlier are slow
+        long[] samples = {Duration.ofSeconds(2).toNanos(), Duration.ofMillis(50).toNanos(),
+                Duration.ofSeconds(2).toNanos(), Duration.ofMillis(50).toNanos()};
+        int[] call = {0};
+
+        // Act
+        int strength = BCryptStrengthCalibrator.calibrate(Duration.ofMillis(250), 10, 16, s -> samples[call[0]++]);
+
+        // Assert
+        assertEquals(12, strength);
+    }
+
+    @Test
+    void calibrate_ShouldStayWithinBounds() {
+        // Act & Assert
+        assertEquals(10, BCryptStrengthCalibrator.calibrate(Duration.ofMillis(1), 10, 16, DOUBLING));
+        assertEquals(16, BCryptStrengthCalibrator.calibrate(Duration.ofHours(1), 10, 16, DOUBLING));
+    }
+
+    @Test
+    void calibrate_InvalidBounds_ShouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> BCryptStrengthCalibrator.calibrate(Duration.ofMillis(250), 12, 10, DOUBLING));
+        assertThrows(IllegalArgumentException.class,
+                () -> BCryptStrengthCalibrator.calibrate(Duration.ofMillis(250), 3, 10, DOUBLING));
+    }
+}
@@ -0,0 +1,69 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void create_ShouldSizeForExpectedInsertionsAndFpp() {
+        // Act
+        BloomFilter filter = BloomFilter.create(1_000_000, 0.01);
+
+        // Assert: about 9.6 bits and 7 hashes per element at 1%
+        assertEquals(7, filter.hashFunctions());
+        assertTrue(filter.bitSize() >= 9_585_058L && filter.bitSize() < 9_585_058L + 64);
+        assertEquals(filter.bitSize() / 8, filter.sizeInBytes());
+    }
+
+    @Test
+    void create_InvalidFpp_ShouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(100, 1));
+    }
+
+    @Test
+    void mightContain_ShouldNeverReturnFalseNegatives() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+
+        // Act & Assert
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i));
+        }
+    }
+
+    @Test
+    void mightContain_FalsePositiveRateShouldStayNearTarget() {
+        // Arrange
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        double observed = falsePositives / 100_000.0;
+        assertTrue(observed < 0.02, "observed fpp " + observed);
+        assertEquals(0.01, filter.expectedFpp(), 0.005);
+    }
+
+    @Test
+    void expectedFpp_EmptyFilter_ShouldBeZero() {
+        // Act & Assert
+        assertEquals(0.0, BloomFilter.create(100, 0.01).expectedFpp());
+        assertFalse(BloomFilter.create(100, 0.01).mightContain("anything"));
+    }
+}
@@ -0,0 +1,131 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import com.userREgisterLoginAuth.microservice.User.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdentifierBloomIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private IdentifierBloomIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new IdentifierBloomIndex(userRepository, 1000, 0.01, meterRegistry);
+    }
+
+    @Test
+    void mightContain_BeforeRebuild_ShouldAlwaysDeferToDatabase() {
+        // Act & Assert
+        assertFalse(index.isReady());
+        assertTrue(index.mightContainEmail("new@example.com"));
+        assertTrue(index.mightContainUsername("newuser"));
+    }
+
+    @Test
+    void rebuild_ShouldLoadExistingUsers() {
+        // Arrange
+        User existing = new User("test@example.com", "testuser", null, null, null);
+        when(userRepository.count()).thenReturn(1L);
+        when(userRepository.streamIdentifiers()).thenReturn(Stream.of(existing));
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertTrue(index.isReady());
+        assertTrue(index.mightContainEmail("test@example.com"));
+        assertTrue(index.mightContainUsername("testuser"));
+        assertFalse(index.mightContainEmail("new@example.com"));
+        // Email and username live in separate key spaces
+        assertFalse(index.mightContainUsername("test@example.com"));
+    }
+
+    @Test
+    void add_AfterRebuild_ShouldBeVisible() {
+        // Arrange
+        when(userRepository.count()).thenReturn(0L);
+        when(userRepository.streamIdentifiers()).thenReturn(Stream.empty());
+        index.rebuild();
+
+        // Act
+        index.add("new@example.com", "newuser");
+
+        // Assert
+        assertTrue(index.mightContainEmail("new@example.com"));
+        assertTrue(index.mightContainUsername("newuser"));
+    }
+
+    @Test
+    void markStale_ShouldDeferToDatabaseUntilNextRebuild() {
+        // Arrange
+        when(userRepository.count()).thenReturn(0L);
+        when(userRepository.streamIdentifiers()).thenReturn(Stream.empty(), Stream.empty());
+        index.rebuild();
+
+        // Act
+        index.markStale();
+
+        // Assert
+        assertTrue(index.mightContainEmail("new@example.com"));
+        index.rebuild();
+        assertFalse(index.mightContainEmail("new@example.com"));
+    }
+
+    @Test
+    void markStale_DuringRebuild_ShouldStayNotReady() {
+        // Arrange
+        when(userRepository.count()).thenReturn(0L);
+        when(userRepository.streamIdentifiers()).thenAnswer(invocation -> {
+            index.markStale();
+            return Stream.empty();
+        });
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertFalse(index.isReady());
+        assertTrue(index.mightContainUsername("anyone"));
+    }
+
+    @Test
+    void rebuild_DatabaseDown_ShouldStayNotReady() {
+        // Arrange
+        when(userRepository.count())
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        // Act
+        index.rebuild();
+
+        // Assert
+        assertFalse(index.isReady());
+        assertTrue(index.mightContainUsername("anyone"));
+    }
+
+    @Test
+    void metrics_ShouldExposeFppMemoryAndFalsePositives() {
+        // Act
+        index.recordFalsePositive();
+
+        // Assert
+        assertEquals(0.0, meterRegistry.get("auth.availability.bloom.fpp").gauge().value());
+        assertTrue(meterRegistry.get("auth.availability.bloom.memory").gauge().value() > 0);
+        assertEquals(1.0, meterRegistry.get("auth.availability.bloom.false.positives").counter().count());
+    }
+}
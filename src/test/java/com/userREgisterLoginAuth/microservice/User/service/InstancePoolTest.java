@@ -0,0 +1,47 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstancePoolTest {
+
+    @Test
+    void acquire_AfterRelease_ShouldReuseTheInstance() {
+        // Arrange
+        AtomicInteger created = new AtomicInteger();
+        InstancePool<Object> pool = new InstancePool<>(() -> {
+            created.incrementAndGet();
+            return new Object();
+        }, 2);
+        Object first = pool.acquire();
+
+        // Act
+        pool.release(first);
+        Object second = pool.acquire();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, created.get());
+        assertEquals(0, pool.idle());
+    }
+
+    @Test
+    void release_BeyondMaxIdle_ShouldDropTheInstance() {
+        // Arrange
+        InstancePool<Object> pool = new InstancePool<>(Object::new, 2);
+        Object a = pool.acquire();
+        Object b = pool.acquire();
+        Object c = pool.acquire();
+
+        // Act
+        pool.release(a);
+        pool.release(b);
+        pool.release(c);
+
+        // Assert
+        assertEquals(2, pool.idle());
+    }
+}
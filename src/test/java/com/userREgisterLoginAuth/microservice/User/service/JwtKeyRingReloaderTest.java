@@ -0,0 +1,143 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.userREgisterLoginAuth.microservice.User.repository.InMemoryRevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingReloaderTest {
+
+    private static final String SECRET_A = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final String SECRET_B = "6E5A7234753778214125442A472D4B6150645367566B59703373367639792F42";
+
+    @TempDir
+    Path tempDir;
+
+    private JwtService jwtService;
+    private JwtKeyRingReloader reloader;
+    private Path keysFile;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET_A);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86400000L);
+        ReflectionTestUtils.setField(jwtService, "tokenCache", new VerifiedTokenCache(1000));
+        ReflectionTestUtils.setField(jwtService, "authMetrics", new AuthMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(jwtService, "revokedTokens",
+                new RevokedTokenStore(new InMemoryRevokedTokenRepository(), Duration.ofMinutes(1), new SimpleMeterRegistry()));
+
+        keysFile = tempDir.resolve("jwt-keys.properties");
+        reloader = new JwtKeyRingReloader();
+        ReflectionTestUtils.setField(reloader, "jwtService", jwtService);
+        ReflectionTestUtils.setField(reloader, "keysFile", keysFile.toString());
+    }
+
+    @Test
+    void reload_ShouldRotateToFileKeys() throws Exception {
+        // Arrange
+        Files.writeString(keysFile, "active=b\nkey.a=" + SECRET_A + "\nkey.b=" + SECRET_B + "\n");
+
+        // Act
+        reloader.reload();
+
+        // Assert
+        assertEquals("b", jwtService.getKeyRing().getActiveKid());
+        assertEquals(2, jwtService.getKeyRing().getKids().size());
+    }
+
+    @Test
+    void reload_InvalidFile_ShouldKeepCurrentKeys() throws Exception {
+        // Arrange
+        Files.writeString(keysFile, "active=b\nkey.a=" + SECRET_A + "\n");
+        String token = jwtService.generateToken("testuser");
+
+        // Act
+        reloader.reload();
+
+        // Assert
+        assertEquals(JwtKeyRing.DEFAULT_KID, jwtService.getKeyRing().getActiveKid());
+        assertTrue(jwtService.isTokenValid(token, "testuser"));
+    }
+
+    @Test
+    void reload_ShouldPickUpChangedFile() throws Exception {
+        // Arrange
+        Files.writeString(keysFile, "active=a\nkey.a=" + SECRET_A + "\n");
+        reloader.reload();
+
+        // Act
+        Files.writeString(keysFile, "active=b\nkey.a=" + SECRET_A + "\nkey.b=" + SECRET_B + "\n");
+        Files.setLastModifiedTime(keysFile, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        reloader.reload();
+
+        // Assert
+        assertEquals("b", jwtService.getKeyRing().getActiveKid());
+    }
+
+    @Test
+    void reload_NoFileConfigured_ShouldDoNothing() {
+        // Arrange
+        ReflectionTestUtils.setField(reloader, "keysFile", "");
+
+        // Act
+        reloader.reload();
+
+        // Assert
+        assertEquals(JwtKeyRing.DEFAULT_KID, jwtService.getKeyRing().getActiveKid());
+    }
+
+    @Test
+    void reload_AsymmetricKeys_ShouldSignWithActiveKeyAndVerifyPublicOnlyKeys() throws Exception {
+        // Arrange
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair current = generator.generateKeyPair();
+        KeyPair previous = generator.generateKeyPair();
+        Base64.Encoder base64 = Base64.getEncoder();
+        Files.writeString(keysFile, "active=current\n"
+                + "alg.current=ES256\n"
+                + "key.current=" + base64.encodeToString(current.getPrivate().getEncoded()) + "\n"
+                + "public.current=" + base64.encodeToString(current.getPublic().getEncoded()) + "\n"
+                + "alg.previous=ES256\n"
+                + "public.previous=" + base64.encodeToString(previous.getPublic().getEncoded()) + "\n");
+
+        // Act
+        reloader.reload();
+        String token = jwtService.generateToken("testuser");
+
+        // Assert
+        assertEquals("current", jwtService.getKeyRing().getActiveKid());
+        assertEquals("ES256", jwtService.getKeyRing().getActiveAlgorithm());
+        assertTrue(jwtService.isTokenValid(token, "testuser"));
+        assertEquals(2, new ObjectMapper().readTree(jwtService.getKeyRing().getJwks().json()).get("keys").size());
+    }
+
+    @Test
+    void reload_PublicOnlyActiveKey_ShouldKeepCurrentKeys() throws Exception {
+        // Arrange
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("Ed25519");
+        Files.writeString(keysFile, "active=next\nalg.next=EdDSA\npublic.next="
+                + Base64.getEncoder().encodeToString(generator.generateKeyPair().getPublic().getEncoded()) + "\n");
+
+        // Act
+        reloader.reload();
+
+        // Assert
+        assertEquals(JwtKeyRing.DEFAULT_KID, jwtService.getKeyRing().getActiveKid());
+    }
+}
@@ -1,11 +1,26 @@
 package com.userREgisterLoginAuth.microservice.User.service;
 
+import com.userREgisterLoginAuth.microservice.User.repository.InMemoryRevokedTokenRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -13,12 +28,21 @@ class JwtServiceTest {
 
     private JwtService jwtService;
     private static final long TEST_EXPIRATION = 86400000L; // 24 hours
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
         jwtService = new JwtService();
-        ReflectionTestUtils.setField(jwtService, "secretKey", "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
         ReflectionTestUtils.setField(jwtService, "jwtExpiration", TEST_EXPIRATION);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 14 * TEST_EXPIRATION);
+        ReflectionTestUtils.setField(jwtService, "tokenCache", new VerifiedTokenCache(1000));
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(jwtService, "authMetrics", new AuthMetrics(meterRegistry));
+        ReflectionTestUtils.setField(jwtService, "revokedTokens",
+                new RevokedTokenStore(new InMemoryRevokedTokenRepository(), Duration.ofMinutes(1), new SimpleMeterRegistry()));
     }
 
     @Test
@@ -108,4 +132,369 @@ class JwtServiceTest {
             // The result may be true or false depending on timing, but no exception should be thrown
         });
     }
-} 
\ No newline at end of file
+
+    @Test
+    void generateToken_ShouldCarryActiveKeyId() {
+        // Arrange
+        String token = jwtService.generateToken("testuser");
+
+        // Act
+        String kid = jwtService.getKeyRing().getParser().parseClaimsJws(token).getHeader().getKeyId();
+
+        // Assert
+        assertEquals(JwtKeyRing.DEFAULT_KID, kid);
+    }
+
+    @Test
+    void rotateKeys_OldTokensStayValidUntilKeyIsRetired() {
+        // Arrange
+        String oldSecret = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+        String newSecret = "6E5A7234753778214125442A472D4B6150645367566B59703373367639792F42";
+        String oldToken = jwtService.generateToken("testuser");
+
+        // Act
+        jwtService.rotateKeys("k2", Map.of(JwtKeyRing.DEFAULT_KID, oldSecret, "k2", newSecret));
+        String newToken = jwtService.generateToken("testuser");
+
+        // Assert
+        assertTrue(jwtService.isTokenValid(oldToken, "testuser"));
+        assertTrue(jwtService.isTokenValid(newToken, "testuser"));
+
+        // Retire the old key
+        jwtService.rotateKeys("k2", Map.of("k2", newSecret));
+
+        assertFalse(jwtService.isTokenValid(oldToken, "testuser"));
+        assertTrue(jwtService.isTokenValid(newToken, "testuser"));
+    }
+
+    @Test
+    void rotateKeys_UnknownActiveKey_ShouldKeepCurrentRing() {
+        // Arrange
+        String token = jwtService.generateToken("testuser");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> jwtService.rotateKeys("missing", Map.of("k2", "6E5A7234753778214125442A472D4B6150645367566B59703373367639792F42")));
+        assertTrue(jwtService.isTokenValid(token, "testuser"));
+    }
+
+    @Test
+    void isTokenValid_RepeatedCalls_ShouldBeServedFromCache() {
+        // Arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(1000);
+        ReflectionTestUtils.setField(jwtService, "tokenCache", cache);
+        String token = jwtService.generateToken("testuser");
+
+        // Act
+        jwtService.isTokenValid(token, "testuser");
+        jwtService.isTokenValid(token, "testuser");
+        boolean isValid = jwtService.isTokenValid(token, "wronguser");
+
+        // Assert
+        assertFalse(isValid);
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(2, cache.stats().hitCount());
+    }
+
+    @Test
+    void isTokenValid_TamperedToken_ShouldNotBeCached() {
+        // Arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache(1000);
+        ReflectionTestUtils.setField(jwtService, "tokenCache", cache);
+        String token = jwtService.generateToken("testuser");
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        // Act
+        boolean isValid = jwtService.isTokenValid(tampered, "testuser");
+
+        // Assert
+        assertFalse(isValid);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void verify_ValidToken_ShouldReturnClaimsInOnePass() {
+        // Arrange
+        String token = jwtService.generateToken(Map.of("role", "ADMIN"), "testuser");
+
+        // Act
+        TokenVerification verification = jwtService.verify(token);
+
+        // Assert
+        assertTrue(verification.isValid());
+        assertNull(verification.failure());
+        assertEquals("testuser", verification.subject());
+        assertEquals(JwtKeyRing.DEFAULT_KID, verification.keyId());
+        assertTrue(verification.expiresAtMillis() > System.currentTimeMillis());
+        assertEquals("ADMIN", verification.role());
+        assertEquals("ADMIN", verification.claims().get("role"));
+    }
+
+    @Test
+    void verify_ShouldAcceptTokensIssuedByJjwt() {
+        // Arrange
+        String token = Jwts.builder()
+                .setHeaderParam("kid", JwtKeyRing.DEFAULT_KID)
+                .setSubject("testuser")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TEST_EXPIRATION))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+
+        // Act
+        TokenVerification verification = jwtService.verify(token);
+
+        // Assert
+        assertTrue(verification.isValid());
+        assertEquals("testuser", verification.subject());
+    }
+
+    @Test
+    void verify_ExpiredToken_ShouldReportExpired() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", -1000L);
+        String token = jwtService.generateToken("testuser");
+
+        // Act
+        TokenVerification verification = jwtService.verify(token);
+
+        // Assert
+        assertFalse(verification.isValid());
+        assertEquals(TokenVerification.Failure.EXPIRED, verification.failure());
+        assertEquals("testuser", verification.subject());
+    }
+
+    @Test
+    void verify_TamperedPayload_ShouldReportInvalidSignature() {
+        // Arrange
+        String token = jwtService.generateToken("testuser");
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"admin\",\"exp\":9999999999}".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        TokenVerification verification = jwtService.verify(parts[0] + "." + forgedPayload + "." + parts[2]);
+
+        // Assert
+        assertEquals(TokenVerification.Failure.INVALID_SIGNATURE, verification.failure());
+    }
+
+    @Test
+    void verify_MalformedToken_ShouldReportMalformed() {
+        // Act & Assert
+        assertEquals(TokenVerification.Failure.MALFORMED, jwtService.verify("not-a-token").failure());
+        assertEquals(TokenVerification.Failure.MALFORMED, jwtService.verify("a.b.c.d").failure());
+        assertEquals(TokenVerification.Failure.MALFORMED, jwtService.verify(null).failure());
+    }
+
+    @Test
+    void verify_NoneAlgorithm_ShouldBeRejected() {
+        // Arrange
+        String token = jwtService.generateToken("testuser");
+        String[] parts = token.split("\\.");
+        String noneHeader = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        TokenVerification verification = jwtService.verify(noneHeader + "." + parts[1] + "." + parts[2]);
+
+        // Assert
+        assertEquals(TokenVerification.Failure.UNSUPPORTED_ALGORITHM, verification.failure());
+    }
+
+    @Test
+    void verify_UnknownKeyId_ShouldReportUnknownKey() {
+        // Arrange
+        String token = jwtService.generateToken("testuser");
+        String[] parts = token.split("\\.");
+        String otherHeader = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"alg\":\"HS256\",\"kid\":\"retired\"}".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        TokenVerification verification = jwtService.verify(otherHeader + "." + parts[1] + "." + parts[2]);
+
+        // Assert
+        assertEquals(TokenVerification.Failure.UNKNOWN_KEY, verification.failure());
+    }
+
+    @Test
+    void verify_ShouldTimeSigningAndOnlyUncachedVerifications() {
+        // Arrange
+        String token = jwtService.generateToken("testuser");
+
+        // Act
+        jwtService.verify(token);
+        jwtService.verify(token);
+        jwtService.verify(token.substring(0, token.length() - 2) + "xx");
+
+        // Assert
+        assertEquals(1, meterRegistry.get("auth.jwt.sign").timer().count());
+        assertEquals(1, meterRegistry.get("auth.jwt.verify").tag("outcome", "valid").timer().count());
+        assertEquals(1, meterRegistry.get("auth.jwt.verify").tag("outcome", "invalid_signature").timer().count());
+    }
+
+    @Test
+    void generateToken_ShouldCarryAUniqueTokenId() {
+        // Act
+        TokenVerification first = jwtService.verify(jwtService.generateToken("testuser"));
+        TokenVerification second = jwtService.verify(jwtService.generateToken("testuser"));
+
+        // Assert
+        assertEquals(22, first.tokenId().length());
+        assertNotEquals(first.tokenId(), second.tokenId());
+        assertEquals(first.tokenId(), first.claims().get("jti"));
+        assertFalse(first.isRefreshToken());
+    }
+
+    @Test
+    void refreshToken_ShouldOnlyBeAcceptedForRefreshing() {
+        // Arrange
+        String refreshToken = jwtService.generateRefreshToken("testuser");
+        String accessToken = jwtService.generateToken("testuser");
+
+        // Act
+        TokenVerification asRefresh = jwtService.verifyRefreshToken(refreshToken);
+        TokenVerification asAccess = jwtService.verify(refreshToken);
+        TokenVerification accessAsRefresh = jwtService.verifyRefreshToken(accessToken);
+
+        // Assert
+        assertTrue(asRefresh.isValid());
+        assertTrue(asRefresh.isRefreshToken());
+        assertEquals("testuser", asRefresh.subject());
+        assertTrue(asRefresh.expiresAtMillis() > System.currentTimeMillis() + TEST_EXPIRATION);
+        assertEquals(TokenVerification.Failure.WRONG_TOKEN_USE, asAccess.failure());
+        assertEquals(TokenVerification.Failure.WRONG_TOKEN_USE, accessAsRefresh.failure());
+        assertFalse(jwtService.isTokenValid(refreshToken, "testuser"));
+    }
+
+    @Test
+    void revoke_CachedToken_ShouldBeRejectedFromThenOn() {
+        // Arrange
+        String token = jwtService.generateToken("testuser");
+        assertTrue(jwtService.isTokenValid(token, "testuser"));
+
+        // Act
+        boolean revoked = jwtService.revoke(token);
+        boolean revokedAgain = jwtService.revoke(token);
+
+        // Assert
+        assertTrue(revoked);
+        assertFalse(revokedAgain);
+        assertEquals(TokenVerification.Failure.REVOKED, jwtService.verify(token).failure());
+        assertTrue(jwtService.isTokenValid(jwtService.generateToken("testuser"), "testuser"));
+    }
+
+    @Test
+    void revoke_InvalidToken_ShouldBeIgnored() {
+        // Act & Assert
+        assertFalse(jwtService.revoke("not-a-token"));
+        assertFalse(jwtService.revoke((String) null));
+    }
+
+    @Test
+    void es256_ShouldSignTokensVerifiableWithThePublicKey() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtService, "algorithm", "ES256");
+
+        // Act
+        String token = jwtService.generateToken(Map.of(JwtService.ROLE_CLAIM, "USER"), "testuser");
+
+        // Assert
+        assertTrue(jwtService.isTokenValid(token, "testuser"));
+        assertEquals("testuser", jwtService.extractUsername(token));
+        assertEquals("ES256", jwtService.getKeyRing().getActiveAlgorithm());
+    }
+
+    @Test
+    void eddsa_ShouldSignAndVerifyTokens() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtService, "algorithm", "EdDSA");
+
+        // Act
+        String token = jwtService.generateToken("testuser");
+        String[] parts = token.split("\\.");
+
+        // Assert
+        assertTrue(jwtService.isTokenValid(token, "testuser"));
+        assertEquals("{\"alg\":\"EdDSA\",\"kid\":\"" + jwtService.getKeyRing().getActiveKid() + "\"}",
+                new String(Base64.getUrlDecoder().decode(parts[0]), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void verify_HmacTokenForAsymmetricKey_ShouldBeRejected() {
+        // Arrange: the classic alg confusion, an HS256 token keyed with the published public key
+        ReflectionTestUtils.setField(jwtService, "algorithm", "ES256");
+        JwtKeyRing ring = jwtService.getKeyRing();
+        JwsCodec.SigningKey esKey = ring.findSigningKey(ring.getActiveKid());
+        String token = Jwts.builder()
+                .setHeaderParam("kid", ring.getActiveKid())
+                .setSubject("admin")
+                .setExpiration(new Date(System.currentTimeMillis() + TEST_EXPIRATION))
+                .signWith(Keys.hmacShaKeyFor(esKey.verificationKey().getEncoded()), SignatureAlgorithm.HS256)
+                .compact();
+
+        // Act
+        TokenVerification verification = jwtService.verify(token);
+
+        // Assert
+        assertEquals(TokenVerification.Failure.UNSUPPORTED_ALGORITHM, verification.failure());
+    }
+
+    @Test
+    void verify_TamperedEs256Token_ShouldReportInvalidSignature() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtService, "algorithm", "ES256");
+        String token = jwtService.generateToken("testuser");
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"admin\",\"exp\":9999999999}".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        TokenVerification verification = jwtService.verify(parts[0] + "." + forgedPayload + "." + parts[2]);
+
+        // Assert
+        assertEquals(TokenVerification.Failure.INVALID_SIGNATURE, verification.failure());
+    }
+
+    @Test
+    void getJwks_ShouldListOnlyPublicKeysAndChangeETagOnRotation() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(jwtService, "algorithm", "ES256");
+        JwtKeyRing ring = jwtService.getKeyRing();
+        JwsCodec.SigningKey current = ring.findSigningKey(ring.getActiveKid());
+        JwtKeyRing.Jwks before = ring.getJwks();
+        JwtKeyRing other = JwtKeyRing.generated(JwsCodec.Algorithm.EDDSA);
+        JwsCodec.SigningKey next = other.findSigningKey(other.getActiveKid());
+
+        // Act
+        jwtService.rotateKeys("hmac", List.of(current, next, JwtKeyRing.parseKey("hmac", null, SECRET, null)));
+        JwtKeyRing.Jwks after = ring.getJwks();
+
+        // Assert
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode keysBefore = mapper.readTree(before.json()).get("keys");
+        assertEquals(1, keysBefore.size());
+        assertEquals("EC", keysBefore.get(0).get("kty").asText());
+        assertEquals("P-256", keysBefore.get(0).get("crv").asText());
+        assertEquals(current.kid, keysBefore.get(0).get("kid").asText());
+        JsonNode keysAfter = mapper.readTree(after.json()).get("keys");
+        assertEquals(2, keysAfter.size());
+        assertEquals("OKP", keysAfter.get(1).get("kty").asText());
+        assertNotEquals(before.etag(), after.etag());
+        assertSame(after, ring.getJwks());
+    }
+
+    @Test
+    void rotateKeys_PublicOnlyActiveKey_ShouldBeRejected() {
+        // Arrange
+        ReflectionTestUtils.setField(jwtService, "algorithm", "EdDSA");
+        JwtKeyRing ring = jwtService.getKeyRing();
+        String publicKey = Base64.getEncoder().encodeToString(
+                ring.findSigningKey(ring.getActiveKid()).verificationKey().getEncoded());
+        JwsCodec.SigningKey publicOnly = JwtKeyRing.parseKey("next", "EdDSA", null, publicKey);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> jwtService.rotateKeys("next", List.of(publicOnly)));
+        assertFalse(publicOnly.canSign());
+    }
+}
@@ -0,0 +1,130 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.userREgisterLoginAuth.microservice.User.exception.TooManyAttemptsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private SimpleMeterRegistry meterRegistry;
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        throttle = throttle(true);
+    }
+
+    @Test
+    void acquire_WithinCapacity_ShouldAllowBurst() {
+        // Act & Assert
+        for (int i = 0; i < 3; i++) {
+            assertDoesNotThrow(() -> throttle.acquire("user@example.com", "10.0.0.1"));
+        }
+    }
+
+    @Test
+    void acquire_AccountExhausted_ShouldRejectWithRetryAfter() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("user@example.com", "10.0.0." + i);
+        }
+
+        // Act
+        TooManyAttemptsException e = assertThrows(TooManyAttemptsException.class,
+                () -> throttle.acquire("USER@example.com ", "10.0.0.9"));
+
+        // Assert
+        assertEquals(10, e.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.login.throttled").tag("scope", "account").counter().count());
+        assertDoesNotThrow(() -> throttle.acquire("other@example.com", "10.0.0.9"));
+    }
+
+    @Test
+    void acquire_IpExhausted_ShouldRejectAcrossAccounts() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            throttle.acquire("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        // Act & Assert
+        assertThrows(TooManyAttemptsException.class, () -> throttle.acquire("fresh@example.com", "10.0.0.1"));
+        assertEquals(1.0, meterRegistry.get("auth.login.throttled").tag("scope", "ip").counter().count());
+        assertDoesNotThrow(() -> throttle.acquire("fresh@example.com", "10.0.0.2"));
+    }
+
+    @Test
+    void acquire_AfterRefillPeriod_ShouldAllowOneMoreAttempt() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("user@example.com", null);
+        }
+
+        // Act
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // Assert
+        assertDoesNotThrow(() -> throttle.acquire("user@example.com", null));
+        assertThrows(TooManyAttemptsException.class, () -> throttle.acquire("user@example.com", null));
+    }
+
+    @Test
+    void acquire_Disabled_ShouldNeverReject() {
+        // Arrange
+        LoginThrottle disabled = throttle(false);
+
+        // Act & Assert
+        for (int i = 0; i < 20; i++) {
+            assertDoesNotThrow(() -> disabled.acquire("user@example.com", "10.0.0.1"));
+        }
+    }
+
+    @Test
+    void tryAcquire_ConcurrentCallers_ShouldGrantExactlyCapacity() throws InterruptedException {
+        // Arrange
+        LoginThrottle.Limit limit = new LoginThrottle.Limit(50, Duration.ofHours(1));
+        LoginThrottle.TokenBucket bucket = new LoginThrottle.TokenBucket(0);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (bucket.tryAcquire(0, limit) == 0) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+
+        // Assert
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(50, granted.get());
+    }
+
+    private LoginThrottle throttle(boolean enabled) {
+        return new LoginThrottle(enabled,
+                new LoginThrottle.Limit(3, Duration.ofSeconds(10)),
+                new LoginThrottle.Limit(5, Duration.ofSeconds(1)),
+                1000, meterRegistry, clock::get);
+    }
+}
@@ -0,0 +1,107 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.userREgisterLoginAuth.microservice.User.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void execute_ShouldReturnTaskResult() {
+        // Arrange
+        executor = new PasswordHashingExecutor(1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        // Act
+        String result = executor.execute(() -> Thread.currentThread().getName());
+
+        // Assert
+        assertTrue(result.startsWith("password-hashing-"));
+        assertEquals(1, meterRegistry.get("auth.password.queue.wait").timer().count());
+    }
+
+    @Test
+    void execute_FromVirtualThread_ShouldRunOnPlatformThread() throws Exception {
+        // Arrange
+        executor = new PasswordHashingExecutor(1, 1, Duration.ofSeconds(5), meterRegistry);
+        CompletableFuture<Boolean> ranOnVirtualThread = new CompletableFuture<>();
+
+        // Act
+        Thread.ofVirtual().start(() -> ranOnVirtualThread.complete(
+                executor.execute(() -> Thread.currentThread().isVirtual()))).join();
+
+        // Assert
+        assertFalse(ranOnVirtualThread.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_QueueFull_ShouldShedImmediately() throws Exception {
+        // Arrange
+        executor = new PasswordHashingExecutor(1, 1, Duration.ofSeconds(5), meterRegistry);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> busy = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+            running.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> executor.execute(() -> true));
+        waitForQueueDepth(1);
+
+        // Act & Assert
+        assertThrows(ServiceOverloadedException.class, () -> executor.execute(() -> true));
+        assertEquals(1.0, meterRegistry.get("auth.password.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(busy.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_MaxWaitExceeded_ShouldShed() {
+        // Arrange
+        executor = new PasswordHashingExecutor(1, 1, Duration.ofMillis(50), meterRegistry);
+
+        // Act & Assert
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+                () -> executor.execute(() -> {
+                    Thread.sleep(1000);
+                    return true;
+                }));
+        assertEquals(1, exception.getRetryAfterSeconds());
+    }
+
+    @Test
+    void execute_TaskFailure_ShouldPropagateException() {
+        // Arrange
+        executor = new PasswordHashingExecutor(1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> executor.execute(() -> {
+            throw new IllegalArgumentException("Invalid salt");
+        }));
+    }
+
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (executor.getQueueDepth() < depth && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(depth, executor.getQueueDepth());
+    }
+}
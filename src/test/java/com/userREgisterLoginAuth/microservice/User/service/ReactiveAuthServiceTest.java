@@ -0,0 +1,271 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.userREgisterLoginAuth.microservice.User.dto.LoginDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserRegistrationDto;
+import com.userREgisterLoginAuth.microservice.User.exception.TooManyAttemptsException;
+import com.userREgisterLoginAuth.microservice.User.exception.ServiceOverloadedException;
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import com.userREgisterLoginAuth.microservice.User.repository.ReactiveUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveAuthServiceTest {
+
+    private static final String CLIENT_IP = "203.0.113.7";
+
+    @Mock
+    private ReactiveUserRepository userRepository;
+
+    @Mock
+    private OffloadingPasswordEncoder passwordEncoder;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private IdentifierBloomIndex bloomIndex;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Spy
+    private TakenIdentifierCache takenIdentifiers = new TakenIdentifierCache(100, Duration.ofMinutes(10));
+
+    @InjectMocks
+    private ReactiveAuthService authService;
+
+    private UserRegistrationDto validRegistrationDto;
+    private LoginDto validLoginDto;
+    private User mockUser;
+
+    @BeforeEach
+    void setUp() {
+        validRegistrationDto = new UserRegistrationDto("test@example.com", "testuser", "password123", "John", "Doe");
+        validLoginDto = new LoginDto("test@example.com", "password123");
+        mockUser = new User("test@example.com", "testuser", "encodedPassword", "John", "Doe");
+        mockUser.setId("1");
+    }
+
+    @Test
+    void registerUser_Success() {
+        // Arrange
+        when(passwordEncoder.encodeAsync(anyString())).thenReturn(CompletableFuture.completedFuture("encodedPassword"));
+        when(userRepository.insert(any(User.class))).thenReturn(Mono.just(mockUser));
+        when(jwtService.generateToken(anyMap(), anyString())).thenReturn("jwtToken");
+
+        // Act & Assert
+        StepVerifier.create(authService.registerUser(validRegistrationDto))
+                .assertNext(response -> {
+                    assertTrue(response.isSuccess());
+                    assertEquals("User registered successfully", response.getMessage());
+                    assertEquals("jwtToken", response.getToken());
+                    assertEquals("testuser", response.getUser().getUsername());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void registerUser_UsernameAlreadyExists() {
+        // Arrange
+        when(passwordEncoder.encodeAsync(anyString())).thenReturn(CompletableFuture.completedFuture("encodedPassword"));
+        when(userRepository.insert(any(User.class))).thenReturn(Mono.error(new DuplicateKeyException(
+                "E11000 duplicate key error collection: databasa.users index: username dup key: { }")));
+
+        // Act & Assert
+        StepVerifier.create(authService.registerUser(validRegistrationDto))
+                .assertNext(response -> {
+                    assertFalse(response.isSuccess());
+                    assertEquals("Username already taken", response.getMessage());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void registerUser_KnownTakenEmail_ShouldSkipHashing() {
+        // Arrange
+        takenIdentifiers.registered("test@example.com", "someoneelse");
+
+        // Act & Assert
+        StepVerifier.create(authService.registerUser(validRegistrationDto))
+                .assertNext(response -> {
+                    assertFalse(response.isSuccess());
+                    assertEquals("Email already registered", response.getMessage());
+                })
+                .verifyComplete();
+        verify(passwordEncoder, never()).encodeAsync(anyString());
+        verify(userRepository, never()).insert(any(User.class));
+    }
+
+    @Test
+    void loginUser_Success() {
+        // Arrange
+        when(userRepository.findByEmail(anyString())).thenReturn(Mono.just(mockUser));
+        when(passwordEncoder.matchesAsync(anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(true));
+        when(jwtService.generateToken(anyMap(), anyString())).thenReturn("jwtToken");
+
+        // Act & Assert
+        StepVerifier.create(authService.loginUser(validLoginDto, CLIENT_IP))
+                .assertNext(response -> {
+                    assertTrue(response.isSuccess());
+                    assertEquals("Login successful", response.getMessage());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void loginUser_UserNotFound() {
+        // Arrange
+        when(userRepository.findByEmail(anyString())).thenReturn(Mono.empty());
+
+        // Act & Assert
+        StepVerifier.create(authService.loginUser(validLoginDto, CLIENT_IP))
+                .assertNext(response -> {
+                    assertFalse(response.isSuccess());
+                    assertEquals("Invalid email or password", response.getMessage());
+                })
+                .verifyComplete();
+        verify(passwordEncoder, never()).matchesAsync(anyString(), anyString());
+    }
+
+    @Test
+    void loginUser_AccountDisabled() {
+        // Arrange
+        mockUser.setEnabled(false);
+        when(userRepository.findByEmail(anyString())).thenReturn(Mono.just(mockUser));
+        when(passwordEncoder.matchesAsync(anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(true));
+
+        // Act & Assert
+        StepVerifier.create(authService.loginUser(validLoginDto, CLIENT_IP))
+                .assertNext(response -> assertEquals("Account is disabled", response.getMessage()))
+                .verifyComplete();
+    }
+
+    @Test
+    void loginUser_HashingPoolSaturated_ShouldSignalOverload() {
+        // Arrange
+        when(userRepository.findByEmail(anyString())).thenReturn(Mono.just(mockUser));
+        when(passwordEncoder.matchesAsync(anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new ServiceOverloadedException("busy", 1)));
+
+        // Act & Assert
+        StepVerifier.create(authService.loginUser(validLoginDto, CLIENT_IP))
+                .expectError(ServiceOverloadedException.class)
+                .verify();
+    }
+
+    @Test
+    void loginUser_Throttled_ShouldFailWithoutLookup() {
+        // Arrange
+        doThrow(new TooManyAttemptsException("Too many login attempts, try again later", 6))
+                .when(loginThrottle).acquire("test@example.com", CLIENT_IP);
+
+        // Act & Assert
+        StepVerifier.create(authService.loginUser(validLoginDto, CLIENT_IP))
+                .expectError(TooManyAttemptsException.class)
+                .verify();
+        verifyNoInteractions(userRepository, passwordEncoder);
+    }
+
+    @Test
+    void refreshToken_Success_ShouldRotateWithoutHashing() {
+        // Arrange
+        TokenVerification verification = refreshVerification("testuser");
+        when(jwtService.verifyRefreshToken("refreshToken")).thenReturn(verification);
+        when(userRepository.findByUsername("testuser")).thenReturn(Mono.just(mockUser));
+        when(jwtService.revoke(verification)).thenReturn(true);
+        when(jwtService.generateToken(anyMap(), anyString())).thenReturn("newToken");
+        when(jwtService.generateRefreshToken("testuser")).thenReturn("newRefreshToken");
+
+        // Act & Assert
+        StepVerifier.create(authService.refreshToken("refreshToken"))
+                .assertNext(response -> {
+                    assertTrue(response.isSuccess());
+                    assertEquals("Token refreshed", response.getMessage());
+                    assertEquals("newToken", response.getToken());
+                    assertEquals("newRefreshToken", response.getRefreshToken());
+                })
+                .verifyComplete();
+        verifyNoInteractions(passwordEncoder, loginThrottle);
+    }
+
+    @Test
+    void refreshToken_InvalidToken_ShouldNotLookUpTheUser() {
+        // Arrange
+        when(jwtService.verifyRefreshToken("accessToken"))
+                .thenReturn(TokenVerification.failed(TokenVerification.Failure.WRONG_TOKEN_USE));
+
+        // Act & Assert
+        StepVerifier.create(authService.refreshToken("accessToken"))
+                .assertNext(response -> {
+                    assertFalse(response.isSuccess());
+                    assertEquals("Invalid refresh token", response.getMessage());
+                })
+                .verifyComplete();
+        verifyNoInteractions(userRepository);
+        verify(jwtService, never()).revoke(any(TokenVerification.class));
+    }
+
+    @Test
+    void refreshToken_AlreadyUsed_ShouldBeRejected() {
+        // Arrange
+        TokenVerification verification = refreshVerification("testuser");
+        when(jwtService.verifyRefreshToken("refreshToken")).thenReturn(verification);
+        when(userRepository.findByUsername("testuser")).thenReturn(Mono.just(mockUser));
+        when(jwtService.revoke(verification)).thenReturn(false);
+
+        // Act & Assert
+        StepVerifier.create(authService.refreshToken("refreshToken"))
+                .assertNext(response -> {
+                    assertFalse(response.isSuccess());
+                    assertNull(response.getToken());
+                })
+                .verifyComplete();
+        verify(jwtService, never()).generateRefreshToken(anyString());
+    }
+
+    @Test
+    void refreshToken_DisabledAccount_ShouldBeRejected() {
+        // Arrange
+        mockUser.setEnabled(false);
+        when(jwtService.verifyRefreshToken("refreshToken")).thenReturn(refreshVerification("testuser"));
+        when(userRepository.findByUsername("testuser")).thenReturn(Mono.just(mockUser));
+
+        // Act & Assert
+        StepVerifier.create(authService.refreshToken("refreshToken"))
+                .assertNext(response -> assertEquals("Account is disabled", response.getMessage()))
+                .verifyComplete();
+        verify(jwtService, never()).revoke(any(TokenVerification.class));
+    }
+
+    @Test
+    void revokeToken_ShouldDelegateToJwtService() {
+        // Act & Assert
+        StepVerifier.create(authService.revokeToken("token"))
+                .verifyComplete();
+        verify(jwtService).revoke("token");
+    }
+
+    private static TokenVerification refreshVerification(String subject) {
+        long now = System.currentTimeMillis();
+        return new TokenVerification(subject, now, now + 60_000, "default", "jti", TokenVerification.REFRESH,
+                null, "{}", null);
+    }
+}
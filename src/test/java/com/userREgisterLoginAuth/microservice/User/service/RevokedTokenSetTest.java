@@ -0,0 +1,107 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevokedTokenSetTest {
+
+    @Test
+    void add_ShouldBeFoundUntilPurged() {
+        // Arrange
+        RevokedTokenSet set = new RevokedTokenSet();
+
+        // Act
+        boolean added = set.add(1L, 2L, 100);
+        boolean addedAgain = set.add(1L, 2L, 100);
+
+        // Assert
+        assertTrue(added);
+        assertFalse(addedAgain);
+        assertTrue(set.contains(1L, 2L));
+        assertFalse(set.contains(2L, 1L));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void purgeExpired_ShouldDropOnlyExpiredIdsInExpiryOrder() {
+        // Arrange
+        RevokedTokenSet set = new RevokedTokenSet();
+        set.add(10L, 10L, 300);
+        set.add(20L, 20L, 100);
+        set.add(30L, 30L, 200);
+
+        // Act
+        int none = set.purgeExpired(99);
+        int first = set.purgeExpired(100);
+        int second = set.purgeExpired(250);
+
+        // Assert
+        assertEquals(0, none);
+        assertEquals(1, first);
+        assertEquals(1, second);
+        assertFalse(set.contains(20L, 20L));
+        assertFalse(set.contains(30L, 30L));
+        assertTrue(set.contains(10L, 10L));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void add_ManyIds_ShouldGrowAndKeepEveryId() {
+        // Arrange
+        RevokedTokenSet set = new RevokedTokenSet();
+        SplittableRandom random = new SplittableRandom(42);
+        int count = 10_000;
+        long[] ids = new long[count * 2];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = random.nextLong();
+        }
+
+        // Act
+        for (int i = 0; i < count; i++) {
+            set.add(ids[i * 2], ids[i * 2 + 1], i);
+        }
+        int purged = set.purgeExpired(count / 2 - 1);
+
+        // Assert
+        assertEquals(count / 2, purged);
+        assertEquals(count / 2, set.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i >= count / 2, set.contains(ids[i * 2], ids[i * 2 + 1]), "id " + i);
+        }
+        assertTrue(set.sizeInBytes() < 100L * count);
+    }
+
+    @Test
+    void add_ZeroHighHalf_ShouldStillBeStored() {
+        // Arrange
+        RevokedTokenSet set = new RevokedTokenSet();
+
+        // Act
+        set.add(0L, 7L, 100);
+
+        // Assert
+        assertTrue(set.contains(0L, 7L));
+        assertFalse(set.contains(0L, 8L));
+    }
+
+    @Test
+    void purgeExpired_Everything_ShouldLeaveAnEmptySet() {
+        // Arrange
+        RevokedTokenSet set = new RevokedTokenSet();
+        for (long i = 1; i <= 100; i++) {
+            set.add(i, i, i);
+        }
+
+        // Act
+        int purged = set.purgeExpired(1000);
+
+        // Assert
+        assertEquals(100, purged);
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(1L, 1L));
+        assertTrue(set.add(1L, 1L, 2000));
+    }
+}
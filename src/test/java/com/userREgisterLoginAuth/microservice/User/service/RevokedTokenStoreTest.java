@@ -0,0 +1,171 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.userREgisterLoginAuth.microservice.User.model.RevokedToken;
+import com.userREgisterLoginAuth.microservice.User.repository.InMemoryRevokedTokenRepository;
+import com.userREgisterLoginAuth.microservice.User.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RevokedTokenStoreTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+    private static final String TOKEN_ID = "AAECAwQFBgcICQoLDA0ODw";
+
+    private final AtomicLong clock = new AtomicLong(NOW.toEpochMilli());
+
+    @Test
+    void revoke_ShouldPersistAndRejectASecondRevocation() {
+        // Arrange
+        InMemoryRevokedTokenRepository repository = new InMemoryRevokedTokenRepository();
+        RevokedTokenStore store = store(repository);
+        long expiresAt = NOW.plusSeconds(60).toEpochMilli();
+
+        // Act
+        boolean first = store.revoke(TOKEN_ID, expiresAt);
+        boolean second = store.revoke(TOKEN_ID, expiresAt);
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second);
+        assertTrue(store.isRevoked(TOKEN_ID));
+        assertFalse(store.isRevoked("BBECAwQFBgcICQoLDA0ODw"));
+        assertEquals(1, repository.streamRevokedSince(Instant.EPOCH, NOW).count());
+    }
+
+    @Test
+    void revoke_AlreadyRevokedByAnotherInstance_ShouldReturnFalseAndApplyLocally() {
+        // Arrange
+        InMemoryRevokedTokenRepository repository = new InMemoryRevokedTokenRepository();
+        repository.insert(new RevokedToken(TOKEN_ID, NOW.plusSeconds(60), NOW));
+        RevokedTokenStore store = store(repository);
+
+        // Act
+        boolean revoked = store.revoke(TOKEN_ID, NOW.plusSeconds(60).toEpochMilli());
+
+        // Assert
+        assertFalse(revoked);
+        assertTrue(store.isRevoked(TOKEN_ID));
+    }
+
+    @Test
+    void revoke_SyncedBetweenInsertAndAdd_ShouldStillSucceed() {
+        // Arrange
+        RevokedTokenStore[] holder = new RevokedTokenStore[1];
+        InMemoryRevokedTokenRepository repository = new InMemoryRevokedTokenRepository() {
+            @Override
+            public boolean insert(RevokedToken token) {
+                boolean inserted = super.insert(token);
+                // The scheduled sync picks up the new row before revoke records it itself
+                holder[0].sync();
+                return inserted;
+            }
+        };
+        RevokedTokenStore store = store(repository);
+        holder[0] = store;
+
+        // Act
+        boolean revoked = store.revoke(TOKEN_ID, NOW.plusSeconds(60).toEpochMilli());
+
+        // Assert
+        assertTrue(revoked);
+        assertTrue(store.isRevoked(TOKEN_ID));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void revoke_RepositoryDown_ShouldFailWithoutRevoking() {
+        // Arrange
+        RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+        when(repository.insert(any())).thenThrow(new DataAccessResourceFailureException("connection refused"));
+        RevokedTokenStore store = store(repository);
+
+        // Act & Assert
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> store.revoke(TOKEN_ID, NOW.plusSeconds(60).toEpochMilli()));
+        assertFalse(store.isRevoked(TOKEN_ID));
+    }
+
+    @Test
+    void revoke_ExpiredOrWithoutId_ShouldDoNothing() {
+        // Arrange
+        RevokedTokenStore store = store(new InMemoryRevokedTokenRepository());
+
+        // Act & Assert
+        assertFalse(store.revoke(TOKEN_ID, NOW.toEpochMilli()));
+        assertFalse(store.revoke(null, NOW.plusSeconds(60).toEpochMilli()));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void revoke_ForeignIdFormat_ShouldBeHashed() {
+        // Arrange
+        RevokedTokenStore store = store(new InMemoryRevokedTokenRepository());
+
+        // Act
+        store.revoke("c2f1e0b4-7d3e-4f8a-9a51-0d6a3f2b9e11", NOW.plusSeconds(60).toEpochMilli());
+
+        // Assert
+        assertTrue(store.isRevoked("c2f1e0b4-7d3e-4f8a-9a51-0d6a3f2b9e11"));
+        assertFalse(store.isRevoked("c2f1e0b4-7d3e-4f8a-9a51-0d6a3f2b9e12"));
+    }
+
+    @Test
+    void sync_ShouldLoadRevocationsMadeElsewhere() {
+        // Arrange
+        InMemoryRevokedTokenRepository repository = new InMemoryRevokedTokenRepository();
+        repository.insert(new RevokedToken(TOKEN_ID, NOW.plusSeconds(60), NOW.minusSeconds(5)));
+        repository.insert(new RevokedToken("expired-elsewhere", NOW.minusSeconds(1), NOW.minusSeconds(30)));
+        RevokedTokenStore store = store(repository);
+
+        // Act
+        store.sync();
+
+        // Assert
+        assertTrue(store.isRevoked(TOKEN_ID));
+        assertFalse(store.isRevoked("expired-elsewhere"));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void sync_ShouldPurgeTokensThatHaveSinceExpired() {
+        // Arrange
+        RevokedTokenStore store = store(new InMemoryRevokedTokenRepository());
+        store.revoke(TOKEN_ID, NOW.plusSeconds(60).toEpochMilli());
+
+        // Act
+        clock.set(NOW.plusSeconds(61).toEpochMilli());
+        store.sync();
+
+        // Assert
+        assertEquals(0, store.size());
+        assertFalse(store.isRevoked(TOKEN_ID));
+    }
+
+    @Test
+    void sync_RepositoryDown_ShouldKeepWhatIsKnown() {
+        // Arrange
+        RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+        when(repository.insert(any())).thenReturn(true);
+        when(repository.streamRevokedSince(any(), any())).thenThrow(new DataAccessResourceFailureException("down"));
+        RevokedTokenStore store = store(repository);
+        store.revoke(TOKEN_ID, NOW.plusSeconds(60).toEpochMilli());
+
+        // Act & Assert
+        assertDoesNotThrow(store::sync);
+        assertTrue(store.isRevoked(TOKEN_ID));
+    }
+
+    private RevokedTokenStore store(RevokedTokenRepository repository) {
+        return new RevokedTokenStore(repository, Duration.ofMinutes(1), new SimpleMeterRegistry(), clock::get);
+    }
+}
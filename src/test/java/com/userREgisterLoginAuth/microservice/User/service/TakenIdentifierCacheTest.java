@@ -0,0 +1,84 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TakenIdentifierCacheTest {
+
+    private TakenIdentifierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TakenIdentifierCache(100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void knownConflict_UnknownIdentifiers_ShouldReturnNull() {
+        // Act & Assert
+        assertNull(cache.knownConflict("test@example.com", "testuser"));
+    }
+
+    @Test
+    void registered_ShouldReportEmailBeforeUsername() {
+        // Arrange
+        cache.registered("test@example.com", "testuser");
+
+        // Act & Assert
+        assertEquals(TakenIdentifierCache.Field.EMAIL, cache.knownConflict("test@example.com", "testuser"));
+        assertEquals(TakenIdentifierCache.Field.USERNAME, cache.knownConflict("other@example.com", "testuser"));
+        assertNull(cache.knownConflict("other@example.com", "other"));
+    }
+
+    @Test
+    void knownConflict_EmailAndUsernameNamespacesAreSeparate() {
+        // Arrange
+        cache.registered("same", "x");
+
+        // Act & Assert
+        assertNull(cache.knownConflict("y", "same"));
+    }
+
+    @Test
+    void conflictOf_ShouldDetectViolatedIndexAndRemember() {
+        // Arrange
+        DuplicateKeyException duplicate = new DuplicateKeyException(
+                "E11000 duplicate key error collection: databasa.users index: username dup key: { username: \"testuser\" }");
+
+        // Act
+        TakenIdentifierCache.Field field = cache.conflictOf(duplicate, "test@example.com", "testuser");
+
+        // Assert
+        assertEquals(TakenIdentifierCache.Field.USERNAME, field);
+        assertEquals(TakenIdentifierCache.Field.USERNAME, cache.knownConflict("test@example.com", "testuser"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void conflictOf_UnknownIndex_ShouldRethrow() {
+        // Arrange
+        DuplicateKeyException duplicate = new DuplicateKeyException(
+                "E11000 duplicate key error collection: databasa.users index: _id_ dup key: { }");
+
+        // Act & Assert
+        assertSame(duplicate, assertThrows(DuplicateKeyException.class,
+                () -> cache.conflictOf(duplicate, "test@example.com", "testuser")));
+    }
+
+    @Test
+    void knownConflict_AfterTtl_ShouldForget() throws InterruptedException {
+        // Arrange
+        TakenIdentifierCache shortLived = new TakenIdentifierCache(100, Duration.ofMillis(20));
+        shortLived.registered("test@example.com", "testuser");
+
+        // Act
+        Thread.sleep(50);
+
+        // Assert
+        assertNull(shortLived.knownConflict("test@example.com", "testuser"));
+    }
+}
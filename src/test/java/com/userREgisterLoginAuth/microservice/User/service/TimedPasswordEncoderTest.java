@@ -0,0 +1,43 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TimedPasswordEncoder encoder =
+            new TimedPasswordEncoder(new BCryptPasswordEncoder(4), new AuthMetrics(meterRegistry));
+
+    @Test
+    void encodeAndMatches_ShouldBeTimedByOutcome() {
+        // Act
+        String hash = encoder.encode("password123");
+        boolean matched = encoder.matches("password123", hash);
+        boolean mismatched = encoder.matches("wrong", hash);
+
+        // Assert
+        assertTrue(matched);
+        assertFalse(mismatched);
+        assertEquals(1, timerCount("encode", "success"));
+        assertEquals(1, timerCount("match", "match"));
+        assertEquals(1, timerCount("match", "mismatch"));
+    }
+
+    @Test
+    void upgradeEncoding_ShouldDelegateWithoutTiming() {
+        // Act
+        boolean upgrade = encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("password123"));
+
+        // Assert
+        assertFalse(upgrade);
+        assertEquals(0, meterRegistry.get("auth.password.hash").timers().stream().mapToLong(t -> t.count()).sum());
+    }
+
+    private long timerCount(String operation, String outcome) {
+        return meterRegistry.get("auth.password.hash").tag("operation", operation).tag("outcome", outcome).timer().count();
+    }
+}
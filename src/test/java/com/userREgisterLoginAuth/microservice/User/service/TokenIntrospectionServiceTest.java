@@ -0,0 +1,119 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.userREgisterLoginAuth.microservice.User.dto.TokenIntrospectionDto;
+import com.userREgisterLoginAuth.microservice.User.repository.InMemoryRevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenIntrospectionServiceTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService jwtService;
+    private SimpleMeterRegistry meterRegistry;
+    private TokenIntrospectionService introspectionService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtService, "tokenCache", new VerifiedTokenCache(1000));
+        ReflectionTestUtils.setField(jwtService, "authMetrics", new AuthMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(jwtService, "revokedTokens",
+                new RevokedTokenStore(new InMemoryRevokedTokenRepository(), Duration.ofMinutes(1), new SimpleMeterRegistry()));
+
+        meterRegistry = new SimpleMeterRegistry();
+        introspectionService = new TokenIntrospectionService(jwtService, new AuthMetrics(meterRegistry), 4, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        introspectionService.shutdown();
+    }
+
+    @Test
+    void introspect_ShouldReportEachTokenInRequestOrder() {
+        // Arrange
+        String access = jwtService.generateToken(Map.of(JwtService.ROLE_CLAIM, "ADMIN"), "alice");
+        String refresh = jwtService.generateRefreshToken("alice");
+        String revoked = jwtService.generateToken("bob");
+        jwtService.revoke(revoked);
+
+        // Act
+        List<TokenIntrospectionDto> results = introspectionService
+                .introspect(List.of(access, "not-a-token", refresh, revoked)).getResults();
+
+        // Assert
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).isActive());
+        assertEquals("alice", results.get(0).getSubject());
+        assertEquals(List.of("ADMIN"), results.get(0).getRoles());
+        assertNotNull(results.get(0).getExpiresAt());
+        assertNull(results.get(0).getError());
+        assertEquals("malformed", results.get(1).getError());
+        assertEquals("wrong_token_use", results.get(2).getError());
+        assertFalse(results.get(3).isActive());
+        assertNull(results.get(3).getSubject());
+        assertEquals("revoked", results.get(3).getError());
+    }
+
+    @Test
+    void introspect_LargeBatch_ShouldMatchSequentialVerification() {
+        // Arrange
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tokens.add(i % 7 == 0 ? "garbage-" + i : jwtService.generateToken("user" + i));
+        }
+
+        // Act
+        List<TokenIntrospectionDto> results = introspectionService.introspect(tokens).getResults();
+
+        // Assert
+        assertEquals(tokens.size(), results.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            if (i % 7 == 0) {
+                assertFalse(results.get(i).isActive());
+            } else {
+                assertEquals("user" + i, results.get(i).getSubject());
+            }
+        }
+    }
+
+    @Test
+    void introspect_RepeatedToken_ShouldVerifyItOnce() {
+        // Arrange
+        String token = jwtService.generateToken("alice");
+
+        // Act
+        List<TokenIntrospectionDto> results = introspectionService.introspect(List.of(token, token, token)).getResults();
+
+        // Assert
+        assertEquals(3, results.size());
+        assertSame(results.get(0), results.get(2));
+        assertTrue(results.get(1).isActive());
+    }
+
+    @Test
+    void introspect_ShouldRecordRequest() {
+        // Act
+        introspectionService.introspect(List.of("not-a-token"));
+
+        // Assert
+        assertEquals(1, meterRegistry.get("auth.requests")
+                .tag("endpoint", "introspect")
+                .tag("outcome", "success")
+                .timer().count());
+    }
+}
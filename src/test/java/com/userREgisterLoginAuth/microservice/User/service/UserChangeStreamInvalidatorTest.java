@@ -0,0 +1,116 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserChangeStreamInvalidatorTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private UserLookupCache userLookupCache;
+
+    @Mock
+    private IdentifierBloomIndex bloomIndex;
+
+    @InjectMocks
+    private UserChangeStreamInvalidator invalidator;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onChange_ShouldEvictChangedUser() {
+        // Arrange
+        ObjectId id = new ObjectId();
+        ChangeStreamDocument<Document> change = mock(ChangeStreamDocument.class);
+        when(change.getDocumentKey()).thenReturn(new BsonDocument("_id", new BsonObjectId(id)));
+
+        // Act
+        invalidator.onChange(change);
+
+        // Assert
+        verify(userLookupCache).evict(id.toHexString());
+        verify(userLookupCache, never()).invalidateAll();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onChange_Insert_ShouldAddIdentifiersToBloomFilter() {
+        // Arrange
+        ChangeStreamDocument<Document> change = mock(ChangeStreamDocument.class);
+        when(change.getDocumentKey()).thenReturn(new BsonDocument("_id", new BsonObjectId(new ObjectId())));
+        when(change.getOperationType()).thenReturn(OperationType.INSERT);
+        when(change.getFullDocument()).thenReturn(new Document("email", "new@example.com").append("username", "newuser"));
+
+        // Act
+        invalidator.onChange(change);
+
+        // Assert
+        verify(bloomIndex).add("new@example.com", "newuser");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onChange_UpdatedUsername_ShouldAddOnlyTheNewUsername() {
+        // Arrange
+        ChangeStreamDocument<Document> change = mock(ChangeStreamDocument.class);
+        when(change.getDocumentKey()).thenReturn(new BsonDocument("_id", new BsonObjectId(new ObjectId())));
+        when(change.getOperationType()).thenReturn(OperationType.UPDATE);
+        when(change.getUpdateDescription())
+                .thenReturn(new UpdateDescription(null, new BsonDocument("username", new BsonString("renamed"))));
+
+        // Act
+        invalidator.onChange(change);
+
+        // Assert
+        verify(bloomIndex).add(null, "renamed");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onChange_WithoutDocumentKey_ShouldClearCache() {
+        // Arrange
+        ChangeStreamDocument<Document> change = mock(ChangeStreamDocument.class);
+        when(change.getDocumentKey()).thenReturn(null);
+
+        // Act
+        invalidator.onChange(change);
+
+        // Assert
+        verify(userLookupCache).invalidateAll();
+    }
+
+    @Test
+    void onError_ShouldClearCache() {
+        // Act
+        invalidator.onError(new IllegalStateException("The $changeStream stage is only supported on replica sets"));
+
+        // Assert
+        verify(userLookupCache).invalidateAll();
+        verify(bloomIndex).markStale();
+    }
+
+    @Test
+    void ensureSubscribed_Disabled_ShouldNotTouchMongo() {
+        // Act
+        invalidator.ensureSubscribed();
+
+        // Assert
+        verifyNoInteractions(mongoTemplate);
+    }
+}
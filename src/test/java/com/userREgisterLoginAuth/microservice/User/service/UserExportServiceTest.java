@@ -0,0 +1,84 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import com.userREgisterLoginAuth.microservice.User.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserExportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserExportService exportService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(exportService, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(exportService, "cursorBatchSize", 1000);
+    }
+
+    @Test
+    void exportUsers_ShouldWriteOneUserInfoPerLine() throws Exception {
+        // Arrange
+        User first = new User("a@example.com", "usera", "hash-that-must-not-leak", "Ana", "Pérez");
+        first.setId("1");
+        User second = new User("b@example.com", "userb", null, "Luis", "Gómez");
+        second.setId("2");
+        AtomicBoolean closed = new AtomicBoolean();
+        when(userRepository.streamAllWithoutPassword(1000))
+                .thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = exportService.exportUsers(out);
+
+        // Assert
+        String body = out.toString(StandardCharsets.UTF_8);
+        String[] lines = body.split("\n");
+        assertEquals(2, count);
+        assertTrue(body.endsWith("\n"));
+        assertEquals(2, lines.length);
+        JsonNode line = objectMapper.readTree(lines[0]);
+        assertEquals("1", line.get("id").asText());
+        assertEquals("a@example.com", line.get("email").asText());
+        assertEquals("Pérez", line.get("lastName").asText());
+        assertEquals("USER", line.get("role").asText());
+        assertFalse(body.contains("password"));
+        assertFalse(body.contains("hash-that-must-not-leak"));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void exportUsers_EmptyCollection_ShouldWriteNothing() throws Exception {
+        // Arrange
+        when(userRepository.streamAllWithoutPassword(1000)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = exportService.exportUsers(out);
+
+        // Assert
+        assertEquals(0, count);
+        assertEquals(0, out.size());
+    }
+}
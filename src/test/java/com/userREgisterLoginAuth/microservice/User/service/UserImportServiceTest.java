@@ -0,0 +1,260 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.userREgisterLoginAuth.microservice.User.dto.UserImportResultDto;
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import com.userREgisterLoginAuth.microservice.User.repository.UserRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    private static final String HASH = new BCryptPasswordEncoder(4).encode("password123");
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private OffloadingPasswordEncoder offloadingPasswordEncoder;
+
+    @Mock
+    private IdentifierBloomIndex bloomIndex;
+
+    private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+    private TakenIdentifierCache takenIdentifiers;
+    private UserImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        when(offloadingPasswordEncoder.getDelegate()).thenReturn(bcrypt);
+        takenIdentifiers = new TakenIdentifierCache(100, Duration.ofMinutes(10));
+        importService = new UserImportService(userRepository, offloadingPasswordEncoder, takenIdentifiers,
+                bloomIndex, new ObjectMapper(), validatorFactory.getValidator(), 2, 2, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+        validatorFactory.close();
+    }
+
+    @Test
+    void importUsers_ShouldHashAndInsertInBatches() throws Exception {
+        // Arrange
+        when(userRepository.insertUnordered(anyList())).thenReturn(Map.of());
+
+        // Act
+        UserImportResultDto result = importService.importUsers(ndjson(
+                record("a@example.com", "usera", "password123"),
+                record("b@example.com", "userb", "password123"),
+                "",
+                record("c@example.com", "userc", "password123")), false);
+
+        // Assert
+        assertEquals(3, result.getReceived());
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getFailed());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> batches = ArgumentCaptor.forClass(List.class);
+        verify(userRepository, times(2)).insertUnordered(batches.capture());
+        assertEquals(2, batches.getAllValues().get(0).size());
+        assertEquals(1, batches.getAllValues().get(1).size());
+        User first = batches.getAllValues().get(0).get(0);
+        assertTrue(bcrypt.matches("password123", first.getPassword()));
+        assertEquals("USER", first.getRole());
+        verify(bloomIndex).add("c@example.com", "userc");
+    }
+
+    @Test
+    void importUsers_InvalidAndMalformedRecords_ShouldBeReportedWithoutAbortingBatch() throws Exception {
+        // Arrange
+        when(userRepository.insertUnordered(anyList())).thenReturn(Map.of());
+
+        // Act
+        UserImportResultDto result = importService.importUsers(ndjson(
+                "{not json",
+                record("not-an-email", "userb", "password123"),
+                record("c@example.com", "userc", "password123")), false);
+
+        // Assert
+        assertEquals(3, result.getReceived());
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(1, result.getErrors().get(0).getLine());
+        assertTrue(result.getErrors().get(0).getError().startsWith("Malformed JSON"));
+        assertEquals(2, result.getErrors().get(1).getLine());
+        assertEquals("Email should be valid", result.getErrors().get(1).getError());
+    }
+
+    @Test
+    void importUsers_DuplicateKeyInBatch_ShouldReportRecordAndKeepOthers() throws Exception {
+        // Arrange
+        when(userRepository.insertUnordered(anyList())).thenReturn(Map.of(1,
+                "E11000 duplicate key error collection: databasa.users index: username dup key: { username: \"usera\" }"));
+
+        // Act
+        UserImportResultDto result = importService.importUsers(ndjson(
+                record("a@example.com", "usera", "password123"),
+                record("b@example.com", "usera", "password123")), false);
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getLine());
+        assertEquals("b@example.com", result.getErrors().get(0).getEmail());
+        assertEquals("Username already taken", result.getErrors().get(0).getError());
+    }
+
+    @Test
+    void importUsers_OverLongPasswordInBatch_ShouldReportRecordAndKeepOthers() throws Exception {
+        // Arrange
+        when(userRepository.insertUnordered(anyList())).thenReturn(Map.of());
+        String tooLong = "ñ".repeat(37);
+
+        // Act
+        UserImportResultDto result = importService.importUsers(ndjson(
+                record("a@example.com", "usera", "password123"),
+                record("b@example.com", "userb", tooLong),
+                record("c@example.com", "userc", "password123")), false);
+
+        // Assert
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getLine());
+        assertEquals("b@example.com", result.getErrors().get(0).getEmail());
+        assertEquals("Password must be at most 72 bytes", result.getErrors().get(0).getError());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> batch = ArgumentCaptor.forClass(List.class);
+        verify(userRepository).insertUnordered(batch.capture());
+        assertEquals(List.of("usera", "userc"), batch.getValue().stream().map(User::getUsername).toList());
+    }
+
+    @Test
+    void importUsers_HashingFailure_ShouldFailOnlyThatRecord() throws Exception {
+        // Arrange
+        when(userRepository.insertUnordered(anyList())).thenReturn(Map.of());
+        when(offloadingPasswordEncoder.getDelegate()).thenReturn(new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if ("explodes".contentEquals(rawPassword)) {
+                    throw new IllegalArgumentException("encoder broke");
+                }
+                return super.encode(rawPassword);
+            }
+        });
+        UserImportService failingImport = new UserImportService(userRepository, offloadingPasswordEncoder,
+                takenIdentifiers, bloomIndex, new ObjectMapper(), validatorFactory.getValidator(), 2, 3, 10);
+
+        // Act
+        UserImportResultDto result;
+        try {
+            result = failingImport.importUsers(ndjson(
+                    record("a@example.com", "usera", "password123"),
+                    record("b@example.com", "userb", "explodes"),
+                    record("c@example.com", "userc", "password123")), false);
+        } finally {
+            failingImport.shutdown();
+        }
+
+        // Assert
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getLine());
+        assertEquals("Password hashing failed: encoder broke", result.getErrors().get(0).getError());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> batch = ArgumentCaptor.forClass(List.class);
+        verify(userRepository).insertUnordered(batch.capture());
+        assertEquals(List.of("usera", "userc"), batch.getValue().stream().map(User::getUsername).toList());
+        verify(bloomIndex, never()).add("b@example.com", "userb");
+    }
+
+    @Test
+    void importUsers_PreHashedPasswords_ShouldBeStoredAsIs() throws Exception {
+        // Arrange
+        when(userRepository.insertUnordered(anyList())).thenReturn(Map.of());
+
+        // Act
+        UserImportResultDto result = importService.importUsers(ndjson(
+                record("a@example.com", "usera", HASH),
+                record("b@example.com", "userb", "plaintext")), true);
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals("Password must be a bcrypt hash", result.getErrors().get(0).getError());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> batch = ArgumentCaptor.forClass(List.class);
+        verify(userRepository).insertUnordered(batch.capture());
+        assertEquals(HASH, batch.getValue().get(0).getPassword());
+    }
+
+    @Test
+    void importUsers_KnownTakenIdentifier_ShouldFailBeforeHashing() throws Exception {
+        // Arrange
+        takenIdentifiers.registered("a@example.com", "usera");
+
+        // Act
+        UserImportResultDto result = importService.importUsers(ndjson(
+                record("a@example.com", "newname", "password123")), false);
+
+        // Assert
+        assertEquals("Email already registered", result.getErrors().get(0).getError());
+        verify(userRepository, never()).insertUnordered(anyList());
+    }
+
+    @Test
+    void importUsers_TooManyErrors_ShouldTruncateReport() throws Exception {
+        // Arrange
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 15; i++) {
+            lines.append("{bad\n");
+        }
+
+        // Act
+        UserImportResultDto result = importService.importUsers(
+                new ByteArrayInputStream(lines.toString().getBytes(StandardCharsets.UTF_8)), false);
+
+        // Assert
+        assertEquals(15, result.getFailed());
+        assertEquals(10, result.getErrors().size());
+        assertTrue(result.isErrorsTruncated());
+    }
+
+    @Test
+    void hashThreads_Default_ShouldLeaveHalfTheCoresToLogins() {
+        // Act & Assert
+        assertEquals(4, UserImportService.hashThreads(0, 8));
+        assertEquals(1, UserImportService.hashThreads(0, 1));
+        assertEquals(6, UserImportService.hashThreads(6, 8));
+    }
+
+    private static String record(String email, String username, String password) {
+        return "{\"email\":\"" + email + "\",\"username\":\"" + username + "\",\"password\":\"" + password
+                + "\",\"firstName\":\"John\",\"lastName\":\"Doe\"}";
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
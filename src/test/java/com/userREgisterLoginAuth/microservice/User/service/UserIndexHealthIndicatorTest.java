@@ -0,0 +1,39 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserIndexHealthIndicatorTest {
+
+    @Mock
+    private UserIndexInitializer userIndexInitializer;
+
+    @InjectMocks
+    private UserIndexHealthIndicator healthIndicator;
+
+    @Test
+    void health_BeforeIndexesExist_ShouldBeDown() {
+        // Arrange
+        when(userIndexInitializer.isCreated()).thenReturn(false);
+
+        // Act & Assert
+        assertEquals(Status.DOWN, healthIndicator.health().getStatus());
+    }
+
+    @Test
+    void health_AfterIndexesExist_ShouldBeUp() {
+        // Arrange
+        when(userIndexInitializer.isCreated()).thenReturn(true);
+
+        // Act & Assert
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+    }
+}
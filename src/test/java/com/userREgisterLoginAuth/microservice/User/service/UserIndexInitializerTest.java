@@ -0,0 +1,116 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.userREgisterLoginAuth.microservice.User.model.RevokedToken;
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserIndexInitializerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    @Mock
+    private IndexOperations revokedTokenIndexOperations;
+
+    @InjectMocks
+    private UserIndexInitializer initializer;
+
+    @Test
+    void ensureIndexes_ShouldCreateUserIndexesOnce() {
+        // Arrange
+        when(mongoTemplate.indexOps(User.class)).thenReturn(indexOperations);
+        when(mongoTemplate.indexOps(RevokedToken.class)).thenReturn(revokedTokenIndexOperations);
+        when(mongoTemplate.getConverter()).thenReturn(converter());
+
+        // Act
+        initializer.ensureIndexes();
+        initializer.ensureIndexes();
+
+        // Assert
+        ArgumentCaptor<IndexDefinition> indexes = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOperations, times(5)).ensureIndex(indexes.capture());
+        List<IndexDefinition> created = indexes.getAllValues();
+        Set<String> uniqueKeys = created.stream()
+                .filter(index -> Boolean.TRUE.equals(index.getIndexOptions().get("unique")))
+                .flatMap(index -> index.getIndexKeys().keySet().stream())
+                .collect(Collectors.toSet());
+        assertEquals(Set.of("email", "username"), uniqueKeys);
+        Set<String> listingIndexes = created.stream()
+                .map(index -> String.join(",", index.getIndexKeys().keySet()))
+                .collect(Collectors.toSet());
+        assertTrue(listingIndexes.containsAll(Set.of(
+                "createdAt,_id", "role,enabled,createdAt,_id", "enabled,createdAt,_id")));
+        assertTrue(initializer.isCreated());
+    }
+
+    @Test
+    void ensureIndexes_DatabaseDown_ShouldRetryLater() {
+        // Arrange
+        when(mongoTemplate.indexOps(User.class)).thenReturn(indexOperations);
+        when(mongoTemplate.indexOps(RevokedToken.class)).thenReturn(revokedTokenIndexOperations);
+        when(mongoTemplate.getConverter()).thenReturn(converter());
+        when(indexOperations.ensureIndex(any()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"))
+                .thenReturn("email");
+
+        // Act
+        initializer.ensureIndexes();
+        boolean afterFailure = initializer.isCreated();
+        initializer.ensureIndexes();
+
+        // Assert
+        assertFalse(afterFailure);
+        assertTrue(initializer.isCreated());
+    }
+
+    @Test
+    void ensureIndexes_ShouldExpireRevokedTokensWithTheToken() {
+        // Arrange
+        when(mongoTemplate.indexOps(User.class)).thenReturn(indexOperations);
+        when(mongoTemplate.indexOps(RevokedToken.class)).thenReturn(revokedTokenIndexOperations);
+        when(mongoTemplate.getConverter()).thenReturn(converter());
+
+        // Act
+        initializer.ensureIndexes();
+
+        // Assert
+        ArgumentCaptor<IndexDefinition> indexes = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(revokedTokenIndexOperations, times(2)).ensureIndex(indexes.capture());
+        IndexDefinition ttl = indexes.getAllValues().stream()
+                .filter(index -> index.getIndexKeys().containsKey("expiresAt"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(0L, ((Number) ttl.getIndexOptions().get("expireAfterSeconds")).longValue());
+    }
+
+    private static MappingMongoConverter converter() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        return new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+    }
+}
@@ -0,0 +1,113 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.userREgisterLoginAuth.microservice.User.dto.UserPageDto;
+import com.userREgisterLoginAuth.microservice.User.dto.UserSummaryDto;
+import com.userREgisterLoginAuth.microservice.User.exception.InvalidCursorException;
+import com.userREgisterLoginAuth.microservice.User.repository.UserListFilter;
+import com.userREgisterLoginAuth.microservice.User.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserListingServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123_000_000);
+    private static final UserListFilter NO_FILTER = new UserListFilter(null, null, null, null);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserListingService userListingService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userListingService, "maxPageSize", 200);
+    }
+
+    @Test
+    void listUsers_MoreRowsThanLimit_ShouldReturnCursorOfLastItem() {
+        // Arrange
+        when(userRepository.findPage(eq(NO_FILTER), isNull(), isNull(), eq(3))).thenReturn(users(3));
+
+        // Act
+        UserPageDto page = userListingService.listUsers(NO_FILTER, null, 2);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        UserListingService.Cursor cursor = UserListingService.decode(page.getNextCursor());
+        assertEquals(NOW.minusSeconds(1), cursor.createdAt());
+        assertEquals("id1", cursor.id());
+    }
+
+    @Test
+    void listUsers_LastPage_ShouldHaveNoCursor() {
+        // Arrange
+        when(userRepository.findPage(any(), any(), any(), anyInt())).thenReturn(users(1));
+
+        // Act
+        UserPageDto page = userListingService.listUsers(NO_FILTER, null, 2);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void listUsers_WithCursor_ShouldSeekFromIt() {
+        // Arrange
+        String cursor = UserListingService.encode(new UserListingService.Cursor(NOW, "abc"));
+        when(userRepository.findPage(NO_FILTER, NOW, "abc", 51)).thenReturn(List.of());
+
+        // Act
+        UserPageDto page = userListingService.listUsers(NO_FILTER, cursor, 50);
+
+        // Assert
+        assertTrue(page.getItems().isEmpty());
+        verify(userRepository).findPage(NO_FILTER, NOW, "abc", 51);
+    }
+
+    @Test
+    void listUsers_LimitAboveMaximum_ShouldBeClamped() {
+        // Arrange
+        when(userRepository.findPage(any(), any(), any(), anyInt())).thenReturn(List.of());
+
+        // Act
+        userListingService.listUsers(NO_FILTER, null, 10_000);
+
+        // Assert
+        verify(userRepository).findPage(NO_FILTER, null, null, 201);
+    }
+
+    @Test
+    void listUsers_MalformedCursor_ShouldThrow() {
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> userListingService.listUsers(NO_FILTER, "not a cursor!", 10));
+        assertThrows(InvalidCursorException.class, () -> userListingService.listUsers(NO_FILTER,
+                UserListingService.encode(new UserListingService.Cursor(NOW, "")), 10));
+        verifyNoInteractions(userRepository);
+    }
+
+    private static List<UserSummaryDto> users(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new UserSummaryDto("id" + i, "u" + i + "@example.com", "user" + i,
+                        "First", "Last", "USER", true, NOW.minusSeconds(i)))
+                .toList();
+    }
+}
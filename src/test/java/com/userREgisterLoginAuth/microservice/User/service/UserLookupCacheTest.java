@@ -0,0 +1,231 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import com.mongodb.ReadPreference;
+import com.userREgisterLoginAuth.microservice.User.model.User;
+import com.userREgisterLoginAuth.microservice.User.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserLookupCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private static final ReadPreference SECONDARY = ReadPreference.secondaryPreferred(90, TimeUnit.SECONDS);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+    private UserLookupCache cache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserLookupCache(userRepository, 100, Duration.ofMinutes(1), meterRegistry);
+        user = new User("test@example.com", "testuser", "encodedPassword", "John", "Doe");
+        user.setId("1");
+    }
+
+    @Test
+    void findByEmail_ShouldLoadOnceAndServeAllKeys() {
+        // Arrange
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        // Act
+        cache.findByEmail("test@example.com");
+        Optional<User> byEmail = cache.findByEmail("test@example.com");
+        Optional<User> byUsername = cache.findByUsername("testuser");
+        Optional<User> byId = cache.findById("1");
+
+        // Assert
+        assertSame(user, byEmail.orElseThrow());
+        assertSame(user, byUsername.orElseThrow());
+        assertSame(user, byId.orElseThrow());
+        verify(userRepository, times(1)).findByEmail("test@example.com");
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void findByEmail_Missing_ShouldNotBeCached() {
+        // Arrange
+        when(userRepository.findByEmail("new@example.com")).thenReturn(Optional.empty());
+
+        // Act
+        cache.findByEmail("new@example.com");
+        cache.findByEmail("new@example.com");
+
+        // Assert
+        verify(userRepository, times(2)).findByEmail("new@example.com");
+    }
+
+    @Test
+    void evict_ShouldReloadDisabledAccount() {
+        // Arrange
+        User disabled = new User("test@example.com", "testuser", "encodedPassword", "John", "Doe");
+        disabled.setId("1");
+        disabled.setEnabled(false);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user), Optional.of(disabled));
+        cache.findByEmail("test@example.com");
+
+        // Act
+        cache.evict("1");
+        Optional<User> result = cache.findByEmail("test@example.com");
+
+        // Assert
+        assertFalse(result.orElseThrow().isEnabled());
+    }
+
+    @Test
+    void findByEmail_AfterEmailChange_ShouldIgnoreStaleMapping() {
+        // Arrange
+        User changed = new User("changed@example.com", "testuser", "encodedPassword", "John", "Doe");
+        changed.setId("1");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user), Optional.empty());
+        when(userRepository.findById("1")).thenReturn(Optional.of(changed));
+        cache.findByEmail("test@example.com");
+        cache.evict("1");
+        cache.findById("1");
+
+        // Act
+        Optional<User> result = cache.findByEmail("test@example.com");
+
+        // Assert
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void findByEmail_AfterTtl_ShouldReload() throws InterruptedException {
+        // Arrange
+        UserLookupCache shortLived = new UserLookupCache(userRepository, 100, Duration.ofMillis(20), meterRegistry);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        shortLived.findByEmail("test@example.com");
+
+        // Act
+        Thread.sleep(50);
+        shortLived.findByEmail("test@example.com");
+
+        // Assert
+        verify(userRepository, times(2)).findByEmail("test@example.com");
+    }
+
+    @Test
+    void invalidateAll_ShouldEmptyCache() {
+        // Arrange
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        cache.findByEmail("test@example.com");
+
+        // Act
+        cache.invalidateAll();
+
+        // Assert
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void metrics_ShouldBeRegistered() {
+        // Arrange
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        // Act
+        cache.findByEmail("test@example.com");
+        cache.findById("1");
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void findByEmail_WithSecondaryReads_ShouldNotTouchPrimaryWhenFound() {
+        // Arrange
+        UserLookupCache routed = routedCache();
+        when(userRepository.findByEmail("test@example.com", SECONDARY)).thenReturn(Optional.of(user));
+
+        // Act
+        Optional<User> result = routed.findByEmail("test@example.com");
+
+        // Assert
+        assertSame(user, result.orElseThrow());
+        verify(userRepository, never()).findByEmail("test@example.com");
+    }
+
+    @Test
+    void findByEmail_NotYetReplicated_ShouldFallBackToPrimary() {
+        // Arrange
+        UserLookupCache routed = routedCache();
+        when(userRepository.findByEmail("test@example.com", SECONDARY)).thenReturn(Optional.empty());
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        // Act
+        Optional<User> result = routed.findByEmail("test@example.com");
+
+        // Assert
+        assertSame(user, result.orElseThrow());
+        assertEquals(1.0, meterRegistry.get("auth.user.reads.primary.fallbacks").tag("reason", "not_found")
+                .counter().count());
+    }
+
+    @Test
+    void findByUsername_RecentlyChanged_ShouldReadPrimaryUntilStalenessBoundPasses() {
+        // Arrange
+        UserLookupCache routed = routedCache();
+        User disabled = new User("test@example.com", "testuser", "encodedPassword", "John", "Doe");
+        disabled.setId("1");
+        disabled.setEnabled(false);
+        when(userRepository.findByUsername("testuser", SECONDARY)).thenReturn(Optional.of(user));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(disabled));
+        routed.evict("1");
+
+        // Act
+        Optional<User> changed = routed.findByUsername("testuser");
+        routed.evict("1");
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(91));
+        Optional<User> replicated = routed.findByUsername("testuser");
+
+        // Assert
+        assertFalse(changed.orElseThrow().isEnabled());
+        assertSame(user, replicated.orElseThrow());
+        verify(userRepository, times(1)).findByUsername("testuser");
+    }
+
+    @Test
+    void invalidateAll_WithSecondaryReads_ShouldReadPrimaryForStalenessBound() {
+        // Arrange
+        UserLookupCache routed = routedCache();
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        routed.invalidateAll();
+
+        // Act
+        routed.findByEmail("test@example.com");
+        routed.evict("1");
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(89));
+        routed.findByEmail("test@example.com");
+
+        // Assert
+        verify(userRepository, times(2)).findByEmail("test@example.com");
+        verify(userRepository, never()).findByEmail("test@example.com", SECONDARY);
+    }
+
+    @Test
+    void constructor_SecondaryWithoutStalenessBound_ShouldFail() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new UserLookupCache(userRepository, 100,
+                Duration.ofMinutes(1), ReadPreference.secondaryPreferred(), meterRegistry, nanos::get));
+    }
+
+    private UserLookupCache routedCache() {
+        return new UserLookupCache(userRepository, 100, Duration.ofMinutes(1), SECONDARY, meterRegistry, nanos::get);
+    }
+}
@@ -0,0 +1,87 @@
+package com.userREgisterLoginAuth.microservice.User.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new VerifiedTokenCache(100);
+    }
+
+    @Test
+    void get_ShouldReturnCachedVerification() {
+        // Arrange
+        TokenVerification verified = verification("testuser", System.currentTimeMillis() + 60_000);
+        cache.put("token", verified);
+
+        // Act
+        TokenVerification result = cache.get("token");
+
+        // Assert
+        assertEquals(verified, result);
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    void get_UnknownToken_ShouldCountMiss() {
+        // Act
+        TokenVerification result = cache.get("unknown");
+
+        // Assert
+        assertNull(result);
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void put_ExpiredToken_ShouldNotBeCached() {
+        // Arrange
+        cache.put("token", verification("testuser", System.currentTimeMillis() - 1));
+
+        // Act & Assert
+        assertNull(cache.get("token"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_TokenExpiringAfterPut_ShouldNotBeServed() throws InterruptedException {
+        // Arrange
+        cache.put("token", verification("testuser", System.currentTimeMillis() + 20));
+
+        // Act
+        Thread.sleep(40);
+
+        // Assert
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    void invalidate_ShouldRemoveEntry() {
+        // Arrange
+        cache.put("token", verification("testuser", System.currentTimeMillis() + 60_000));
+
+        // Act
+        cache.invalidate("token");
+
+        // Assert
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    void put_FailedVerification_ShouldNotBeCached() {
+        // Arrange
+        cache.put("token", TokenVerification.failed(TokenVerification.Failure.INVALID_SIGNATURE));
+
+        // Act & Assert
+        assertNull(cache.get("token"));
+    }
+
+    private static TokenVerification verification(String subject, long expiresAtMillis) {
+        return new TokenVerification(subject, System.currentTimeMillis(), expiresAtMillis, "default", "jti", null, "USER", "{}", null);
+    }
+}